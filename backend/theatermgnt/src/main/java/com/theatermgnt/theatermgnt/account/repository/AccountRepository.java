@@ -1,11 +1,16 @@
 package com.theatermgnt.theatermgnt.account.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.theatermgnt.theatermgnt.account.entity.Account;
+import com.theatermgnt.theatermgnt.authentication.enums.AccountType;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, String> {
@@ -17,4 +22,15 @@ public interface AccountRepository extends JpaRepository<Account, String> {
     Optional<Account> findByEmail(String email);
     Optional<Account> findByUsernameOrEmail(String username, String email);
 
+    // Keyset page of active account ids, used to stream notification audiences
+    @Query(
+            """
+		SELECT a.id FROM Account a
+		WHERE a.accountType = :accountType AND a.isActive = true AND a.id > :afterId
+		ORDER BY a.id
+	""")
+    List<String> findActiveIdsAfter(
+            @Param("accountType") AccountType accountType, @Param("afterId") String afterId, Pageable pageable);
+
+    long countByAccountTypeAndIsActiveTrue(AccountType accountType);
 }
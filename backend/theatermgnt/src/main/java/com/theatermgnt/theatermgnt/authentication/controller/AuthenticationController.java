@@ -2,6 +2,8 @@ package com.theatermgnt.theatermgnt.authentication.controller;
 
 import java.text.ParseException;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import org.springframework.web.bind.annotation.*;
 
 import com.nimbusds.jose.JOSEException;
@@ -29,16 +31,18 @@ public class AuthenticationController {
     AuthenticationService authenticationService;
 
     @PostMapping("/admin/login")
-    ApiResponse<AuthenticationResponse> adminLogin(@RequestBody AuthenticationRequest request) {
+    ApiResponse<AuthenticationResponse> adminLogin(
+            @RequestBody AuthenticationRequest request, HttpServletRequest httpRequest) {
         log.info("Admin login attempt for: {}", request.getLoginIdentifier());
-        var result = authenticationService.authenticate(request, AccountType.INTERNAL);
+        var result = authenticationService.authenticate(request, AccountType.INTERNAL, httpRequest.getRemoteAddr());
         return ApiResponse.<AuthenticationResponse>builder().result(result).build();
     }
 
     @PostMapping("/customer/login")
-    ApiResponse<AuthenticationResponse> customerLogin(@RequestBody AuthenticationRequest request) {
+    ApiResponse<AuthenticationResponse> customerLogin(
+            @RequestBody AuthenticationRequest request, HttpServletRequest httpRequest) {
         log.info("Customer login attempt for: {}", request.getLoginIdentifier());
-        var result = authenticationService.authenticate(request, AccountType.CUSTOMER);
+        var result = authenticationService.authenticate(request, AccountType.CUSTOMER, httpRequest.getRemoteAddr());
         return ApiResponse.<AuthenticationResponse>builder().result(result).build();
     }
 
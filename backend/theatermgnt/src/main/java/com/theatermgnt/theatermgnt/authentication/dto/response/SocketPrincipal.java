@@ -0,0 +1,25 @@
+package com.theatermgnt.theatermgnt.authentication.dto.response;
+
+import java.util.Set;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * SocketPrincipal - Who is behind a Socket.IO connection, taken from the verified token
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SocketPrincipal {
+    String accountId;
+    // Roles (ROLE_ prefixed) and permissions from the token's scope
+    Set<String> authorities;
+    // Cinema of a staff account, null for admins without one and for customers
+    String cinemaId;
+
+    public boolean hasAuthority(String authority) {
+        return authorities.contains(authority);
+    }
+}
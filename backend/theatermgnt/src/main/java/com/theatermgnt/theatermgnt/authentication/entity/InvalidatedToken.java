@@ -4,6 +4,7 @@ import java.util.Date;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import lombok.*;
@@ -16,10 +17,13 @@ import lombok.experimental.FieldDefaults;
 @NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "invalidated_tokens")
+@Table(name = "invalidated_tokens", indexes = @Index(name = "idx_invalidated_tokens_invalidated_at", columnList = "invalidatedAt"))
 public class InvalidatedToken {
     @Id
     String id;
 
     Date expiryTime;
+
+    // When the token was revoked, lets other instances pick up revocations made since their last sync
+    Date invalidatedAt;
 }
@@ -1,6 +1,7 @@
 package com.theatermgnt.theatermgnt.authentication.repository;
 
 import java.util.Date;
+import java.util.List;
 
 import jakarta.transaction.Transactional;
 
@@ -17,4 +18,8 @@ public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedTok
     @Transactional
     @Query("DELETE FROM InvalidatedToken it WHERE it.expiryTime < :now")
     void deleteAllExpiredTokens(Date now);
+
+    List<InvalidatedToken> findByExpiryTimeAfter(Date now);
+
+    List<InvalidatedToken> findByInvalidatedAtAfter(Date since);
 }
@@ -4,28 +4,30 @@ import java.security.SecureRandom;
 import java.text.ParseException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 import com.theatermgnt.theatermgnt.authentication.enums.AccountType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.SignedJWT;
 import com.theatermgnt.theatermgnt.account.entity.Account;
 import com.theatermgnt.theatermgnt.account.repository.AccountRepository;
 import com.theatermgnt.theatermgnt.authentication.dto.request.*;
 import com.theatermgnt.theatermgnt.authentication.dto.response.AuthenticationResponse;
 import com.theatermgnt.theatermgnt.authentication.dto.response.IntrospectResponse;
-import com.theatermgnt.theatermgnt.authentication.entity.InvalidatedToken;
+import com.theatermgnt.theatermgnt.authentication.dto.response.SocketPrincipal;
 import com.theatermgnt.theatermgnt.authentication.entity.OtpToken;
 import com.theatermgnt.theatermgnt.authentication.event.PasswordResetEvent;
-import com.theatermgnt.theatermgnt.authentication.repository.InvalidatedTokenRepository;
 import com.theatermgnt.theatermgnt.authentication.repository.OtpTokenRepository;
 import com.theatermgnt.theatermgnt.common.exception.AppException;
 import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
@@ -41,19 +43,24 @@ import lombok.extern.slf4j.Slf4j;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public class AuthenticationService {
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
     AccountRepository accountRepository;
-    InvalidatedTokenRepository invalidatedTokenRepository;
     ApplicationEventPublisher eventPublisher;
     OtpTokenRepository otpTokenRepository;
     TokenService tokenService;
-
-    @NonFinal
-    @Value("${jwt.signerKey}")
-    protected String SIGNER_KEY;
-
-    @NonFinal
-    @Value("${jwt.refreshable-duration}")
-    protected long REFRESHABLE_DURATION;
+    TokenVerifier tokenVerifier;
+    TokenRevocationRegistry tokenRevocationRegistry;
+    PasswordEncoder passwordEncoder;
+    LoginThrottle loginThrottle;
+
+    // Socket tokens already verified, so a reconnect storm doesn't re-verify each one
+    Map<String, VerifiedToken> verifiedTokens = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > VERIFIED_TOKEN_CACHE_SIZE;
+        }
+    });
 
     @NonFinal
     @Value("${otp.valid-duration}")
@@ -74,10 +81,38 @@ public class AuthenticationService {
         return IntrospectResponse.builder().valid(isValid).build();
     }
 
+    /// VERIFY SOCKET TOKEN
+    // Returns the account (JWT subject) with its scope; a verified token is trusted until it expires or is logged out
+    public SocketPrincipal verifySocketToken(String token) throws ParseException, JOSEException {
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now()) && !tokenRevocationRegistry.isRevoked(cached.jti())) {
+                return cached.principal();
+            }
+            verifiedTokens.remove(token);
+        }
+
+        var claims = verifyToken(token, false).getJWTClaimsSet();
+        if (claims.getSubject() == null || claims.getSubject().isEmpty()) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+        String scope = claims.getStringClaim("scope");
+        Set<String> authorities =
+                scope == null || scope.isBlank() ? Set.of() : Set.copyOf(Arrays.asList(scope.trim().split("\\s+")));
+        SocketPrincipal principal = SocketPrincipal.builder()
+                .accountId(claims.getSubject())
+                .authorities(authorities)
+                .cinemaId(claims.getStringClaim("cinemaId"))
+                .build();
+        verifiedTokens.put(
+                token, new VerifiedToken(principal, claims.getJWTID(), claims.getExpirationTime().toInstant()));
+        return principal;
+    }
 
     /// AUTHENTICATE WITH ACCOUNT TYPE VALIDATION
-    public AuthenticationResponse authenticate(AuthenticationRequest request, AccountType requiredAccountType) {
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
+    public AuthenticationResponse authenticate(
+            AuthenticationRequest request, AccountType requiredAccountType, String clientIp) {
+        loginThrottle.acquire(request.getLoginIdentifier(), clientIp);
 
         var account = accountRepository
                 .findByUsernameOrEmail(
@@ -100,14 +135,13 @@ public class AuthenticationService {
 
     /// LOGOUT METHOD
     public void logout(LogoutRequest request) throws ParseException, JOSEException {
+        verifiedTokens.remove(request.getToken());
         try {
             var signToken = verifyToken(request.getToken(), true);
             String jti = signToken.getJWTClaimsSet().getJWTID();
             Date expiryTime = signToken.getJWTClaimsSet().getExpirationTime();
 
-            InvalidatedToken invalidatedToken =
-                    InvalidatedToken.builder().id(jti).expiryTime(expiryTime).build();
-            invalidatedTokenRepository.save(invalidatedToken);
+            tokenRevocationRegistry.revoke(jti, expiryTime);
         } catch (AppException e) {
             log.info("Token already expired: {}", e.getMessage());
         }
@@ -116,15 +150,14 @@ public class AuthenticationService {
     /// REFRESH TOKEN
     public AuthenticationResponse refreshToken(RefreshTokenRequest refreshToken) throws ParseException, JOSEException {
         // Step 1: Check validation of the token.
+        verifiedTokens.remove(refreshToken.getToken());
         var signedJWT = verifyToken(refreshToken.getToken(), true);
 
         // Step 2: Invalidate old token
         var jti = signedJWT.getJWTClaimsSet().getJWTID();
         var expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
 
-        InvalidatedToken invalidatedToken =
-                InvalidatedToken.builder().id(jti).expiryTime(expiryTime).build();
-        invalidatedTokenRepository.save(invalidatedToken);
+        tokenRevocationRegistry.revoke(jti, expiryTime);
 
         // Step 3: Generate new token based on current user
         var username = signedJWT.getJWTClaimsSet().getSubject();
@@ -182,8 +215,6 @@ public class AuthenticationService {
 
     /// RESET PASSWORD
     public void resetPassword(ResetPasswordRequest request) {
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
-
         var account = accountRepository
                 .findByUsernameOrEmail(
                         request.getLoginIdentifier(), request.getLoginIdentifier())
@@ -214,29 +245,7 @@ public class AuthenticationService {
 
     /// VERIFY TOKEN
     private SignedJWT verifyToken(String token, boolean isRefreshToken) throws JOSEException, ParseException {
-        JWSVerifier verifier = new MACVerifier(SIGNER_KEY.getBytes());
-        SignedJWT signedJWT = SignedJWT.parse(token);
-
-        Date expiryTime = (isRefreshToken)
-                ? new Date(signedJWT
-                .getJWTClaimsSet()
-                .getIssueTime()
-                .toInstant()
-                .plus(REFRESHABLE_DURATION, ChronoUnit.MILLIS)
-                .toEpochMilli())
-                : signedJWT.getJWTClaimsSet().getExpirationTime();
-
-        var verified = signedJWT.verify(verifier);
-
-        if (!(verified && expiryTime.after(new Date()))) {
-            throw new AppException(ErrorCode.UNAUTHENTICATED);
-        }
-
-        // Case:User has logged out -> token is invalidated
-        if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID())) {
-            throw new AppException(ErrorCode.UNAUTHENTICATED);
-        }
-        return signedJWT;
+        return tokenVerifier.verify(token, isRefreshToken);
     }
 
     /// GENERATE OTP CODE
@@ -245,4 +254,6 @@ public class AuthenticationService {
         int otp = 100000 + random.nextInt(900000);
         return String.valueOf(otp);
     }
+
+    private record VerifiedToken(SocketPrincipal principal, String jti, Instant expiresAt) {}
 }
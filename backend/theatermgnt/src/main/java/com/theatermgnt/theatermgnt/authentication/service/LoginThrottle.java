@@ -0,0 +1,71 @@
+package com.theatermgnt.theatermgnt.authentication.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.common.util.TokenBucket;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * LoginThrottle - Token buckets per login identifier and per client IP
+ * Every attempt takes a token from both buckets before the password is hashed, so a credential-stuffing
+ * wave is turned away with TOO_MANY_LOGIN_ATTEMPTS instead of costing a BCrypt round each. Both maps keep
+ * only the most recently used buckets; an evicted key simply starts again with a full bucket.
+ */
+@Service
+@Slf4j
+public class LoginThrottle {
+    private static final int MAX_TRACKED_KEYS = 50_000;
+
+    private final int perAccount;
+    private final int perIp;
+    private final Map<String, TokenBucket> accountBuckets = lruBuckets();
+    private final Map<String, TokenBucket> ipBuckets = lruBuckets();
+
+    public LoginThrottle(
+            @Value("${auth.login-throttle.per-account:5}") int perAccount,
+            @Value("${auth.login-throttle.per-ip:30}") int perIp) {
+        this.perAccount = perAccount;
+        this.perIp = perIp;
+    }
+
+    /**
+     * Take one attempt from the identifier's and the IP's bucket
+     * @param clientIp the request's remote address, resolved from X-Forwarded-For behind a trusted proxy
+     *                 (server.forward-headers-strategy); the proxy's own address would make one global bucket
+     * @throws AppException TOO_MANY_LOGIN_ATTEMPTS when either bucket is empty
+     */
+    public void acquire(String loginIdentifier, String clientIp) {
+        // An IP already throttled doesn't get to drain the account's bucket too
+        boolean allowed = (clientIp == null || bucket(ipBuckets, clientIp, perIp).tryAcquire())
+                && (loginIdentifier == null
+                        || bucket(accountBuckets, loginIdentifier.trim().toLowerCase(Locale.ROOT), perAccount)
+                                .tryAcquire());
+        if (!allowed) {
+            log.warn("Login throttled for {} from {}", loginIdentifier, clientIp);
+            throw new AppException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS);
+        }
+    }
+
+    // Refills from empty over one minute
+    private static TokenBucket bucket(Map<String, TokenBucket> buckets, String key, int perMinute) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(perMinute, perMinute / 60.0));
+    }
+
+    private static Map<String, TokenBucket> lruBuckets() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > MAX_TRACKED_KEYS;
+            }
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.theatermgnt.theatermgnt.authentication.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.theatermgnt.theatermgnt.authentication.entity.InvalidatedToken;
+import com.theatermgnt.theatermgnt.authentication.repository.InvalidatedTokenRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TokenRevocationRegistry - In-memory set of revoked, still unexpired JWT ids
+ * Loaded from invalidated_tokens before the app takes traffic, so checking a token never touches the
+ * database. Revocations made on other instances are picked up by a periodic sync of the rows added
+ * since the last one; the overlap covers clock drift between instances.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TokenRevocationRegistry {
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    InvalidatedTokenRepository invalidatedTokenRepository;
+
+    // jti -> expiry time in epoch millis
+    ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    @NonFinal
+    volatile long lastSyncAt;
+
+    @PostConstruct
+    void load() {
+        long now = System.currentTimeMillis();
+        invalidatedTokenRepository.findByExpiryTimeAfter(new Date(now)).forEach(this::remember);
+        lastSyncAt = now;
+        log.info("Loaded {} revoked token(s)", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, Date expiryTime) {
+        revoked.put(jti, expiryTime.getTime());
+        invalidatedTokenRepository.save(InvalidatedToken.builder()
+                .id(jti)
+                .expiryTime(expiryTime)
+                .invalidatedAt(new Date())
+                .build());
+    }
+
+    /**
+     * Pull revocations made on other instances and forget tokens that have expired anyway
+     */
+    @Scheduled(
+            initialDelayString = "${jwt.revocation.sync-interval:5s}",
+            fixedDelayString = "${jwt.revocation.sync-interval:5s}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        try {
+            invalidatedTokenRepository
+                    .findByInvalidatedAtAfter(new Date(lastSyncAt - SYNC_OVERLAP.toMillis()))
+                    .forEach(this::remember);
+            lastSyncAt = now;
+        } catch (Exception e) {
+            // Keep lastSyncAt, the next sync covers this window too
+            log.warn("Failed to sync revoked tokens: {}", e.getMessage());
+        }
+        revoked.values().removeIf(expiry -> expiry < now);
+    }
+
+    private void remember(InvalidatedToken token) {
+        if (token.getExpiryTime() != null) {
+            revoked.put(token.getId(), token.getExpiryTime().getTime());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.theatermgnt.theatermgnt.authentication.service;
+
+import java.text.ParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+
+/**
+ * TokenVerifier - Single verification pass for issued JWTs
+ * The HS512 verifier is built once and shared (it holds no per-call state), and revocation is
+ * answered from the in-memory TokenRevocationRegistry, so verifying a token costs one parse and one HMAC.
+ */
+@Service
+public class TokenVerifier {
+    private final JWSVerifier verifier;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final long refreshableDuration;
+
+    public TokenVerifier(
+            @Value("${jwt.signerKey}") String signerKey,
+            @Value("${jwt.refreshable-duration}") long refreshableDuration,
+            TokenRevocationRegistry revocationRegistry)
+            throws JOSEException {
+        this.verifier = new MACVerifier(signerKey.getBytes());
+        this.refreshableDuration = refreshableDuration;
+        this.revocationRegistry = revocationRegistry;
+    }
+
+    /**
+     * Verify signature, expiry and revocation
+     * @param isRefreshToken measure expiry from the refreshable window instead of the token's exp
+     * @throws AppException UNAUTHENTICATED when the token is not acceptable
+     */
+    public SignedJWT verify(String token, boolean isRefreshToken) throws ParseException, JOSEException {
+        SignedJWT signedJWT = SignedJWT.parse(token);
+        if (!JWSAlgorithm.HS512.equals(signedJWT.getHeader().getAlgorithm()) || !signedJWT.verify(verifier)) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+
+        JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+        Date expiryTime = claims.getExpirationTime();
+        if (isRefreshToken) {
+            Date issueTime = claims.getIssueTime();
+            expiryTime = issueTime == null
+                    ? null
+                    : Date.from(issueTime.toInstant().plus(refreshableDuration, ChronoUnit.MILLIS));
+        }
+        if (expiryTime == null || !expiryTime.after(new Date())) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+
+        // Case: User has logged out -> token is invalidated
+        if (revocationRegistry.isRevoked(claims.getJWTID())) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+        return signedJWT;
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.theatermgnt.theatermgnt.account.entity.Account;
 import com.theatermgnt.theatermgnt.account.repository.AccountRepository;
@@ -79,9 +80,13 @@ public class BookingServiceImpl implements BookingService {
     private final DiscountService discountService;
     private final TicketService ticketService;
     private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
     private static final Duration HOLD_DURATION = Duration.ofMinutes(10);
 
+    // Not transactional: the customer, possibly a new guest whose password has to be hashed, is resolved
+    // in transactions of its own before the booking transaction locks any seats
     @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public CreateBookingResponse createBooking(CreateBookingRequest request) {
         if (request.getScreeningSeatIds().isEmpty()) {
             throw new IllegalArgumentException("No seats selected for booking");
@@ -89,6 +94,11 @@ public class BookingServiceImpl implements BookingService {
         if (request.getScreeningSeatIds().size() > 8) {
             throw new AppException(ErrorCode.BOOKING_EXCEED_SEAT_LIMIT);
         }
+        Customer customer = resolveCustomer(request);
+        return transactionTemplate.execute(status -> reserveSeats(request, customer));
+    }
+
+    private CreateBookingResponse reserveSeats(CreateBookingRequest request, Customer customer) {
         Screening screening = screeningRepository
                 .findById(request.getScreeningId())
                 .orElseThrow(() -> new AppException(ErrorCode.SCREENING_NOT_EXISTED));
@@ -108,7 +118,6 @@ public class BookingServiceImpl implements BookingService {
         }
 
         List<ScreeningSeat> seats = screeningSeatRepository.findAllById(request.getScreeningSeatIds());
-        Customer customer = resolveCustomer(request);
 
         // 3. Tạo booking
         Booking booking = new Booking();
@@ -148,29 +157,37 @@ public class BookingServiceImpl implements BookingService {
         }
 
         // Kiểm tra Account tồn tại
-        Optional<Account> existingAccount = accountRepository.findByEmail(request.getEmail());
-        if (existingAccount.isPresent()) {
-            return customerRepository
-                    .findByAccountId(existingAccount.get().getId())
-                    .orElseGet(() -> createCustomerWithAccount(existingAccount.get(), request));
+        Customer existingCustomer = transactionTemplate.execute(status -> accountRepository
+                .findByEmail(request.getEmail())
+                .map(account -> customerRepository
+                        .findByAccountId(account.getId())
+                        .orElseGet(() -> createCustomerWithAccount(account, request)))
+                .orElse(null));
+        if (existingCustomer != null) {
+            return existingCustomer;
         }
 
+        // Hashed before the transaction so no connection is held while BCrypt runs
         String rawPassword = RandomStringUtils.randomAlphanumeric(6);
-        Account newAccount = new Account();
-        newAccount.setPassword(passwordEncoder.encode(rawPassword));
-        newAccount.setEmail(request.getEmail());
-        newAccount.setAccountType(AccountType.CUSTOMER);
-        newAccount.setIsActive(true);
+        String encodedPassword = passwordEncoder.encode(rawPassword);
+
+        return transactionTemplate.execute(status -> {
+            Account newAccount = new Account();
+            newAccount.setPassword(encodedPassword);
+            newAccount.setEmail(request.getEmail());
+            newAccount.setAccountType(AccountType.CUSTOMER);
+            newAccount.setIsActive(true);
 
-        accountRepository.save(newAccount);
-        Customer savedCustomer = createCustomerWithAccount(newAccount, request);
+            accountRepository.save(newAccount);
+            Customer savedCustomer = createCustomerWithAccount(newAccount, request);
 
-        eventPublisher.publishEvent(CustomerCreatedEvent.builder()
-                .customerId(savedCustomer.getId())
-                .rawPassword(rawPassword)
-                .build());
+            eventPublisher.publishEvent(CustomerCreatedEvent.builder()
+                    .customerId(savedCustomer.getId())
+                    .rawPassword(rawPassword)
+                    .build());
 
-        return savedCustomer;
+            return savedCustomer;
+        });
     }
 
     private void populateNamesFromCustomerName(CreateBookingRequest request) {
@@ -96,7 +96,7 @@ public class ChatbotConfigService {
 
 
     // Sync document to vector store
-    @Async
+    @Async("ragIngestionExecutor")
     @Transactional
     public CompletableFuture<Void> syncDocumentToVector(String documentId) {
         try{
@@ -141,7 +141,7 @@ public class ChatbotConfigService {
     }
 
     // Resync document: Delete and sync new
-    @Async
+    @Async("ragIngestionExecutor")
     @Transactional
     public CompletableFuture<Void> resyncDocument(String documentId) {
         ChatbotDocument doc = chatbotDocumentRepository.findById(documentId)
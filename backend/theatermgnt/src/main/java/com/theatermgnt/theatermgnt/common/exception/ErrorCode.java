@@ -37,6 +37,7 @@ public enum ErrorCode {
     PASSWORDS_DO_NOT_MATCH(1023, "Password and Confirm password do not match", HttpStatus.BAD_REQUEST),
     CONFIRM_PASSWORD_REQUIRED(1024, "Confirm password is required", HttpStatus.BAD_REQUEST),
     WRONG_ACCOUNT_TYPE(1025, "This account type is not allowed to login here", HttpStatus.UNAUTHORIZED),
+    TOO_MANY_LOGIN_ATTEMPTS(1027, "Too many login attempts, try again later", HttpStatus.TOO_MANY_REQUESTS),
     // ----
     CINEMA_EXISTED(2001, "Cinema existed", HttpStatus.BAD_REQUEST),
     CINEMA_NOT_EXISTED(2002, "Cinema not existed", HttpStatus.BAD_REQUEST),
@@ -131,6 +132,11 @@ public enum ErrorCode {
     INSUFFICIENT_COMBO_QUANTITY(2071, "Insufficient combo quantity available", HttpStatus.BAD_REQUEST),
     // Reporting
     INVALID_DATE_RANGE(5001, "End date must be greater than or equal start date", HttpStatus.BAD_REQUEST),
+    REVENUE_BACKFILL_RUNNING(2073, "Revenue backfill is already running", HttpStatus.CONFLICT),
+    REVENUE_BACKFILL_FAILED(2074, "Revenue backfill failed, rerun to resume", HttpStatus.INTERNAL_SERVER_ERROR),
+    REVENUE_CUBE_NOT_READY(2075, "Revenue cube is still loading", HttpStatus.SERVICE_UNAVAILABLE),
+    EXPORT_BUSY(2076, "Too many exports are running, try again shortly", HttpStatus.TOO_MANY_REQUESTS),
+    TASK_QUEUE_FULL(2077, "Server is busy, try again shortly", HttpStatus.SERVICE_UNAVAILABLE),
 
     // Invoice
     INVOICE_NOT_EXISTED(2055, "Invoice not existed", HttpStatus.NOT_FOUND),
@@ -144,6 +150,7 @@ public enum ErrorCode {
     TICKET_NOT_EXISTED(2063, "Ticket not existed", HttpStatus.NOT_FOUND),
     TICKET_NOT_ACTIVE(2068, "Ticket not active", HttpStatus.BAD_REQUEST),
     TICKET_EXPIRED(2069, "Ticket has expired", HttpStatus.BAD_REQUEST),
+    QR_RENDER_FAILED(2072, "Failed to render ticket QR code", HttpStatus.INTERNAL_SERVER_ERROR),
 
     // -----
     CANNOT_SEND_EMAIL(3001, "Cannot send email", HttpStatus.BAD_REQUEST),
@@ -182,7 +189,13 @@ public enum ErrorCode {
     CHANNEL_NOT_FOUND(7003, "Notification channel not found", HttpStatus.NOT_FOUND),
     PREFERENCE_NOT_FOUND(7004, "Notification preference not found", HttpStatus.NOT_FOUND),
     PREFERENCE_ALREADY_EXISTS(7005, "Notification preference already exists", HttpStatus.BAD_REQUEST),
-    NOTIFICATION_NOT_FOUND(7006, "Notification not found", HttpStatus.NOT_FOUND);
+    NOTIFICATION_NOT_FOUND(7006, "Notification not found", HttpStatus.NOT_FOUND),
+    CAMPAIGN_NOT_FOUND(7007, "Notification campaign not found", HttpStatus.NOT_FOUND),
+    CAMPAIGN_BUSY(7008, "Too many notification campaigns are queued, try again later", HttpStatus.TOO_MANY_REQUESTS),
+    CAMPAIGN_ALREADY_RUNNING(7009, "Notification campaign is already running", HttpStatus.CONFLICT),
+    EMAIL_SEND_FAILED(7010, "Failed to send email", HttpStatus.BAD_GATEWAY),
+    EMAIL_PROVIDER_UNAVAILABLE(7011, "Email provider is unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE),
+    INVALID_SEGMENT(7012, "Invalid audience segment, segments target customers only", HttpStatus.BAD_REQUEST);
 
     private int code;
     private String message;
@@ -1,23 +1,141 @@
 package com.theatermgnt.theatermgnt.configuration;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * AsyncConfig - One executor per workload so a slow workload can't starve the others
+ * I/O-bound pools run on virtual threads but stay bounded, since most of their tasks hold one of the
+ * few Hikari connections. Every pool publishes executor.queued, executor.active, executor.pool.size,
+ * executor.completed and executor.rejected tagged with its name, and states its rejection policy.
+ */
 @Configuration
 @EnableAsync
+@Slf4j
 public class AsyncConfig {
+    private final MeterRegistry meterRegistry;
+
+    // Without actuator there is no registry bean, the global one still collects the meters
+    public AsyncConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    // Fallback for a bare @Async; workloads should name their executor
     @Bean
     public Executor taskExecutor() {
+        return executor("async", 2, 5, 100, false, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // CPU-bound QR rendering, kept off the shared async pool
+    @Bean
+    public Executor qrRenderExecutor() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        return executor("qr-render", cpus, cpus, 500, false, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // CPU-bound password hashing (BCrypt), so a login burst can't take every CPU and request thread.
+    // A full queue is rejected and the request answered with TASK_QUEUE_FULL.
+    @Bean
+    public Executor passwordHashExecutor(
+            @Value("${async.password-hash.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+                    int parallelism,
+            @Value("${async.password-hash.queue:100}") int queue) {
+        return executor(
+                "password-hash", parallelism, parallelism, queue, false, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Revenue backfill chunks and cube rebuilds, each holds a connection so keep it well below the Hikari pool size
+    @Bean
+    public Executor reportingExecutor(@Value("${revenue.backfill.parallelism:2}") int parallelism) {
+        return executor(
+                "reporting", parallelism, parallelism, parallelism * 2, false, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Batched notification dispatch; when the queue is full the sender dispatches its own batch
+    @Bean
+    public Executor notificationExecutor() {
+        return executor("notification", 4, 4, 50, true, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Notification campaign runners; a full queue is rejected and reported as CAMPAIGN_BUSY
+    @Bean
+    public Executor notificationCampaignExecutor(@Value("${notification.campaign.parallelism:1}") int parallelism) {
+        return executor(
+                "notification-campaign", parallelism, parallelism, 20, true, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Domain events that build transactional emails (OTP, tickets, refunds) and queue them in the outbox.
+    // Runs in the committing thread when full rather than dropping an OTP.
+    @Bean
+    public Executor mailEventExecutor(@Value("${async.mail-events.concurrency:4}") int concurrency) {
+        return executor("mail-event", concurrency, concurrency, 500, true, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Outbox email delivery; the outbox only hands out as many messages as there are workers,
+    // and a rejected message is simply picked up again after its lease
+    @Bean
+    public Executor mailExecutor(@Value("${email.outbox.workers:4}") int workers) {
+        return executor("mail", workers, workers, workers, true, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Chatbot document parsing and embedding; Tika is CPU and memory heavy, so few at a time.
+    // A full queue is rejected and the request answered with TASK_QUEUE_FULL.
+    @Bean
+    public Executor ragIngestionExecutor(@Value("${async.rag-ingestion.concurrency:1}") int concurrency) {
+        return executor("rag-ingestion", concurrency, concurrency, 20, false, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private ThreadPoolTaskExecutor executor(
+            String name, int core, int max, int queue, boolean virtual, RejectedExecutionHandler policy) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("async-chatbot-");
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(max);
+        executor.setQueueCapacity(queue);
+        executor.setThreadNamePrefix(name + "-");
+        if (virtual) {
+            executor.setThreadFactory(Thread.ofVirtual().name(name + "-", 0).factory());
+        }
+
+        Counter rejected = Counter.builder("executor.rejected")
+                .tags(Tags.of("name", name))
+                .register(meterRegistry);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            log.warn("Executor {} saturated ({} active, {} queued)", name, pool.getActiveCount(), pool.getQueue().size());
+            policy.rejectedExecution(task, pool);
+        });
         executor.initialize();
+
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        Tags tags = Tags.of("name", name);
+        Gauge.builder("executor.queued", pool, p -> p.getQueue().size())
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("executor.active", pool, ThreadPoolExecutor::getActiveCount)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("executor.pool.size", pool, ThreadPoolExecutor::getPoolSize)
+                .tags(tags)
+                .register(meterRegistry);
+        FunctionCounter.builder("executor.completed", pool, ThreadPoolExecutor::getCompletedTaskCount)
+                .tags(tags)
+                .register(meterRegistry);
         return executor;
     }
 }
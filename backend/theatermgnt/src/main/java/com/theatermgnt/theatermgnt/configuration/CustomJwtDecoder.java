@@ -1,49 +1,50 @@
 package com.theatermgnt.theatermgnt.configuration;
 
 import java.text.ParseException;
-import java.util.Objects;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.Collections;
+import java.util.Map;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
 import org.springframework.stereotype.Component;
 
 import com.nimbusds.jose.JOSEException;
-import com.theatermgnt.theatermgnt.authentication.dto.request.IntrospectRequest;
-import com.theatermgnt.theatermgnt.authentication.service.AuthenticationService;
-
+import com.nimbusds.jwt.SignedJWT;
+import com.theatermgnt.theatermgnt.authentication.service.TokenVerifier;
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+
+/**
+ * CustomJwtDecoder - Verifies a bearer token once and builds the Spring Jwt from the same parse
+ * Claims go through the converter NimbusJwtDecoder uses, so timestamps and audience have the same types as before.
+ */
 @Component
 public class CustomJwtDecoder implements JwtDecoder {
-    @Value("${jwt.signerKey}")
-    private String signerKey;
-
-    @Autowired
-    private AuthenticationService authenticationService;
+    private final TokenVerifier tokenVerifier;
+    private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter =
+            MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
 
-    private NimbusJwtDecoder nimbusJwtDecoder = null;
+    public CustomJwtDecoder(TokenVerifier tokenVerifier) {
+        this.tokenVerifier = tokenVerifier;
+    }
 
     @Override
     public Jwt decode(String token) throws JwtException {
         try {
-            var response = authenticationService.introspect(
-                    IntrospectRequest.builder().token(token).build());
-            if (!response.isValid()) throw new JwtException("Invalid token");
-
-        } catch (JOSEException | ParseException e) {
-            throw new JwtException(e.getMessage());
-        }
-        if (Objects.isNull(nimbusJwtDecoder)) {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(signerKey.getBytes(), "HS512");
-            nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKeySpec)
-                    .macAlgorithm(MacAlgorithm.HS512)
+            SignedJWT signedJWT = tokenVerifier.verify(token, false);
+            Map<String, Object> claims =
+                    claimSetConverter.convert(signedJWT.getJWTClaimsSet().getClaims());
+            return Jwt.withTokenValue(token)
+                    .headers(headers -> headers.putAll(signedJWT.getHeader().toJSONObject()))
+                    .claims(jwtClaims -> jwtClaims.putAll(claims))
                     .build();
+        } catch (AppException e) {
+            throw new BadJwtException("Invalid token");
+        } catch (JOSEException | ParseException e) {
+            throw new BadJwtException(e.getMessage(), e);
         }
-
-        return nimbusJwtDecoder.decode(token);
     }
 }
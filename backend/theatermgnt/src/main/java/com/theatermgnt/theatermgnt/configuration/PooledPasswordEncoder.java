@@ -0,0 +1,50 @@
+package com.theatermgnt.theatermgnt.configuration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PooledPasswordEncoder - Runs hashing on the bounded passwordHashExecutor
+ * BCrypt is deliberately slow, so at most one hash per pool thread runs at a time whatever the number of
+ * callers. When the pool's queue is full the call fails with TaskRejectedException (TASK_QUEUE_FULL)
+ * instead of piling more work onto the CPUs.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final Executor executor;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Supplier<T> hashing) {
+        try {
+            return CompletableFuture.supplyAsync(hashing, executor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.theatermgnt.theatermgnt.configuration;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,6 +20,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 
 @Configuration
@@ -105,7 +107,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    PasswordEncoder passwordEncoder(@Qualifier("passwordHashExecutor") Executor passwordHashExecutor) {
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(10), passwordHashExecutor);
     }
 }
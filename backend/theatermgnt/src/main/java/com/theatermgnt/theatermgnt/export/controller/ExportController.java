@@ -0,0 +1,115 @@
+package com.theatermgnt.theatermgnt.export.controller;
+
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.theatermgnt.theatermgnt.export.enums.ExportDataset;
+import com.theatermgnt.theatermgnt.export.enums.ExportFormat;
+import com.theatermgnt.theatermgnt.export.service.ExportService;
+import com.theatermgnt.theatermgnt.export.service.ExportStream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/exports")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+
+    private static final String EXPORT_PERMIT = ExportController.class.getName() + ".permit";
+
+    private final ExportService exportService;
+
+    @GetMapping("/invoices")
+    @PreAuthorize("hasAuthority('INVOICE_READ')")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cinemaId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletRequest request) {
+        return export(request, ExportDataset.INVOICES, format, from, to, cinemaId);
+    }
+
+    @GetMapping("/bookings")
+    @PreAuthorize("hasAuthority('INVOICE_READ')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cinemaId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletRequest request) {
+        return export(request, ExportDataset.BOOKINGS, format, from, to, cinemaId);
+    }
+
+    @GetMapping("/revenue/daily")
+    @PreAuthorize("hasAuthority('INVOICE_READ')")
+    public ResponseEntity<StreamingResponseBody> exportDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cinemaId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletRequest request) {
+        return export(request, ExportDataset.DAILY_REVENUE, format, from, to, cinemaId);
+    }
+
+    @GetMapping("/revenue/movies")
+    @PreAuthorize("hasAuthority('INVOICE_READ')")
+    public ResponseEntity<StreamingResponseBody> exportMovieRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cinemaId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletRequest request) {
+        return export(request, ExportDataset.MOVIE_REVENUE, format, from, to, cinemaId);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(
+            HttpServletRequest request,
+            ExportDataset dataset,
+            ExportFormat format,
+            LocalDate from,
+            LocalDate to,
+            String cinemaId) {
+        log.info("Export {} as {} requested: {} - {}, cinema={}", dataset, format, from, to, cinemaId);
+        ExportStream body = exportService.export(dataset, format, from, to, cinemaId);
+        try {
+            // Runs when the async request ends for any reason, including a body that never got to run
+            WebAsyncUtils.getAsyncManager(request)
+                    .registerCallableInterceptor(EXPORT_PERMIT, new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                            body.release();
+                        }
+                    });
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(format.getContentType()))
+                    .header(
+                            HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment()
+                                    .filename(exportService.fileName(dataset, format, from, to))
+                                    .build()
+                                    .toString())
+                    .body(body);
+        } catch (RuntimeException e) {
+            body.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.theatermgnt.theatermgnt.export.enums;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Exportable datasets; every query takes (from, to, cinemaId, cinemaId) and its column aliases become the header
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public enum ExportDataset {
+    INVOICES(
+            "invoices",
+            """
+		SELECT i.id AS invoice_id, i.booking_id, r.cinema_id, i.status, i.total_amount, i.created_at, i.paid_at
+		FROM invoices i
+		JOIN bookings b ON b.id::TEXT = i.booking_id
+		JOIN screenings s ON s.id = b.screening_id
+		JOIN rooms r ON r.id = s.room_id
+		WHERE i.created_at >= ? AND i.created_at < ?
+		AND (CAST(? AS TEXT) IS NULL OR r.cinema_id = ?)
+		ORDER BY i.created_at
+	"""),
+    BOOKINGS(
+            "bookings",
+            """
+		SELECT b.id AS booking_id, b.customer_id, b.screening_id, s.movie_id, r.cinema_id, b.status,
+			b.subtotal, b.discount, b.total_amount, b.created_at
+		FROM bookings b
+		JOIN screenings s ON s.id = b.screening_id
+		JOIN rooms r ON r.id = s.room_id
+		WHERE b.created_at >= ? AND b.created_at < ?
+		AND (CAST(? AS TEXT) IS NULL OR r.cinema_id = ?)
+		ORDER BY b.created_at
+	"""),
+    DAILY_REVENUE(
+            "daily_revenue",
+            """
+		SELECT d.report_date, d.cinema_id, d.ticket_revenue, d.combo_revenue, d.net_revenue, d.total_transactions
+		FROM daily_revenue_summary d
+		WHERE d.report_date >= ? AND d.report_date < ?
+		AND (CAST(? AS TEXT) IS NULL OR d.cinema_id = ?)
+		ORDER BY d.report_date, d.cinema_id
+	"""),
+    MOVIE_REVENUE(
+            "movie_revenue",
+            """
+		SELECT m.report_date, m.cinema_id, m.movie_id, m.total_revenue, m.total_tickets_sold
+		FROM movie_revenue m
+		WHERE m.report_date >= ? AND m.report_date < ?
+		AND (CAST(? AS TEXT) IS NULL OR m.cinema_id = ?)
+		ORDER BY m.report_date, m.cinema_id, m.movie_id
+	""");
+
+    String fileName;
+    String sql;
+}
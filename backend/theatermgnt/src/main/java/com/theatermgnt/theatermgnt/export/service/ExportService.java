@@ -0,0 +1,153 @@
+package com.theatermgnt.theatermgnt.export.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.Semaphore;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.export.enums.ExportDataset;
+import com.theatermgnt.theatermgnt.export.enums.ExportFormat;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ExportService - Streams large datasets as CSV or XLSX
+ * Rows come from a forward-only server-side cursor and go straight to the response, so memory stays
+ * constant whatever the range. Exports get a small connection pool of their own (not a bean, so the
+ * application DataSource is untouched) and a cap on concurrent exports, which keeps a long export
+ * from taking connections the rest of the application needs.
+ */
+@Service
+@Slf4j
+public class ExportService {
+    private final HikariDataSource exportDataSource;
+    private final Semaphore permits;
+    private final int fetchSize;
+
+    public ExportService(
+            DataSourceProperties dataSourceProperties,
+            @Value("${export.max-concurrent:2}") int maxConcurrent,
+            @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.exportDataSource = dataSourceProperties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        this.exportDataSource.setPoolName("export");
+        this.exportDataSource.setMaximumPoolSize(maxConcurrent);
+        this.exportDataSource.setMinimumIdle(0);
+        this.exportDataSource.setIdleTimeout(30_000);
+        this.permits = new Semaphore(maxConcurrent);
+        this.fetchSize = fetchSize;
+    }
+
+    public String fileName(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to) {
+        return dataset.getFileName() + "_" + from + "_" + to + "." + format.getExtension();
+    }
+
+    /**
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @param cinemaId optional cinema filter
+     * @return the body, holding a permit until it is written or released
+     */
+    public ExportStream export(
+            ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to, String cinemaId) {
+        if (to.isBefore(from)) {
+            throw new AppException(ErrorCode.INVALID_DATE_RANGE);
+        }
+        // Taken before the response starts so a busy server can still answer with an error status
+        if (!permits.tryAcquire()) {
+            throw new AppException(ErrorCode.EXPORT_BUSY);
+        }
+
+        String cinemaFilter = cinemaId == null || cinemaId.isBlank() ? null : cinemaId;
+        return new ExportStream(out -> {
+            long startedAt = System.currentTimeMillis();
+            try {
+                long rows = stream(dataset, format, from, to, cinemaFilter, out);
+                log.info(
+                        "Exported {} {} rows as {} in {} ms",
+                        rows,
+                        dataset,
+                        format,
+                        System.currentTimeMillis() - startedAt);
+            } catch (SQLException e) {
+                log.error("Export of {} failed", dataset, e);
+                throw new IOException("Export failed", e);
+            }
+        }, permits);
+    }
+
+    private long stream(
+            ExportDataset dataset,
+            ExportFormat format,
+            LocalDate from,
+            LocalDate to,
+            String cinemaId,
+            OutputStream out)
+            throws SQLException, IOException {
+        try (Connection connection = exportDataSource.getConnection()) {
+            // PostgreSQL only honours fetchSize inside a transaction
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    dataset.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                statement.setObject(1, from.atStartOfDay());
+                statement.setObject(2, to.plusDays(1).atStartOfDay());
+                statement.setString(3, cinemaId);
+                statement.setString(4, cinemaId);
+
+                try (ResultSet rs = statement.executeQuery();
+                        ExportWriter writer = openWriter(format, out)) {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    int columnCount = metaData.getColumnCount();
+                    String[] header = new String[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        header[i] = metaData.getColumnLabel(i + 1);
+                    }
+                    writer.header(header);
+
+                    Object[] row = new Object[columnCount];
+                    long count = 0;
+                    while (rs.next()) {
+                        for (int i = 0; i < columnCount; i++) {
+                            row[i] = rs.getObject(i + 1);
+                        }
+                        writer.row(row);
+                        count++;
+                    }
+                    return count;
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private static ExportWriter openWriter(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(out);
+            case XLSX -> new XlsxExportWriter(out);
+        };
+    }
+
+    @PreDestroy
+    public void close() {
+        exportDataSource.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.theatermgnt.theatermgnt.export.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * ExportStream - Export body that owns one of ExportService's permits
+ * The permit goes back when the body has been written, or through release() on any path where it
+ * never runs (client gone before the async dispatch, timeout, an error before the response), and
+ * only once however many of those paths fire.
+ */
+public final class ExportStream implements StreamingResponseBody {
+    private final StreamingResponseBody body;
+    private final Semaphore permits;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ExportStream(StreamingResponseBody body, Semaphore permits) {
+        this.body = body;
+        this.permits = permits;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        try {
+            body.writeTo(out);
+        } finally {
+            release();
+        }
+    }
+
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+}
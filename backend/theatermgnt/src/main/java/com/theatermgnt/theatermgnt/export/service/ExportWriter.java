@@ -0,0 +1,16 @@
+package com.theatermgnt.theatermgnt.export.service;
+
+import java.io.IOException;
+
+/**
+ * Row sink of a streaming export, rows are written as they are read and never buffered whole
+ */
+interface ExportWriter extends AutoCloseable {
+    void header(String[] columns) throws IOException;
+
+    // The array is reused between rows
+    void row(Object[] values) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
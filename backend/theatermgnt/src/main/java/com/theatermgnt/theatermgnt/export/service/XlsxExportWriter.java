@@ -0,0 +1,85 @@
+package com.theatermgnt.theatermgnt.export.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * SXSSF keeps only a small window of rows in memory and spills the rest to a compressed temp file
+ */
+final class XlsxExportWriter implements ExportWriter {
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private String[] columns;
+    private SXSSFSheet sheet;
+    private int rowIndex;
+
+    XlsxExportWriter(OutputStream out) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+    }
+
+    @Override
+    public void header(String[] columns) {
+        this.columns = columns.clone();
+        newSheet();
+    }
+
+    @Override
+    public void row(Object[] values) {
+        // A sheet holds ~1M rows, larger exports continue on the next sheet
+        if (rowIndex == MAX_ROWS) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            switch (value) {
+                case Number n -> cell.setCellValue(n.doubleValue());
+                case Timestamp t -> cell.setCellValue(t.toLocalDateTime().toString());
+                case Date d -> cell.setCellValue(d.toLocalDate().toString());
+                default -> cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (sheet == null) {
+                newSheet();
+            }
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void newSheet() {
+        sheet = workbook.createSheet("Sheet" + (workbook.getNumberOfSheets() + 1));
+        rowIndex = 0;
+        if (columns != null) {
+            Row header = sheet.createRow(rowIndex++);
+            for (int i = 0; i < columns.length; i++) {
+                header.createCell(i).setCellValue(columns[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.theatermgnt.theatermgnt.notification.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * NotificationDigestProperties - Digest window per NotificationCategory
+ * Categories without a window are dispatched immediately.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "notification.digest")
+@Getter
+@Setter
+public class NotificationDigestProperties {
+    private Map<NotificationCategory, Duration> windows = new EnumMap<>(NotificationCategory.class);
+    // A recipient's digest is sent early once it holds this many notifications
+    private int maxItems = 20;
+    private Duration flushInterval = Duration.ofSeconds(30);
+}
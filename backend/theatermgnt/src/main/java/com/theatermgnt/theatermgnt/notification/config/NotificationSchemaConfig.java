@@ -0,0 +1,35 @@
+package com.theatermgnt.theatermgnt.notification.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.theatermgnt.theatermgnt.notification.service.NotificationPartitionService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Monthly partitioning of notifications and notification_logs, which ddl-auto can't express
+ * Also drops the status check Hibernate generated from the enum: ddl-auto never widens it, so new
+ * statuses such as DIGESTED would be rejected.
+ */
+@Configuration
+@Slf4j
+public class NotificationSchemaConfig {
+
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "spring.datasource",
+            name = "driver-class-name",
+            havingValue = "org.postgresql.Driver")
+    ApplicationRunner notificationPartitionRunner(
+            NotificationPartitionService partitionService, JdbcTemplate jdbcTemplate) {
+        return args -> {
+            partitionService.partitionTables();
+            jdbcTemplate.execute("ALTER TABLE notifications DROP CONSTRAINT IF EXISTS notifications_status_check");
+            log.info("Notification partitions ensured");
+        };
+    }
+}
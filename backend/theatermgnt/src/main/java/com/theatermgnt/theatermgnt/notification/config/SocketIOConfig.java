@@ -5,12 +5,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.corundumstudio.socketio.SocketIOServer;
+import com.theatermgnt.theatermgnt.websocket.store.PostgresStoreFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * SocketIOConfig - Configuration for Socket.IO server
  * Enables real-time communication for in-app notifications and chat
+ * With the relay enabled, room emits reach clients connected to any backend instance
  */
 @Configuration
 @Slf4j
@@ -19,6 +21,27 @@ public class SocketIOConfig {
     @Value("${socketio.port:9092}")
     private Integer port;
 
+    @Value("${socketio.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    @Value("${socketio.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${socketio.relay.url:${spring.datasource.url}}")
+    private String relayUrl;
+
+    @Value("${spring.datasource.username}")
+    private String relayUsername;
+
+    @Value("${spring.datasource.password}")
+    private String relayPassword;
+
+    @Value("${socketio.relay.channel:socketio_relay}")
+    private String relayChannel;
+
+    @Value("${socketio.relay.linger-ms:5}")
+    private long relayLingerMs;
+
     @Bean
     public SocketIOServer socketIOServer() {
         com.corundumstudio.socketio.Configuration config = new com.corundumstudio.socketio.Configuration();
@@ -27,8 +50,19 @@ public class SocketIOConfig {
         // CORS configuration - allow all origins
         config.setOrigin("*");
 
-        log.info("Socket.IO server configured on port: {}", port);
+        // Deflate large payloads only, see ThresholdCompressionChannelInitializer
+        config.setWebsocketCompression(true);
+        config.setHttpCompression(true);
+
+        if (relayEnabled) {
+            config.setStoreFactory(
+                    new PostgresStoreFactory(relayUrl, relayUsername, relayPassword, relayChannel, relayLingerMs));
+        }
+
+        log.info("Socket.IO server configured on port: {} (cross-node relay {})", port, relayEnabled ? "on" : "off");
 
-        return new SocketIOServer(config);
+        SocketIOServer server = new SocketIOServer(config);
+        server.setPipelineFactory(new ThresholdCompressionChannelInitializer(compressionThreshold));
+        return server;
     }
 }
@@ -0,0 +1,63 @@
+package com.theatermgnt.theatermgnt.notification.config;
+
+import com.corundumstudio.socketio.SocketIOChannelInitializer;
+
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilter;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilterProvider;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
+
+/**
+ * ThresholdCompressionChannelInitializer - Per-message deflate for large WebSocket frames only
+ * Socket.IO's own compression handler deflates every frame; small frames cost more CPU to compress
+ * than they save on the wire, so frames below the threshold are sent as is.
+ */
+public class ThresholdCompressionChannelInitializer extends SocketIOChannelInitializer {
+    private static final int COMPRESSION_LEVEL = 6;
+    private static final int MAX_WINDOW_SIZE = 15;
+
+    private final WebSocketExtensionFilterProvider filterProvider;
+
+    public ThresholdCompressionChannelInitializer(int threshold) {
+        WebSocketExtensionFilter skipSmallFrames = frame -> isSmall(frame, threshold);
+        this.filterProvider = new WebSocketExtensionFilterProvider() {
+            @Override
+            public WebSocketExtensionFilter encoderFilter() {
+                return skipSmallFrames;
+            }
+
+            @Override
+            public WebSocketExtensionFilter decoderFilter() {
+                return WebSocketExtensionFilter.NEVER_SKIP;
+            }
+        };
+    }
+
+    @Override
+    protected void addSocketioHandlers(ChannelPipeline pipeline) {
+        super.addSocketioHandlers(pipeline);
+        if (pipeline.get(WEB_SOCKET_TRANSPORT_COMPRESSION) != null) {
+            pipeline.replace(
+                    WEB_SOCKET_TRANSPORT_COMPRESSION,
+                    WEB_SOCKET_TRANSPORT_COMPRESSION,
+                    new WebSocketServerExtensionHandler(new PerMessageDeflateServerExtensionHandshaker(
+                            COMPRESSION_LEVEL,
+                            ZlibCodecFactory.isSupportingWindowSizeAndMemLevel(),
+                            MAX_WINDOW_SIZE,
+                            false,
+                            false,
+                            filterProvider)));
+        }
+    }
+
+    // Only whole messages can be skipped: a fragmented message is compressed in every fragment or none
+    private static boolean isSmall(WebSocketFrame frame, int threshold) {
+        return frame.isFinalFragment()
+                && !(frame instanceof ContinuationWebSocketFrame)
+                && frame.content().readableBytes() < threshold;
+    }
+}
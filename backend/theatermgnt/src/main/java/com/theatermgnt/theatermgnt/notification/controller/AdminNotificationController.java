@@ -1,5 +1,6 @@
 package com.theatermgnt.theatermgnt.notification.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import jakarta.validation.Valid;
@@ -7,14 +8,19 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import com.theatermgnt.theatermgnt.common.dto.response.ApiResponse;
 import com.theatermgnt.theatermgnt.notification.dto.request.CreateNotificationRequest;
+import com.theatermgnt.theatermgnt.notification.dto.request.NotificationCampaignRequest;
+import com.theatermgnt.theatermgnt.notification.dto.request.NotificationSegment;
+import com.theatermgnt.theatermgnt.notification.dto.response.NotificationCampaignResponse;
 import com.theatermgnt.theatermgnt.notification.dto.response.NotificationDetailResponse;
 import com.theatermgnt.theatermgnt.notification.dto.response.NotificationLogDetailResponse;
+import com.theatermgnt.theatermgnt.notification.service.NotificationCampaignService;
 import com.theatermgnt.theatermgnt.notification.service.NotificationService;
 
 import lombok.AccessLevel;
@@ -34,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminNotificationController {
     NotificationService notificationService;
+    NotificationCampaignService campaignService;
 
     /**
      * Get all notifications (Admin view)
@@ -67,16 +74,69 @@ public class AdminNotificationController {
     }
 
     /**
-     * Get all notification logs (Admin only)
-     * GET /admin/notifications/logs
+     * Start a campaign to a large audience, processed in the background
+     * POST /admin/notifications/campaigns
+     */
+    @PostMapping("/campaigns")
+    public ApiResponse<NotificationCampaignResponse> startCampaign(
+            @RequestBody @Valid NotificationCampaignRequest request) {
+        log.info("Admin starting notification campaign, template: {}", request.getTemplateCode());
+
+        return ApiResponse.<NotificationCampaignResponse>builder()
+                .result(campaignService.startCampaign(request))
+                .build();
+    }
+
+    /**
+     * Count the customers a segment currently matches
+     * POST /admin/notifications/segments/count
+     */
+    @PostMapping("/segments/count")
+    public ApiResponse<Long> countSegment(@RequestBody @Valid NotificationSegment segment) {
+        return ApiResponse.<Long>builder()
+                .result(campaignService.countSegment(segment))
+                .build();
+    }
+
+    /**
+     * Get campaign progress
+     * GET /admin/notifications/campaigns/{id}
+     */
+    @GetMapping("/campaigns/{id}")
+    public ApiResponse<NotificationCampaignResponse> getCampaign(@PathVariable String id) {
+        return ApiResponse.<NotificationCampaignResponse>builder()
+                .result(campaignService.getCampaign(id))
+                .build();
+    }
+
+    /**
+     * Resume a failed or interrupted campaign from its checkpoint
+     * POST /admin/notifications/campaigns/{id}/resume
+     */
+    @PostMapping("/campaigns/{id}/resume")
+    public ApiResponse<NotificationCampaignResponse> resumeCampaign(@PathVariable String id) {
+        log.info("Admin resuming notification campaign: {}", id);
+
+        return ApiResponse.<NotificationCampaignResponse>builder()
+                .result(campaignService.resumeCampaign(id))
+                .build();
+    }
+
+    /**
+     * Get notification logs newest first, paginated (Admin only)
+     * GET /admin/notifications/logs?size=50&before={lastLogId}&from=...&to=...
      * NOTE: This must be defined BEFORE /{id} to avoid path conflicts
      */
     @GetMapping("/logs")
-    public ApiResponse<List<NotificationLogDetailResponse>> getAllNotificationLogs() {
-        log.info("Admin getting all notification logs");
+    public ApiResponse<List<NotificationLogDetailResponse>> getNotificationLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Admin getting notification logs before: {}", before);
 
         return ApiResponse.<List<NotificationLogDetailResponse>>builder()
-                .result(notificationService.getAllNotificationLogs())
+                .result(notificationService.getNotificationLogs(from, to, before, size))
                 .build();
     }
 
@@ -138,18 +198,21 @@ public class AdminNotificationController {
     }
 
     /**
-     * Get in-app notifications for current user
-     * GET /admin/notifications/in-app
+     * Get in-app notifications for current user, newest first
+     * GET /admin/notifications/in-app?size=50&before={lastNotificationId}
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/in-app")
-    public ApiResponse<List<NotificationDetailResponse>> getInAppNotifications(Authentication authentication) {
+    public ApiResponse<List<NotificationDetailResponse>> getInAppNotifications(
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
         log.info("Getting in-app notifications for admin: {}", authentication.getName());
 
         String userId = authentication.getName();
-        
+
         return ApiResponse.<List<NotificationDetailResponse>>builder()
-                .result(notificationService.getInAppNotifications(userId))
+                .result(notificationService.getInAppNotifications(userId, before, size))
                 .build();
     }
 
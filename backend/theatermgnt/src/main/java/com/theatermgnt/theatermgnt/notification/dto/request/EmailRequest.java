@@ -2,6 +2,8 @@ package com.theatermgnt.theatermgnt.notification.dto.request;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import sibModel.SendSmtpEmailAttachment;
@@ -11,10 +13,14 @@ import sibModel.SendSmtpEmailAttachment;
 @AllArgsConstructor
 @Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class EmailRequest {
     Sender sender;
     List<Recipient> to;
     String subject;
     String htmlContent;
     List<SendSmtpEmailAttachment> attachment;
+
+    // Batch send: Brevo delivers one email per version, "to" is left unset
+    List<MessageVersion> messageVersions;
 }
@@ -0,0 +1,20 @@
+package com.theatermgnt.theatermgnt.notification.dto.request;
+
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * One personalised copy of a batched Brevo email; unset fields fall back to the request's
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MessageVersion {
+    List<Recipient> to;
+    String subject;
+    String htmlContent;
+}
@@ -0,0 +1,44 @@
+package com.theatermgnt.theatermgnt.notification.dto.request;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
+import com.theatermgnt.theatermgnt.notification.enums.Priority;
+import com.theatermgnt.theatermgnt.notification.enums.RecipientType;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationCampaignRequest {
+    @NotBlank(message = "Template code is required")
+    String templateCode;
+
+    @NotNull(message = "Recipient type is required")
+    RecipientType recipientType;
+
+    @NotNull(message = "Category is required")
+    NotificationCategory category;
+
+    @NotEmpty(message = "At least one channel is required")
+    List<String> channels; // ["EMAIL", "IN_APP"]
+
+    Map<String, Object> metadata; // Variables for template rendering
+
+    Priority priority;
+
+    List<String> recipientIds; // Optional, every active account of recipientType when empty
+
+    @Valid
+    NotificationSegment segment; // Optional, customers matching the segment instead of recipientIds
+}
@@ -0,0 +1,42 @@
+package com.theatermgnt.theatermgnt.notification.dto.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.Min;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * An audience of customers described by what they watched and where
+ * Every criterion is optional and they are ANDed; booking criteria only count PAID bookings.
+ * e.g. Marvel fans in HCM: {"movieTitleContains": "Marvel", "cities": ["Ho Chi Minh"], "watchedWithinDays": 180}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationSegment {
+    List<String> movieIds;
+    String movieTitleContains;
+    List<String> genreIds;
+    List<String> cinemaIds;
+    List<String> cities; // Cinema city, case-insensitive
+
+    LocalDate watchedFrom; // Screening date, inclusive
+    LocalDate watchedTo; // Screening date, inclusive
+
+    @Min(value = 1, message = "INVALID_SEGMENT")
+    Integer watchedWithinDays; // Shorthand for watchedFrom, fixed when the campaign starts
+
+    @Min(value = 1, message = "INVALID_SEGMENT")
+    Integer minBookings;
+
+    @Min(value = 1, message = "INVALID_SEGMENT")
+    Integer minTickets;
+
+    Integer minLoyaltyPoints;
+    Integer maxLoyaltyPoints;
+}
@@ -1,5 +1,7 @@
 package com.theatermgnt.theatermgnt.notification.dto.response;
 
+import java.util.List;
+
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -10,4 +12,7 @@ import lombok.experimental.FieldDefaults;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class EmailResponse {
     String messageId;
+
+    // Filled instead of messageId for batch sends, one per message version
+    List<String> messageIds;
 }
@@ -0,0 +1,35 @@
+package com.theatermgnt.theatermgnt.notification.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.theatermgnt.theatermgnt.notification.dto.request.NotificationSegment;
+import com.theatermgnt.theatermgnt.notification.enums.CampaignStatus;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
+import com.theatermgnt.theatermgnt.notification.enums.RecipientType;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationCampaignResponse {
+    String id;
+    String templateCode;
+    RecipientType recipientType;
+    NotificationCategory category;
+    List<String> channels;
+    NotificationSegment segment;
+    CampaignStatus status;
+    Long totalRecipients;
+    Long processedCount;
+    Long sentCount;
+    Long failedCount;
+    String errorMessage;
+    LocalDateTime startedAt;
+    LocalDateTime completedAt;
+    LocalDateTime createdAt;
+}
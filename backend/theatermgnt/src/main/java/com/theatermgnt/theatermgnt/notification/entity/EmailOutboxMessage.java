@@ -0,0 +1,72 @@
+package com.theatermgnt.theatermgnt.notification.entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.persistence.*;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.theatermgnt.theatermgnt.notification.enums.EmailOutboxStatus;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import sibModel.SendSmtpEmailAttachment;
+
+/**
+ * An outbound email waiting for (or done with) delivery through Brevo
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(
+        name = "email_outbox",
+        indexes = {@Index(name = "idx_email_outbox_due", columnList = "status, nextAttemptAt")})
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    String id;
+
+    @Column(nullable = false)
+    String recipientEmail;
+
+    String recipientName;
+    String subject;
+
+    @Column(columnDefinition = "TEXT")
+    String htmlContent;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    List<SendSmtpEmailAttachment> attachments;
+
+    String emailType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    Integer attempts;
+
+    @Column(nullable = false)
+    LocalDateTime nextAttemptAt;
+
+    // A SENDING row whose lease ran out belongs to a worker that died and is claimed again
+    LocalDateTime lockedUntil;
+
+    @Column(length = 1000)
+    String lastError;
+
+    String messageId;
+
+    @Column(nullable = false)
+    LocalDateTime createdAt;
+
+    LocalDateTime sentAt;
+}
@@ -35,6 +35,9 @@ public class Notification extends BaseEntity {
 
     String recipientId;
 
+    // Set when the notification was created by a NotificationCampaign
+    String campaignId;
+
     @Enumerated(EnumType.STRING)
     RecipientType recipientType;
 
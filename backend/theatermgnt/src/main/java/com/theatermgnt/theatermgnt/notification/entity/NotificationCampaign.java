@@ -0,0 +1,77 @@
+package com.theatermgnt.theatermgnt.notification.entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.*;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
+import org.hibernate.type.SqlTypes;
+
+import com.theatermgnt.theatermgnt.common.entity.BaseEntity;
+import com.theatermgnt.theatermgnt.notification.dto.request.NotificationSegment;
+import com.theatermgnt.theatermgnt.notification.enums.CampaignStatus;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
+import com.theatermgnt.theatermgnt.notification.enums.Priority;
+import com.theatermgnt.theatermgnt.notification.enums.RecipientType;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A notification fan-out to many recipients, with the progress needed to resume it
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "notification_campaigns")
+@SQLDelete(sql = "UPDATE notification_campaigns SET deleted = true WHERE id = ?")
+@Where(clause = "deleted = false")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationCampaign extends BaseEntity {
+    String templateCode;
+
+    @Enumerated(EnumType.STRING)
+    RecipientType recipientType;
+
+    @Enumerated(EnumType.STRING)
+    NotificationCategory category;
+
+    @Enumerated(EnumType.STRING)
+    Priority priority;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    List<String> channels;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    Map<String, Object> metadata;
+
+    // Explicit audience, sorted; null means every active account of recipientType
+    @JdbcTypeCode(SqlTypes.JSON)
+    List<String> recipientIds;
+
+    // Audience resolved chunk by chunk in the database, relative dates already fixed
+    @JdbcTypeCode(SqlTypes.JSON)
+    NotificationSegment segment;
+
+    @Enumerated(EnumType.STRING)
+    CampaignStatus status;
+
+    // Every recipient up to and including this one has been handled
+    String lastRecipientId;
+
+    Long totalRecipients;
+    Long processedCount;
+    Long sentCount;
+    Long failedCount;
+
+    String errorMessage;
+    LocalDateTime startedAt;
+    LocalDateTime completedAt;
+}
@@ -0,0 +1,55 @@
+package com.theatermgnt.theatermgnt.notification.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
+import com.theatermgnt.theatermgnt.notification.enums.Priority;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * An IN_APP notification as the bell shows it
+ * Written when the notification is delivered on IN_APP, with title and category copied out of the
+ * notification's metadata, so the inbox is read without touching notifications or their logs.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(
+        name = "notification_inbox",
+        indexes = {
+            @Index(name = "idx_notification_inbox_recipient", columnList = "recipientId, createdAt, notificationId")
+        })
+public class NotificationInboxEntry {
+
+    // Same id as the notification
+    @Id
+    String notificationId;
+
+    @Column(nullable = false)
+    String recipientId;
+
+    String templateCode;
+    String title;
+
+    @Column(columnDefinition = "TEXT")
+    String content;
+
+    @Enumerated(EnumType.STRING)
+    NotificationCategory category;
+
+    @Enumerated(EnumType.STRING)
+    Priority priority;
+
+    @Column(nullable = false)
+    LocalDateTime createdAt;
+
+    LocalDateTime readAt;
+}
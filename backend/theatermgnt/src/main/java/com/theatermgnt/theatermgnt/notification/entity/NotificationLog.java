@@ -26,8 +26,9 @@ import lombok.experimental.FieldDefaults;
 @Where(clause = "deleted = false")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class NotificationLog extends BaseEntity {
+    // No foreign key: notifications is partitioned and its primary key includes created_at
     @ManyToOne
-    @JoinColumn(name = "notification_id")
+    @JoinColumn(name = "notification_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     Notification notification;
 
     String channelName;
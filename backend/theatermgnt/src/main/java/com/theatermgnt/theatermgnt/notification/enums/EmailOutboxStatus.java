@@ -0,0 +1,8 @@
+package com.theatermgnt.theatermgnt.notification.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -4,5 +4,7 @@ public enum NotificationStatus {
     PENDING,
     SENT,
     READ,
-    FAILED
+    FAILED,
+    // Merged into a digest notification, which carries the delivery
+    DIGESTED
 }
@@ -1,6 +1,5 @@
 package com.theatermgnt.theatermgnt.notification.listener;
 
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
@@ -32,7 +31,7 @@ import com.theatermgnt.theatermgnt.ticket.dto.response.TicketEmailView;
 import com.theatermgnt.theatermgnt.ticket.entity.Ticket;
 import com.theatermgnt.theatermgnt.ticket.event.TicketCreatedEvent;
 import com.theatermgnt.theatermgnt.ticket.repository.TicketRepository;
-import com.theatermgnt.theatermgnt.ticket.service.QrImageGenerator;
+import com.theatermgnt.theatermgnt.ticket.service.QrRenderService;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -48,7 +47,7 @@ import sibModel.SendSmtpEmailAttachment;
 public class NotificationEventListener {
     EmailTemplateFactory emailTemplateFactory;
     EmailBuilderService emailBuilderService;
-    QrImageGenerator qrImageGenerator;
+    QrRenderService qrRenderService;
     BookingRepository bookingRepository;
     AccountRepository accountRepository;
     CustomerRepository customerRepository;
@@ -59,7 +58,7 @@ public class NotificationEventListener {
     @Value("${otp.valid-duration}")
     protected long OTP_VALID_DURATION;
 
-    @Async
+    @Async("mailEventExecutor")
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handlePasswordResetEvent(PasswordResetEvent event) {
         log.info(
@@ -90,7 +89,7 @@ public class NotificationEventListener {
         }
     }
 
-    @Async
+    @Async("mailEventExecutor")
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleStaffCreatedEvent(StaffCreatedEvent event) {
         log.info(
@@ -114,7 +113,7 @@ public class NotificationEventListener {
                 .build());
     }
 
-    @Async
+    @Async("mailEventExecutor")
     @Transactional
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleTicketCreatedEvent(TicketCreatedEvent event) {
@@ -139,13 +138,13 @@ public class NotificationEventListener {
                         .build())
                 .toList();
 
-        List<SendSmtpEmailAttachment> attachments = tickets.stream()
-                .map(t -> {
-                    byte[] qrBytes = Base64.getDecoder().decode(qrImageGenerator.generateBase64Qr(t.getQrContent()));
+        Map<String, byte[]> qrImages = qrRenderService.renderPngs(tickets);
 
+        List<SendSmtpEmailAttachment> attachments = qrImages.entrySet().stream()
+                .map(e -> {
                     SendSmtpEmailAttachment attachment = new SendSmtpEmailAttachment();
-                    attachment.setName("QR-" + t.getTicketCode() + ".png");
-                    attachment.setContent(qrBytes);
+                    attachment.setName("QR-" + e.getKey() + ".png");
+                    attachment.setContent(e.getValue());
                     return attachment;
                 })
                 .toList();
@@ -181,7 +180,7 @@ public class NotificationEventListener {
                 .build());
     }
 
-    @Async
+    @Async("mailEventExecutor")
     @Transactional
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleCustomerCreatedEvent(CustomerCreatedEvent event) {
@@ -213,7 +212,7 @@ public class NotificationEventListener {
                 .build());
     }
 
-    @Async
+    @Async("mailEventExecutor")
     @Transactional
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleInvoiceRefundedEvent(InvoiceRefundedEvent event) {
@@ -2,10 +2,12 @@ package com.theatermgnt.theatermgnt.notification.mapper;
 
 import org.mapstruct.*;
 
+import com.theatermgnt.theatermgnt.notification.dto.response.NotificationCampaignResponse;
 import com.theatermgnt.theatermgnt.notification.dto.response.NotificationDetailResponse;
 import com.theatermgnt.theatermgnt.notification.dto.response.NotificationLogResponse;
 import com.theatermgnt.theatermgnt.notification.dto.response.NotificationResponse;
 import com.theatermgnt.theatermgnt.notification.entity.Notification;
+import com.theatermgnt.theatermgnt.notification.entity.NotificationCampaign;
 import com.theatermgnt.theatermgnt.notification.entity.NotificationLog;
 
 @Mapper(componentModel = "spring")
@@ -28,4 +30,6 @@ public interface NotificationMapper {
 
     @Mapping(source = "notification.id", target = "notificationId")
     NotificationLogResponse toLogResponse(NotificationLog entity);
+
+    NotificationCampaignResponse toCampaignResponse(NotificationCampaign entity);
 }
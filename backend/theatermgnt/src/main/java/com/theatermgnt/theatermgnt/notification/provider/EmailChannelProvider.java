@@ -1,8 +1,11 @@
 package com.theatermgnt.theatermgnt.notification.provider;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.springframework.stereotype.Component;
 
@@ -31,12 +34,20 @@ public class EmailChannelProvider implements NotificationChannelProvider {
     EmailService emailService;
 
     private static final String CHANNEL_NAME = "EMAIL";
+    // Brevo's limit on message versions per call
+    private static final int MAX_BATCH_SIZE = 1000;
 
     @Override
     public String getChannelName() {
         return CHANNEL_NAME;
     }
 
+    // Unavailable while the Brevo circuit breaker is open
+    @Override
+    public boolean isAvailable() {
+        return emailService.isAvailable();
+    }
+
     @Override
     public NotificationSendResult send(NotificationSendRequest request) {
         try {
@@ -106,4 +117,81 @@ public class EmailChannelProvider implements NotificationChannelProvider {
                     .build();
         }
     }
+
+    /**
+     * Send a batch through Brevo message versions, one API call per 1000 recipients
+     * Only requests sharing the first request's title and content are batched, the rest go one by one
+     */
+    @Override
+    public List<NotificationSendResult> sendBatch(List<NotificationSendRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        NotificationSendResult[] results = new NotificationSendResult[requests.size()];
+        NotificationSendRequest first = requests.get(0);
+        List<Integer> batched = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            NotificationSendRequest request = requests.get(i);
+            if (request.getRecipientEmail() == null || request.getRecipientEmail().isEmpty()) {
+                results[i] = failure("Recipient email is required");
+            } else if (Objects.equals(request.getTitle(), first.getTitle())
+                    && Objects.equals(request.getContent(), first.getContent())) {
+                batched.add(i);
+            } else {
+                results[i] = send(request);
+            }
+        }
+
+        List<SendSmtpEmailAttachment> attachments = null;
+        if (first.getMetadata() != null && first.getMetadata().containsKey("attachments")) {
+            attachments = (List<SendSmtpEmailAttachment>) first.getMetadata().get("attachments");
+        }
+
+        for (int from = 0; from < batched.size(); from += MAX_BATCH_SIZE) {
+            List<Integer> slice = batched.subList(from, Math.min(from + MAX_BATCH_SIZE, batched.size()));
+            List<Recipient> recipients = slice.stream()
+                    .map(i -> Recipient.builder()
+                            .email(requests.get(i).getRecipientEmail())
+                            .name(requests.get(i).getRecipientName())
+                            .build())
+                    .toList();
+            try {
+                EmailResponse emailResponse =
+                        emailService.sendBatch(first.getTitle(), first.getContent(), recipients, attachments);
+                List<String> messageIds = emailResponse.getMessageIds();
+                LocalDateTime sentAt = LocalDateTime.now();
+                for (int k = 0; k < slice.size(); k++) {
+                    Map<String, Object> providerResponse = new HashMap<>();
+                    if (messageIds != null && k < messageIds.size()) {
+                        providerResponse.put("messageId", messageIds.get(k));
+                    }
+                    results[slice.get(k)] = NotificationSendResult.builder()
+                            .success(true)
+                            .status("SENT")
+                            .channelName(CHANNEL_NAME)
+                            .providerResponse(providerResponse)
+                            .sentAt(sentAt)
+                            .build();
+                }
+                log.info("Batch email sent to {} recipient(s)", slice.size());
+            } catch (Exception e) {
+                log.error("Failed to send batch email to {} recipient(s)", slice.size(), e);
+                for (int i : slice) {
+                    results[i] = failure(e.getMessage());
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private NotificationSendResult failure(String errorMessage) {
+        return NotificationSendResult.builder()
+                .success(false)
+                .status("FAILED")
+                .channelName(CHANNEL_NAME)
+                .errorMessage(errorMessage)
+                .sentAt(LocalDateTime.now())
+                .build();
+    }
 }
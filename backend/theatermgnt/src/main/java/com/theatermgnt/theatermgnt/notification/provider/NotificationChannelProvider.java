@@ -1,5 +1,7 @@
 package com.theatermgnt.theatermgnt.notification.provider;
 
+import java.util.List;
+
 import com.theatermgnt.theatermgnt.notification.dto.request.NotificationSendRequest;
 import com.theatermgnt.theatermgnt.notification.dto.response.NotificationSendResult;
 
@@ -21,6 +23,16 @@ public interface NotificationChannelProvider {
      */
     NotificationSendResult send(NotificationSendRequest request);
 
+    /**
+     * Send a batch of notifications through this channel
+     * Providers with a bulk API override this; the default sends one by one
+     * @param requests The notification send requests
+     * @return One result per request, in the same order
+     */
+    default List<NotificationSendResult> sendBatch(List<NotificationSendRequest> requests) {
+        return requests.stream().map(this::send).toList();
+    }
+
     /**
      * Check if this provider supports the given channel name
      * @param channelName The channel name to check
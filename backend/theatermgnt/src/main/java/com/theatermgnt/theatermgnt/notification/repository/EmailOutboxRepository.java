@@ -0,0 +1,73 @@
+package com.theatermgnt.theatermgnt.notification.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.theatermgnt.theatermgnt.notification.entity.EmailOutboxMessage;
+import com.theatermgnt.theatermgnt.notification.enums.EmailOutboxStatus;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, String> {
+
+    // Lease due messages to this worker; SKIP LOCKED lets several nodes poll the same table
+    @Transactional
+    @Query(
+            value =
+                    """
+		UPDATE email_outbox SET status = 'SENDING', locked_until = :lockedUntil, attempts = attempts + 1
+		WHERE id IN (
+			SELECT id FROM email_outbox
+			WHERE (status = 'PENDING' AND next_attempt_at <= :now)
+				OR (status = 'SENDING' AND locked_until < :now)
+			ORDER BY next_attempt_at
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+		)
+		RETURNING *
+	""",
+            nativeQuery = true)
+    List<EmailOutboxMessage> claimDue(
+            @Param("now") LocalDateTime now,
+            @Param("lockedUntil") LocalDateTime lockedUntil,
+            @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(
+            """
+		UPDATE EmailOutboxMessage m
+		SET m.status = :status, m.messageId = :messageId, m.sentAt = :sentAt, m.lockedUntil = null
+		WHERE m.id = :id
+	""")
+    int markSent(
+            @Param("id") String id,
+            @Param("status") EmailOutboxStatus status,
+            @Param("messageId") String messageId,
+            @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query(
+            """
+		UPDATE EmailOutboxMessage m
+		SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError, m.lockedUntil = null
+		WHERE m.id = :id
+	""")
+    int reschedule(
+            @Param("id") String id,
+            @Param("status") EmailOutboxStatus status,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = :status AND m.sentAt < :before")
+    int deleteSentBefore(@Param("status") EmailOutboxStatus status, @Param("before") LocalDateTime before);
+
+    long countByStatus(EmailOutboxStatus status);
+}
@@ -0,0 +1,13 @@
+package com.theatermgnt.theatermgnt.notification.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.theatermgnt.theatermgnt.notification.entity.NotificationCampaign;
+import com.theatermgnt.theatermgnt.notification.enums.CampaignStatus;
+
+public interface NotificationCampaignRepository extends JpaRepository<NotificationCampaign, String> {
+    List<NotificationCampaign> findByStatusInOrderByCreatedAtAsc(Collection<CampaignStatus> statuses);
+}
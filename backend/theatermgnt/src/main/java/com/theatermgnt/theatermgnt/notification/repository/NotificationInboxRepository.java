@@ -0,0 +1,78 @@
+package com.theatermgnt.theatermgnt.notification.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.theatermgnt.theatermgnt.notification.entity.NotificationInboxEntry;
+
+public interface NotificationInboxRepository extends JpaRepository<NotificationInboxEntry, String> {
+
+    @Query(
+            value =
+                    """
+		SELECT * FROM notification_inbox
+		WHERE recipient_id = :recipientId
+		ORDER BY created_at DESC, notification_id DESC
+		LIMIT :limit
+	""",
+            nativeQuery = true)
+    List<NotificationInboxEntry> findLatest(@Param("recipientId") String recipientId, @Param("limit") int limit);
+
+    // Keyset page: entries older than the one the client saw last
+    @Query(
+            value =
+                    """
+		SELECT i.* FROM notification_inbox i
+		JOIN notification_inbox b ON b.notification_id = :before
+		WHERE i.recipient_id = :recipientId
+			AND (i.created_at, i.notification_id) < (b.created_at, b.notification_id)
+		ORDER BY i.created_at DESC, i.notification_id DESC
+		LIMIT :limit
+	""",
+            nativeQuery = true)
+    List<NotificationInboxEntry> findBefore(
+            @Param("recipientId") String recipientId, @Param("before") String before, @Param("limit") int limit);
+
+    long countByRecipientIdAndReadAtIsNull(String recipientId);
+
+    @Modifying
+    @Query("UPDATE NotificationInboxEntry e SET e.readAt = :readAt WHERE e.notificationId = :id AND e.readAt IS NULL")
+    int markRead(@Param("id") String notificationId, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("UPDATE NotificationInboxEntry e SET e.readAt = :readAt WHERE e.recipientId = :recipientId AND e.readAt IS NULL")
+    int markAllRead(@Param("recipientId") String recipientId, @Param("readAt") LocalDateTime readAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationInboxEntry e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+
+    // One-off fill from notifications delivered on IN_APP before the inbox existed
+    @Transactional
+    @Modifying
+    @Query(
+            value =
+                    """
+		INSERT INTO notification_inbox (notification_id, recipient_id, template_code, title, content, category, priority, created_at, read_at)
+		SELECT n.id, n.recipient_id, t.template_code, n.metadata ->> 'title', n.metadata ->> 'content',
+			n.metadata ->> 'category', n.priority, n.created_at, n.read_at
+		FROM notifications n
+		LEFT JOIN notification_templates t ON t.id = n.template_id
+		WHERE n.deleted = false
+			AND n.recipient_id IS NOT NULL
+			AND EXISTS (
+				SELECT 1 FROM notification_logs l
+				WHERE l.notification_id = n.id AND l.channel_name = 'IN_APP' AND l.status = 'SENT'
+			)
+		ON CONFLICT (notification_id) DO NOTHING
+	""",
+            nativeQuery = true)
+    int backfillFromLogs();
+}
@@ -1,22 +1,32 @@
 package com.theatermgnt.theatermgnt.notification.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.theatermgnt.theatermgnt.notification.entity.Notification;
 import com.theatermgnt.theatermgnt.notification.entity.NotificationLog;
 
 public interface NotificationLogRepository extends JpaRepository<NotificationLog, String> {
-    List<NotificationLog> findByNotificationOrderBySentAtDesc(Notification notification);
+    // Logs are never older than their notification, which keeps the lookup to recent partitions
+    List<NotificationLog> findByNotificationAndCreatedAtGreaterThanEqualOrderBySentAtDesc(
+            Notification notification, LocalDateTime since);
 
-    // Find all logs ordered by sent date descending
-    Page<NotificationLog> findAllByOrderBySentAtDesc(Pageable pageable);
-
-    // Find all logs with notification info using JOIN
-    @Query("SELECT nl FROM NotificationLog nl JOIN FETCH nl.notification ORDER BY nl.sentAt DESC")
-    List<NotificationLog> findAllWithNotificationOrderBySentAtDesc();
+    // Keyset page of logs in [from, to), newest first; beforeId breaks ties at exactly :to
+    @Query(
+            """
+		SELECT nl FROM NotificationLog nl LEFT JOIN FETCH nl.notification
+		WHERE nl.createdAt >= :from
+			AND (nl.createdAt < :to OR (nl.createdAt = :to AND nl.id < :beforeId))
+		ORDER BY nl.createdAt DESC, nl.id DESC
+	""")
+    List<NotificationLog> findPage(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("beforeId") String beforeId,
+            Pageable pageable);
 }
@@ -1,9 +1,12 @@
 package com.theatermgnt.theatermgnt.notification.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.theatermgnt.theatermgnt.notification.entity.NotificationChannel;
 import com.theatermgnt.theatermgnt.notification.entity.NotificationPreference;
@@ -14,4 +17,12 @@ public interface NotificationPreferenceRepository extends JpaRepository<Notifica
 
     Optional<NotificationPreference> findByRecipientIdAndChannelAndCategory(
             String recipientId, NotificationChannel channel, NotificationCategory category);
+
+    // Opt-outs for a whole batch of recipients; missing preferences default to enabled
+    @Query(
+            """
+		SELECT p FROM NotificationPreference p JOIN FETCH p.channel
+		WHERE p.recipientId IN :recipientIds AND p.isEnabled = false
+	""")
+    List<NotificationPreference> findDisabledByRecipients(@Param("recipientIds") Collection<String> recipientIds);
 }
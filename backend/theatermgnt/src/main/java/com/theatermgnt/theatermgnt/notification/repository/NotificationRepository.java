@@ -1,19 +1,51 @@
 package com.theatermgnt.theatermgnt.notification.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.theatermgnt.theatermgnt.notification.entity.Notification;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationStatus;
 
 public interface NotificationRepository extends JpaRepository<Notification, String> {
     Page<Notification> findByRecipientIdOrderByCreatedAtDesc(String recipientId, Pageable pageable);
 
-    List<Notification> findByRecipientIdOrderByCreatedAtDesc(String recipientId);
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :readAt WHERE n.recipientId = :recipientId AND n.readAt IS NULL")
+    int markAllRead(@Param("recipientId") String recipientId, @Param("readAt") LocalDateTime readAt);
 
-    Long countByRecipientIdAndReadAtIsNull(String recipientId);
+    // Only partitions from the given month on are searched
+    @Query("SELECT n FROM Notification n WHERE n.id = :id AND n.createdAt >= :since")
+    Optional<Notification> findRecentById(@Param("id") String id, @Param("since") LocalDateTime since);
 
-    List<Notification> findByRecipientIdAndReadAtIsNull(String recipientId);
+    // Notifications a campaign already created for a chunk, used when resuming; none predate the campaign
+    List<Notification> findByCampaignIdAndRecipientIdInAndCreatedAtGreaterThanEqual(
+            String campaignId, Collection<String> recipientIds, LocalDateTime since);
+
+    // Notifications held for a digest when the application stopped
+    @Query(
+            value =
+                    """
+		SELECT * FROM notifications
+		WHERE status = 'PENDING' AND deleted = false AND created_at >= :since
+			AND metadata ->> 'digest' = 'true'
+		ORDER BY created_at
+	""",
+            nativeQuery = true)
+    List<Notification> findHeldForDigest(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :status WHERE n.id IN :ids AND n.createdAt >= :since")
+    int updateStatus(
+            @Param("ids") Collection<String> ids,
+            @Param("status") NotificationStatus status,
+            @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,86 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A title or content template split once into literal text and {{placeholder}} parts
+ * Rendering walks the parts in a single pass; placeholders without a variable are written back as-is,
+ * the same as the old String.replace loop left them.
+ */
+final class CompiledTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    // Large renders would otherwise pin their buffer to the thread for good
+    private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    // literals.length == keys.length + 1, rendering alternates literals[i], keys[i], ...
+    private final String[] literals;
+    private final String[] keys;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] keys) {
+        this.literals = literals;
+        this.keys = keys;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    static CompiledTemplate compile(String source) {
+        if (source == null) {
+            return new CompiledTemplate(new String[] {""}, new String[0]);
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int from = 0;
+        int literalStart = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, from);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+            literals.add(source.substring(literalStart, open));
+            keys.add(source.substring(open + OPEN.length(), close));
+            literalStart = close + CLOSE.length();
+            from = literalStart;
+        }
+        literals.add(source.substring(literalStart));
+
+        return new CompiledTemplate(literals.toArray(String[]::new), keys.toArray(String[]::new));
+    }
+
+    String render(Map<String, Object> variables) {
+        if (keys.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(literalLength + keys.length * 16);
+        for (int i = 0; i < keys.length; i++) {
+            out.append(literals[i]);
+            if (variables != null && variables.containsKey(keys[i])) {
+                out.append(variables.get(keys[i]));
+            } else {
+                out.append(OPEN).append(keys[i]).append(CLOSE);
+            }
+        }
+        out.append(literals[keys.length]);
+
+        String rendered = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+}
@@ -16,7 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @Slf4j
 public class EmailBuilderService {
-    EmailService emailService;
+    EmailOutboxService emailOutboxService;
 
     public void buildAndSendEmail(EmailBuilderRequest request) {
         // 1. Build recipient
@@ -33,16 +33,13 @@ public class EmailBuilderService {
                 .attachments(request.getAttachments())
                 .build();
 
-        // 3. Send email
+        // 3. Queue email, the outbox delivers and retries it
         try {
-            emailService.sendEmail(sendEmailRequest);
-            log.info(
-                    "Email Sent Successfully",
-                    request.getEmailTypeForLog(),
-                    request.getAccount().getEmail());
+            emailOutboxService.enqueue(sendEmailRequest, request.getEmailTypeForLog());
+            log.info("{} email queued for {}", request.getEmailTypeForLog(), request.getAccount().getEmail());
         } catch (Exception e) {
             log.error(
-                    "Failed to send email to {}: {}",
+                    "Failed to queue {} email for {}: {}",
                     request.getEmailTypeForLog(),
                     request.getAccount().getEmail(),
                     e.getMessage(),
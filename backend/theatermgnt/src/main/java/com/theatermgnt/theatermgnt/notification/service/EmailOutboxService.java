@@ -0,0 +1,180 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.notification.dto.request.Recipient;
+import com.theatermgnt.theatermgnt.notification.dto.request.SendEmailRequest;
+import com.theatermgnt.theatermgnt.notification.dto.response.EmailResponse;
+import com.theatermgnt.theatermgnt.notification.entity.EmailOutboxMessage;
+import com.theatermgnt.theatermgnt.notification.enums.EmailOutboxStatus;
+import com.theatermgnt.theatermgnt.notification.repository.EmailOutboxRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * EmailOutboxService - Durable outbound email queue
+ * Emails are stored in email_outbox before anything talks to Brevo, then workers lease due rows and send
+ * them on the mail executor. Failures Brevo may recover from are retried with exponential backoff and
+ * jitter; rejected messages and messages out of attempts are kept as FAILED for inspection.
+ */
+@Service
+@Slf4j
+public class EmailOutboxService {
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final Executor mailExecutor;
+    private final Semaphore workers;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final int retentionDays;
+
+    public EmailOutboxService(
+            EmailOutboxRepository outboxRepository,
+            EmailService emailService,
+            @Qualifier("mailExecutor") Executor mailExecutor,
+            @Value("${email.outbox.workers:4}") int workers,
+            @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${email.outbox.base-backoff-seconds:30}") long baseBackoffSeconds,
+            @Value("${email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${email.outbox.lease-seconds:120}") long leaseSeconds,
+            @Value("${email.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.mailExecutor = mailExecutor;
+        this.workers = new Semaphore(workers);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Queue an email for delivery; once this returns the email survives restarts and Brevo outages
+     */
+    @Transactional
+    public void enqueue(SendEmailRequest request, String emailType) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(EmailOutboxMessage.builder()
+                .recipientEmail(request.getTo().getEmail())
+                .recipientName(request.getTo().getName())
+                .subject(request.getSubject())
+                .htmlContent(request.getHtmlContent())
+                .attachments(request.getAttachments())
+                .emailType(emailType)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        log.debug("{} email queued for {}", emailType, request.getTo().getEmail());
+    }
+
+    /**
+     * Lease as many due messages as there are idle workers
+     * Nothing is claimed while the Brevo circuit is open, so attempts aren't burnt during an outage
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-ms:1000}")
+    public void poll() {
+        int idle = workers.availablePermits();
+        if (idle == 0 || !emailService.isAvailable()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> claimed = outboxRepository.claimDue(now, now.plus(lease), idle);
+        for (EmailOutboxMessage message : claimed) {
+            workers.acquireUninterruptibly();
+            try {
+                mailExecutor.execute(() -> {
+                    try {
+                        deliver(message);
+                    } finally {
+                        workers.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                workers.release();
+                log.warn("Mail executor rejected outbox message {}, it will be retried after its lease", message.getId());
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 15 4 * * *")
+    public void purgeSent() {
+        int purged = outboxRepository.deleteSentBefore(
+                EmailOutboxStatus.SENT, LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            log.info("Purged {} sent email(s) from the outbox", purged);
+        }
+    }
+
+    private void deliver(EmailOutboxMessage message) {
+        SendEmailRequest request = SendEmailRequest.builder()
+                .to(Recipient.builder()
+                        .email(message.getRecipientEmail())
+                        .name(message.getRecipientName())
+                        .build())
+                .subject(message.getSubject())
+                .htmlContent(message.getHtmlContent())
+                .attachments(message.getAttachments())
+                .build();
+
+        try {
+            EmailResponse response = emailService.sendEmail(request);
+            outboxRepository.markSent(
+                    message.getId(), EmailOutboxStatus.SENT, response.getMessageId(), LocalDateTime.now());
+            log.info("{} email sent to {}", message.getEmailType(), message.getRecipientEmail());
+        } catch (Exception e) {
+            boolean rejected = e instanceof AppException appException
+                    && appException.getErrorCode() == ErrorCode.EMAIL_SEND_FAILED;
+            // attempts was already incremented when the message was claimed
+            if (rejected || message.getAttempts() >= maxAttempts) {
+                outboxRepository.reschedule(message.getId(), EmailOutboxStatus.FAILED, LocalDateTime.now(), truncate(e));
+                log.error(
+                        "{} email to {} failed after {} attempt(s)",
+                        message.getEmailType(),
+                        message.getRecipientEmail(),
+                        message.getAttempts(),
+                        e);
+            } else {
+                LocalDateTime nextAttempt = LocalDateTime.now().plus(backoff(message.getAttempts()));
+                outboxRepository.reschedule(message.getId(), EmailOutboxStatus.PENDING, nextAttempt, truncate(e));
+                log.warn(
+                        "{} email to {} failed (attempt {}), retrying at {}: {}",
+                        message.getEmailType(),
+                        message.getRecipientEmail(),
+                        message.getAttempts(),
+                        nextAttempt,
+                        e.getMessage());
+            }
+        }
+    }
+
+    // base * 2^(attempt-1), capped, with up to 50% jitter so retries after an outage don't arrive together
+    private Duration backoff(int attempt) {
+        long millis = baseBackoff.toMillis() << Math.min(attempt - 1, 20);
+        millis = Math.min(millis, maxBackoff.toMillis());
+        return Duration.ofMillis(millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1));
+    }
+
+    private static String truncate(Exception e) {
+        String message = String.valueOf(e.getMessage());
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,5 +1,6 @@
 package com.theatermgnt.theatermgnt.notification.service;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -7,34 +8,52 @@ import org.springframework.stereotype.Service;
 
 import com.theatermgnt.theatermgnt.common.exception.AppException;
 import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.common.util.CircuitBreaker;
+import com.theatermgnt.theatermgnt.common.util.TokenBucket;
 import com.theatermgnt.theatermgnt.notification.dto.request.EmailRequest;
+import com.theatermgnt.theatermgnt.notification.dto.request.MessageVersion;
+import com.theatermgnt.theatermgnt.notification.dto.request.Recipient;
 import com.theatermgnt.theatermgnt.notification.dto.request.SendEmailRequest;
 import com.theatermgnt.theatermgnt.notification.dto.request.Sender;
 import com.theatermgnt.theatermgnt.notification.dto.response.EmailResponse;
 import com.theatermgnt.theatermgnt.notification.repository.httpClient.EmailClient;
 
 import feign.FeignException;
-import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
-import lombok.experimental.FieldDefaults;
-import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import sibModel.SendSmtpEmailAttachment;
 
+/**
+ * EmailService - Every Brevo call goes through here
+ * Calls are rate limited to the Brevo quota and guarded by a circuit breaker, so a Brevo outage fails
+ * fast instead of tying up threads. Errors are split into EMAIL_SEND_FAILED (Brevo rejected the
+ * message, retrying won't help) and EMAIL_PROVIDER_UNAVAILABLE (worth retrying later).
+ */
 @Service
-@RequiredArgsConstructor
-@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
 public class EmailService {
-    EmailClient emailClient;
+    private final EmailClient emailClient;
+    private final TokenBucket rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration rateLimitWait;
 
-    @NonFinal
     @Value("${brevo.apiKey}")
     protected String apiKey;
 
+    public EmailService(
+            EmailClient emailClient,
+            @Value("${email.rate-limit.per-second:10}") double permitsPerSecond,
+            @Value("${email.rate-limit.max-wait-ms:5000}") long maxWaitMs,
+            @Value("${email.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${email.circuit-breaker.open-seconds:60}") long openSeconds) {
+        this.emailClient = emailClient;
+        this.rateLimiter = new TokenBucket(permitsPerSecond, permitsPerSecond);
+        this.circuitBreaker = new CircuitBreaker("brevo", failureThreshold, Duration.ofSeconds(openSeconds));
+        this.rateLimitWait = Duration.ofMillis(maxWaitMs);
+    }
+
     public EmailResponse sendEmail(SendEmailRequest request) {
         EmailRequest.EmailRequestBuilder builder = EmailRequest.builder()
-                .sender(Sender.builder()
-                        .name("Cifastar")
-                        .email("theonlytruth25012005@gmail.com")
-                        .build())
+                .sender(sender())
                 .to(List.of(request.getTo()))
                 .subject(request.getSubject())
                 .htmlContent(request.getHtmlContent());
@@ -42,11 +61,77 @@ public class EmailService {
         if (request.getAttachments() != null && !request.getAttachments().isEmpty()) {
             builder.attachment(request.getAttachments());
         }
-        EmailRequest emailRequest = builder.build();
+        return call(builder.build());
+    }
+
+    /**
+     * Send one email to many recipients in a single Brevo call, one message version per recipient
+     * Brevo accepts up to 1000 versions per call; messageIds come back in version order
+     */
+    public EmailResponse sendBatch(
+            String subject,
+            String htmlContent,
+            List<Recipient> recipients,
+            List<SendSmtpEmailAttachment> attachments) {
+        EmailRequest.EmailRequestBuilder builder = EmailRequest.builder()
+                .sender(sender())
+                .subject(subject)
+                .htmlContent(htmlContent)
+                .messageVersions(recipients.stream()
+                        .map(recipient ->
+                                MessageVersion.builder().to(List.of(recipient)).build())
+                        .toList());
+
+        if (attachments != null && !attachments.isEmpty()) {
+            builder.attachment(attachments);
+        }
+        return call(builder.build());
+    }
+
+    /**
+     * False while the circuit is open, so queue workers can stop claiming messages
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    private EmailResponse call(EmailRequest emailRequest) {
+        try {
+            if (!rateLimiter.acquire(rateLimitWait)) {
+                throw new AppException(ErrorCode.EMAIL_PROVIDER_UNAVAILABLE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.EMAIL_PROVIDER_UNAVAILABLE);
+        }
+        if (!circuitBreaker.allowRequest()) {
+            throw new AppException(ErrorCode.EMAIL_PROVIDER_UNAVAILABLE);
+        }
+
         try {
-            return emailClient.sendEmail(apiKey, emailRequest);
+            EmailResponse response = emailClient.sendEmail(apiKey, emailRequest);
+            circuitBreaker.onSuccess();
+            return response;
         } catch (FeignException e) {
-            throw new AppException(ErrorCode.USER_EXISTED);
+            // 429, 5xx and I/O errors (status -1) mean Brevo is struggling, other 4xx mean the request is bad
+            if (e.status() == 429 || e.status() >= 500 || e.status() < 0) {
+                circuitBreaker.onFailure();
+                log.warn("Brevo unavailable ({}), circuit {}", e.status(), circuitBreaker.getState());
+                throw new AppException(ErrorCode.EMAIL_PROVIDER_UNAVAILABLE);
+            }
+            circuitBreaker.onSuccess();
+            log.error("Brevo rejected email ({}): {}", e.status(), e.contentUTF8());
+            throw new AppException(ErrorCode.EMAIL_SEND_FAILED);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
         }
     }
+
+    private static Sender sender() {
+        return Sender.builder()
+                .name("Cifastar")
+                .email("theonlytruth25012005@gmail.com")
+                .build();
+    }
 }
@@ -1,44 +1,126 @@
 package com.theatermgnt.theatermgnt.notification.service;
 
 import java.time.Year;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IContext;
 
 import com.theatermgnt.theatermgnt.notification.enums.EmailType;
 
-import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
-import lombok.experimental.FieldDefaults;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * EmailTemplateFactory - Renders the Thymeleaf email templates
+ * Templates are parsed into the engine's cache at startup, so no email pays for the first parse.
+ * Company variables live in one immutable map shared by every render, and each render is timed
+ * as email.render tagged with its EmailType.
+ */
 @Service
-@RequiredArgsConstructor
-@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@Slf4j
 public class EmailTemplateFactory {
-    TemplateEngine templateEngine;
+    private static final Map<EmailType, String> TEMPLATE_NAMES = new EnumMap<>(Map.of(
+            EmailType.RESET_PASSWORD, "email/reset-password",
+            EmailType.WELCOME_STAFF, "email/welcome-staff",
+            EmailType.NOTIFICATION_EMAIL, "email/notification-email",
+            EmailType.TICKET_ISSUE, "email/ticket-issue",
+            EmailType.WELCOME_CUSTOMER, "email/welcome-customer",
+            EmailType.REFUND_NOTIFICATION, "email/refund-notification"));
+
+    private final TemplateEngine templateEngine;
+    private final Map<EmailType, Timer> renderTimers = new EnumMap<>(EmailType.class);
+    private volatile Map<String, Object> baseVariables = baseVariables(Year.now().getValue());
+
+    public EmailTemplateFactory(TemplateEngine templateEngine, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.templateEngine = templateEngine;
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        for (EmailType type : EmailType.values()) {
+            renderTimers.put(
+                    type,
+                    Timer.builder("email.render").tag("type", type.name()).register(registry));
+        }
+    }
 
     public String buildTemplate(EmailType emailType, Map<String, Object> variables) {
-        Context context = new Context();
-        context.setVariables(variables);
-
-        context.setVariable("appName", "Cifastar HCM");
-        context.setVariable("companyName", "Cifastar");
-        context.setVariable("companyUrl", "https://cifastar.com");
-        context.setVariable("companyAddress", "123 Cifastar St, HCM City, Vietnam");
-        context.setVariable("year", Year.now().getValue());
-
-        String templateName =
-                switch (emailType) {
-                    case RESET_PASSWORD -> "email/reset-password";
-                    case WELCOME_STAFF -> "email/welcome-staff";
-                    case NOTIFICATION_EMAIL -> "email/notification-email";
-                    case TICKET_ISSUE -> "email/ticket-issue";
-                    case WELCOME_CUSTOMER -> "email/welcome-customer";
-                    case REFUND_NOTIFICATION -> "email/refund-notification";
-                };
-        return templateEngine.process(templateName, context);
-      
+        return renderTimers
+                .get(emailType)
+                .record(() -> templateEngine.process(
+                        TEMPLATE_NAMES.get(emailType), new EmailContext(currentBaseVariables(), variables)));
+    }
+
+    /**
+     * Parse every template into the engine cache before the first email needs it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        long startedAt = System.currentTimeMillis();
+        TEMPLATE_NAMES.forEach((type, templateName) -> {
+            try {
+                templateEngine.process(templateName, new EmailContext(currentBaseVariables(), Map.of()));
+            } catch (Exception e) {
+                // Parsing and caching happen before evaluation, a template that needs its variables is warm anyway
+                log.debug("Pre-warm render of {} stopped at evaluation: {}", templateName, e.getMessage());
+            }
+        });
+        log.info("Pre-warmed {} email templates in {} ms", TEMPLATE_NAMES.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    private Map<String, Object> currentBaseVariables() {
+        Map<String, Object> current = baseVariables;
+        int year = Year.now().getValue();
+        if (!current.get("year").equals(year)) {
+            current = baseVariables(year);
+            baseVariables = current;
+        }
+        return current;
+    }
+
+    private static Map<String, Object> baseVariables(int year) {
+        return Map.of(
+                "appName", "Cifastar HCM",
+                "companyName", "Cifastar",
+                "companyUrl", "https://cifastar.com",
+                "companyAddress", "123 Cifastar St, HCM City, Vietnam",
+                "year", year);
+    }
+
+    /**
+     * Layers an email's variables over the shared ones without copying either map
+     */
+    private record EmailContext(Map<String, Object> base, Map<String, Object> variables) implements IContext {
+        @Override
+        public Locale getLocale() {
+            return Locale.getDefault();
+        }
+
+        @Override
+        public boolean containsVariable(String name) {
+            return base.containsKey(name) || variables.containsKey(name);
+        }
+
+        @Override
+        public Set<String> getVariableNames() {
+            Set<String> names = new LinkedHashSet<>(variables.keySet());
+            names.addAll(base.keySet());
+            return names;
+        }
+
+        @Override
+        public Object getVariable(String name) {
+            // Shared variables win, as they did when set after the email's own
+            Object value = base.get(name);
+            return value != null ? value : variables.get(name);
+        }
     }
 }
@@ -0,0 +1,318 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.theatermgnt.theatermgnt.account.repository.AccountRepository;
+import com.theatermgnt.theatermgnt.authentication.enums.AccountType;
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.notification.dto.request.NotificationCampaignRequest;
+import com.theatermgnt.theatermgnt.notification.dto.request.NotificationSegment;
+import com.theatermgnt.theatermgnt.notification.dto.response.NotificationCampaignResponse;
+import com.theatermgnt.theatermgnt.notification.entity.Notification;
+import com.theatermgnt.theatermgnt.notification.entity.NotificationCampaign;
+import com.theatermgnt.theatermgnt.notification.entity.NotificationTemplate;
+import com.theatermgnt.theatermgnt.notification.enums.CampaignStatus;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationStatus;
+import com.theatermgnt.theatermgnt.notification.enums.RecipientType;
+import com.theatermgnt.theatermgnt.notification.mapper.NotificationMapper;
+import com.theatermgnt.theatermgnt.notification.repository.NotificationCampaignRepository;
+import com.theatermgnt.theatermgnt.notification.repository.NotificationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationCampaignService - Fans a notification out to a large audience
+ * Recipients are streamed in keyset order one chunk at a time: the chunk's notifications are bulk-inserted,
+ * dispatched as one batch and the checkpoint advances. The next chunk is only read once the previous one
+ * has gone out, so a slow provider slows the campaign down instead of piling up work. Interrupted
+ * campaigns resume from the checkpoint; notifications a chunk had already created are not duplicated.
+ */
+@Service
+@Slf4j
+public class NotificationCampaignService {
+    private static final Set<CampaignStatus> UNFINISHED = EnumSet.of(CampaignStatus.QUEUED, CampaignStatus.RUNNING);
+
+    private final NotificationCampaignRepository campaignRepository;
+    private final NotificationRepository notificationRepository;
+    private final AccountRepository accountRepository;
+    private final NotificationTemplateService templateService;
+    private final NotificationSegmentService segmentService;
+    private final NotificationDispatcher dispatcher;
+    private final NotificationMapper notificationMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor campaignExecutor;
+    private final int chunkSize;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public NotificationCampaignService(
+            NotificationCampaignRepository campaignRepository,
+            NotificationRepository notificationRepository,
+            AccountRepository accountRepository,
+            NotificationTemplateService templateService,
+            NotificationSegmentService segmentService,
+            NotificationDispatcher dispatcher,
+            NotificationMapper notificationMapper,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("notificationCampaignExecutor") Executor campaignExecutor,
+            @Value("${notification.campaign.chunk-size:500}") int chunkSize) {
+        this.campaignRepository = campaignRepository;
+        this.notificationRepository = notificationRepository;
+        this.accountRepository = accountRepository;
+        this.templateService = templateService;
+        this.segmentService = segmentService;
+        this.dispatcher = dispatcher;
+        this.notificationMapper = notificationMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.campaignExecutor = campaignExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    public NotificationCampaignResponse startCampaign(NotificationCampaignRequest request) {
+        // Fail fast on an unknown template instead of inside the runner
+        templateService.getTemplateByCode(request.getTemplateCode());
+
+        List<String> recipientIds = null;
+        NotificationSegment segment = request.getSegment();
+        long total;
+        boolean explicit = request.getRecipientIds() != null && !request.getRecipientIds().isEmpty();
+        if (segment != null) {
+            if (explicit || request.getRecipientType() != RecipientType.CUSTOMER) {
+                throw new AppException(ErrorCode.INVALID_SEGMENT);
+            }
+            segment = segmentService.normalize(segment);
+            total = segmentService.count(segment);
+        } else if (explicit) {
+            recipientIds = request.getRecipientIds().stream().distinct().sorted().toList();
+            total = recipientIds.size();
+        } else {
+            total = accountRepository.countByAccountTypeAndIsActiveTrue(toAccountType(request.getRecipientType()));
+        }
+
+        NotificationCampaign campaign = campaignRepository.save(NotificationCampaign.builder()
+                .templateCode(request.getTemplateCode())
+                .recipientType(request.getRecipientType())
+                .category(request.getCategory())
+                .priority(request.getPriority())
+                .channels(request.getChannels())
+                .metadata(request.getMetadata())
+                .recipientIds(recipientIds)
+                .segment(segment)
+                .status(CampaignStatus.QUEUED)
+                .totalRecipients(total)
+                .processedCount(0L)
+                .sentCount(0L)
+                .failedCount(0L)
+                .build());
+        log.info("Notification campaign {} queued for {} recipient(s)", campaign.getId(), total);
+
+        submit(campaign);
+        return notificationMapper.toCampaignResponse(campaign);
+    }
+
+    /**
+     * Audience size of a segment, to check it before starting a campaign
+     */
+    public long countSegment(NotificationSegment segment) {
+        return segmentService.count(segmentService.normalize(segment));
+    }
+
+    public NotificationCampaignResponse getCampaign(String campaignId) {
+        return notificationMapper.toCampaignResponse(findCampaign(campaignId));
+    }
+
+    /**
+     * Continue a failed or interrupted campaign from its checkpoint
+     */
+    public NotificationCampaignResponse resumeCampaign(String campaignId) {
+        NotificationCampaign campaign = findCampaign(campaignId);
+        if (running.contains(campaignId)) {
+            throw new AppException(ErrorCode.CAMPAIGN_ALREADY_RUNNING);
+        }
+        if (campaign.getStatus() != CampaignStatus.COMPLETED) {
+            campaign.setStatus(CampaignStatus.QUEUED);
+            campaign.setErrorMessage(null);
+            campaign = campaignRepository.save(campaign);
+            submit(campaign);
+        }
+        return notificationMapper.toCampaignResponse(campaign);
+    }
+
+    /**
+     * Pick up campaigns that were queued or running when the application stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        for (NotificationCampaign campaign : campaignRepository.findByStatusInOrderByCreatedAtAsc(UNFINISHED)) {
+            log.info("Resuming notification campaign {} after restart", campaign.getId());
+            try {
+                submit(campaign);
+            } catch (AppException e) {
+                log.warn("Campaign queue full, campaign {} marked failed until resumed", campaign.getId());
+            }
+        }
+    }
+
+    private void submit(NotificationCampaign campaign) {
+        String campaignId = campaign.getId();
+        try {
+            campaignExecutor.execute(() -> run(campaignId));
+        } catch (RejectedExecutionException e) {
+            campaign.setStatus(CampaignStatus.FAILED);
+            campaign.setErrorMessage("Campaign queue full");
+            campaignRepository.save(campaign);
+            throw new AppException(ErrorCode.CAMPAIGN_BUSY);
+        }
+    }
+
+    private void run(String campaignId) {
+        if (!running.add(campaignId)) {
+            return;
+        }
+        NotificationCampaign campaign = campaignRepository.findById(campaignId).orElse(null);
+        if (campaign == null || campaign.getStatus() == CampaignStatus.COMPLETED) {
+            running.remove(campaignId);
+            return;
+        }
+
+        try {
+            campaign.setStatus(CampaignStatus.RUNNING);
+            if (campaign.getStartedAt() == null) {
+                campaign.setStartedAt(LocalDateTime.now());
+            }
+            campaign = campaignRepository.save(campaign);
+
+            // Render once for the whole audience
+            NotificationTemplate template = templateService.getTemplateByCode(campaign.getTemplateCode());
+            String title = templateService.renderTitle(campaign.getTemplateCode(), campaign.getMetadata());
+            String content = templateService.renderTemplate(campaign.getTemplateCode(), campaign.getMetadata());
+            Map<String, Object> metadata = new HashMap<>();
+            if (campaign.getMetadata() != null) {
+                metadata.putAll(campaign.getMetadata());
+            }
+            metadata.put("category", campaign.getCategory().name());
+            metadata.put("title", title);
+            metadata.put("content", content);
+
+            List<String> recipientIds;
+            while (!(recipientIds = nextRecipients(campaign)).isEmpty()) {
+                List<Notification> chunk = createChunk(campaign, template, recipientIds, metadata);
+                int delivered = dispatcher.dispatchBatch(
+                        chunk, campaign.getChannels(), campaign.getCategory(), title, content, metadata);
+
+                campaign.setLastRecipientId(recipientIds.get(recipientIds.size() - 1));
+                campaign.setProcessedCount(campaign.getProcessedCount() + recipientIds.size());
+                campaign.setSentCount(campaign.getSentCount() + delivered);
+                campaign.setFailedCount(campaign.getFailedCount() + chunk.size() - delivered);
+                campaign = campaignRepository.save(campaign);
+            }
+
+            campaign.setStatus(CampaignStatus.COMPLETED);
+            campaign.setCompletedAt(LocalDateTime.now());
+            campaignRepository.save(campaign);
+            log.info(
+                    "Notification campaign {} completed: {} sent, {} failed",
+                    campaignId,
+                    campaign.getSentCount(),
+                    campaign.getFailedCount());
+        } catch (Exception e) {
+            log.error("Notification campaign {} failed, resume to continue", campaignId, e);
+            campaign.setStatus(CampaignStatus.FAILED);
+            campaign.setErrorMessage(e.getMessage());
+            campaignRepository.save(campaign);
+        } finally {
+            running.remove(campaignId);
+        }
+    }
+
+    private List<String> nextRecipients(NotificationCampaign campaign) {
+        String after = campaign.getLastRecipientId();
+        if (campaign.getSegment() != null) {
+            return segmentService.findRecipientsAfter(campaign.getSegment(), after, chunkSize);
+        }
+        List<String> explicit = campaign.getRecipientIds();
+        if (explicit == null) {
+            return accountRepository.findActiveIdsAfter(
+                    toAccountType(campaign.getRecipientType()),
+                    after != null ? after : "",
+                    PageRequest.of(0, chunkSize));
+        }
+
+        int from = 0;
+        if (after != null) {
+            int index = Collections.binarySearch(explicit, after);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        return explicit.subList(from, Math.min(from + chunkSize, explicit.size()));
+    }
+
+    /**
+     * Bulk-insert the chunk's notifications and return those still to be sent
+     * On resume, recipients that already have a sent notification are skipped and pending ones go out again
+     */
+    private List<Notification> createChunk(
+            NotificationCampaign campaign,
+            NotificationTemplate template,
+            List<String> recipientIds,
+            Map<String, Object> metadata) {
+        return transactionTemplate.execute(status -> {
+            Map<String, Notification> existing =
+                    notificationRepository
+                            .findByCampaignIdAndRecipientIdInAndCreatedAtGreaterThanEqual(
+                                    campaign.getId(), recipientIds, campaign.getCreatedAt())
+                            .stream()
+                            .collect(Collectors.toMap(Notification::getRecipientId, Function.identity(), (a, b) -> a));
+
+            List<Notification> toSend = new ArrayList<>();
+            List<Notification> created = new ArrayList<>();
+            for (String recipientId : recipientIds) {
+                Notification notification = existing.get(recipientId);
+                if (notification == null) {
+                    created.add(Notification.builder()
+                            .notificationTemplate(template)
+                            .recipientId(recipientId)
+                            .recipientType(campaign.getRecipientType())
+                            .campaignId(campaign.getId())
+                            .priority(campaign.getPriority())
+                            .status(NotificationStatus.PENDING)
+                            .metadata(metadata)
+                            .build());
+                } else if (notification.getStatus() == NotificationStatus.PENDING) {
+                    toSend.add(notification);
+                }
+            }
+            toSend.addAll(notificationRepository.saveAll(created));
+            return toSend;
+        });
+    }
+
+    private NotificationCampaign findCampaign(String campaignId) {
+        return campaignRepository
+                .findById(campaignId)
+                .orElseThrow(() -> new AppException(ErrorCode.CAMPAIGN_NOT_FOUND));
+    }
+
+    private static AccountType toAccountType(RecipientType recipientType) {
+        return recipientType == RecipientType.STAFF ? AccountType.INTERNAL : AccountType.CUSTOMER;
+    }
+}
@@ -0,0 +1,247 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import com.theatermgnt.theatermgnt.notification.config.NotificationDigestProperties;
+import com.theatermgnt.theatermgnt.notification.entity.Notification;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationStatus;
+import com.theatermgnt.theatermgnt.notification.enums.Priority;
+import com.theatermgnt.theatermgnt.notification.repository.NotificationRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationDigestService - Holds low-priority notifications per recipient and sends them as one digest
+ * Notifications in a category with a digest window are saved PENDING as usual but not dispatched. The
+ * first one opens a window for its recipient; when the window closes (or fills up) everything held is
+ * merged into one digest notification and dispatched once, and the originals are marked DIGESTED.
+ * HIGH and URGENT notifications never wait. The buffer only indexes rows already in the database, so
+ * whatever an instance was holding when it stopped is found and sent by the recovery sweep.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class NotificationDigestService {
+    static final String DIGEST_FLAG = "digest";
+    static final String DIGEST_CHANNELS = "digestChannels";
+    private static final Duration RECOVERY_HORIZON = Duration.ofDays(2);
+    private static final Duration RECOVERY_GRACE = Duration.ofMinutes(1);
+
+    NotificationDigestProperties properties;
+    NotificationRepository notificationRepository;
+    NotificationDispatcher dispatcher;
+    TransactionTemplate transactionTemplate;
+
+    ConcurrentMap<DigestKey, HeldDigest> held = new ConcurrentHashMap<>();
+
+    public boolean shouldDigest(NotificationCategory category, Priority priority) {
+        return priority != Priority.HIGH
+                && priority != Priority.URGENT
+                && properties.getWindows().containsKey(category);
+    }
+
+    /**
+     * Mark metadata of notifications about to be held, so they can be found again after a restart
+     */
+    public void markHeld(Map<String, Object> metadata, List<String> channels) {
+        metadata.put(DIGEST_FLAG, true);
+        metadata.put(DIGEST_CHANNELS, List.copyOf(channels));
+    }
+
+    /**
+     * Hold saved notifications until their recipient's digest window closes
+     */
+    public void hold(List<Notification> notifications, List<String> channels, NotificationCategory category) {
+        Set<DigestKey> full = new HashSet<>();
+        for (Notification notification : notifications) {
+            DigestKey key = new DigestKey(notification.getRecipientId(), category, List.copyOf(channels));
+            if (add(key, notification) >= properties.getMaxItems()) {
+                full.add(key);
+            }
+        }
+        full.forEach(this::release);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval:30s}")
+    public void releaseDue() {
+        LocalDateTime now = LocalDateTime.now();
+        held.forEach((key, digest) -> {
+            Duration window = properties.getWindows().get(key.category());
+            if (window == null || !digest.openedAt.plus(window).isAfter(now)) {
+                release(key);
+            }
+        });
+    }
+
+    /**
+     * Send what a stopped or crashed instance was holding
+     * Only rows well past the longest window are taken, so digests another running instance holds are left alone.
+     */
+    @Scheduled(
+            initialDelayString = "${notification.digest.recovery-interval:5m}",
+            fixedDelayString = "${notification.digest.recovery-interval:5m}")
+    public void recoverAbandoned() {
+        Duration longest = properties.getWindows().values().stream()
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ZERO);
+        LocalDateTime cutoff = LocalDateTime.now()
+                .minus(longest)
+                .minus(properties.getFlushInterval().multipliedBy(2))
+                .minus(RECOVERY_GRACE);
+        Set<String> heldHere = new HashSet<>();
+        held.values().forEach(digest -> {
+            synchronized (digest) {
+                digest.notifications.forEach(n -> heldHere.add(n.getId()));
+            }
+        });
+
+        Map<DigestKey, List<Notification>> abandoned = new LinkedHashMap<>();
+        for (Notification notification :
+                notificationRepository.findHeldForDigest(LocalDateTime.now().minus(RECOVERY_HORIZON))) {
+            if (!notification.getCreatedAt().isBefore(cutoff) || heldHere.contains(notification.getId())) {
+                continue;
+            }
+            Map<String, Object> metadata = notification.getMetadata();
+            @SuppressWarnings("unchecked")
+            List<String> channels = (List<String>) metadata.get(DIGEST_CHANNELS);
+            DigestKey key = new DigestKey(
+                    notification.getRecipientId(),
+                    NotificationCategory.valueOf(String.valueOf(metadata.get("category"))),
+                    List.copyOf(channels));
+            abandoned.computeIfAbsent(key, k -> new ArrayList<>()).add(notification);
+        }
+        abandoned.forEach(this::send);
+        if (!abandoned.isEmpty()) {
+            log.info("Released {} abandoned digest(s)", abandoned.size());
+        }
+    }
+
+    private int add(DigestKey key, Notification notification) {
+        while (true) {
+            HeldDigest digest = held.computeIfAbsent(key, k -> new HeldDigest(LocalDateTime.now()));
+            synchronized (digest) {
+                if (digest.released) {
+                    // Released between lookup and lock, open a new window
+                    continue;
+                }
+                digest.notifications.add(notification);
+                return digest.notifications.size();
+            }
+        }
+    }
+
+    private void release(DigestKey key) {
+        HeldDigest digest = held.remove(key);
+        if (digest == null) {
+            return;
+        }
+        List<Notification> notifications;
+        synchronized (digest) {
+            digest.released = true;
+            notifications = List.copyOf(digest.notifications);
+        }
+        send(key, notifications);
+    }
+
+    private void send(DigestKey key, List<Notification> notifications) {
+        try {
+            if (notifications.size() == 1) {
+                Notification single = notifications.get(0);
+                dispatcher.dispatchBatchAsync(
+                        notifications,
+                        key.channels(),
+                        key.category(),
+                        (String) single.getMetadata().get("title"),
+                        (String) single.getMetadata().get("content"),
+                        single.getMetadata());
+                return;
+            }
+
+            Notification merged = transactionTemplate.execute(status -> {
+                Notification saved = notificationRepository.save(buildDigest(notifications, key));
+                LocalDateTime since = notifications.stream()
+                        .map(Notification::getCreatedAt)
+                        .min(Comparator.naturalOrder())
+                        .orElseThrow();
+                notificationRepository.updateStatus(
+                        notifications.stream().map(Notification::getId).toList(), NotificationStatus.DIGESTED, since);
+                return saved;
+            });
+            dispatcher.dispatchBatchAsync(
+                    List.of(merged),
+                    key.channels(),
+                    key.category(),
+                    (String) merged.getMetadata().get("title"),
+                    (String) merged.getMetadata().get("content"),
+                    merged.getMetadata());
+            log.info("Sent digest of {} notification(s) to {}", notifications.size(), key.recipientId());
+        } catch (Exception e) {
+            log.error("Failed to release digest for {}: {}", key.recipientId(), e.getMessage(), e);
+        }
+    }
+
+    private Notification buildDigest(List<Notification> notifications, DigestKey key) {
+        StringBuilder content = new StringBuilder();
+        for (Notification notification : notifications) {
+            Object title = notification.getMetadata().get("title");
+            Object body = notification.getMetadata().get("content");
+            if (!content.isEmpty()) {
+                content.append("<hr/>");
+            }
+            if (title != null) {
+                content.append("<h3>").append(HtmlUtils.htmlEscape(title.toString())).append("</h3>");
+            }
+            if (body != null) {
+                content.append(body);
+            }
+        }
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("category", key.category().name());
+        metadata.put("title", "You have " + notifications.size() + " new " + key.category().name().toLowerCase() + " updates");
+        metadata.put("content", content.toString());
+        metadata.put("digestOf", notifications.stream().map(Notification::getId).toList());
+
+        Notification first = notifications.get(0);
+        return Notification.builder()
+                .recipientId(key.recipientId())
+                .recipientType(first.getRecipientType())
+                .priority(Priority.NORMAL)
+                .status(NotificationStatus.PENDING)
+                .metadata(metadata)
+                .build();
+    }
+
+    private record DigestKey(String recipientId, NotificationCategory category, List<String> channels) {}
+
+    private static final class HeldDigest {
+        final LocalDateTime openedAt;
+        final List<Notification> notifications = new ArrayList<>();
+        boolean released;
+
+        HeldDigest(LocalDateTime openedAt) {
+            this.openedAt = openedAt;
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.theatermgnt.theatermgnt.notification.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -18,7 +26,6 @@ import com.theatermgnt.theatermgnt.notification.entity.NotificationLog;
 import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
 import com.theatermgnt.theatermgnt.notification.enums.NotificationStatus;
 import com.theatermgnt.theatermgnt.notification.provider.NotificationChannelProvider;
-import com.theatermgnt.theatermgnt.notification.repository.NotificationLogRepository;
 import com.theatermgnt.theatermgnt.notification.repository.NotificationRepository;
 
 import lombok.AccessLevel;
@@ -28,7 +35,8 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * NotificationDispatcher - Routes and sends notifications through appropriate channels
- * This is the orchestration layer between NotificationService and channel providers
+ * This is the orchestration layer between NotificationService and channel providers.
+ * Notifications are dispatched in batches that share one rendered title and content.
  */
 @Service
 @RequiredArgsConstructor
@@ -36,96 +44,146 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class NotificationDispatcher {
     List<NotificationChannelProvider> channelProviders;
-    NotificationPreferenceService preferenceService;
-    NotificationTemplateService templateService;
+    NotificationPreferenceCache preferenceCache;
     NotificationRepository notificationRepository;
-    NotificationLogRepository logRepository;
+    NotificationLogAppender logAppender;
     AccountRepository accountRepository;
+    NotificationInboxService inboxService;
 
     /**
-     * Dispatch notification to specified channels asynchronously
-     * This is the main orchestration method
+     * Dispatch a batch asynchronously on the notification executor
      */
-    @Async
+    @Async("notificationExecutor")
     @Transactional
-    public void dispatch(String notificationId, List<String> channels, Map<String, Object> templateVariables) {
-        log.info("Dispatching notification {} to channels: {}", notificationId, channels);
-
-        // Fetch notification in this thread's transaction context
-        Notification notification = notificationRepository
-                .findById(notificationId)
-                .orElseThrow(() -> new RuntimeException("Notification not found: " + notificationId));
+    public void dispatchBatchAsync(
+            List<Notification> notifications,
+            List<String> channels,
+            NotificationCategory category,
+            String title,
+            String content,
+            Map<String, Object> templateVariables) {
+        dispatchBatch(notifications, channels, category, title, content, templateVariables);
+    }
 
-        NotificationCategory category = templateVariables != null && templateVariables.containsKey("category")
-                ? NotificationCategory.valueOf((String) templateVariables.get("category"))
-                : NotificationCategory.SYSTEM;
+    /**
+     * Dispatch a batch of notifications to the specified channels
+     * Preferences and recipient accounts are loaded once for the batch, each channel goes through its
+     * provider's batch API, statuses are written in bulk and logs go through the appender. IN_APP deliveries go to the inbox.
+     * @return number of notifications delivered on at least one channel
+     */
+    @Transactional
+    public int dispatchBatch(
+            List<Notification> notifications,
+            List<String> channels,
+            NotificationCategory category,
+            String title,
+            String content,
+            Map<String, Object> templateVariables) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        log.info("Dispatching {} notification(s) to channels: {}", notifications.size(), channels);
+
+        List<String> recipientIds = notifications.stream()
+                .map(Notification::getRecipientId)
+                .distinct()
+                .toList();
+        Map<String, Long> preferenceMasks = preferenceCache.loadMasks(recipientIds);
+        Map<String, Account> recipients = accountRepository.findAllById(recipientIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        // Same for every recipient of the batch
+        Map<String, Object> metadata = new HashMap<>(notifications.get(0).getMetadata());
+        if (templateVariables != null && templateVariables.containsKey("attachments")) {
+            metadata.put("attachments", templateVariables.get("attachments"));
+        }
 
-        boolean anySuccess = false;
+        List<NotificationLog> logs = new ArrayList<>();
+        Set<String> delivered = new HashSet<>();
+        List<Notification> inApp = new ArrayList<>();
 
         for (String channelName : channels) {
-            try {
-                // 1. Check if channel is enabled for user
-                boolean isEnabled =
-                        preferenceService.isChannelEnabledForUser(notification.getRecipientId(), channelName, category);
+            NotificationChannelProvider provider = findProvider(channelName);
+            if (!preferenceCache.isChannelActive(channelName)) {
+                log.info("Channel {} is not active, skipping {} notification(s)", channelName, notifications.size());
+                notifications.forEach(n -> logs.add(
+                        buildLog(n, channelName, "SKIPPED", Map.of("reason", "Channel not active"), null)));
+                continue;
+            }
+            if (provider == null || !provider.isAvailable()) {
+                String reason = provider == null ? "Provider not found" : "Provider not available";
+                log.warn("{} for channel: {}", reason, channelName);
+                notifications.forEach(n -> logs.add(buildLog(n, channelName, "FAILED", Map.of("reason", reason), null)));
+                continue;
+            }
 
-                if (!isEnabled) {
-                    log.info("Channel {} is disabled for recipient: {}", channelName, notification.getRecipientId());
-                    saveLog(
+            List<Notification> targets = new ArrayList<>();
+            for (Notification notification : notifications) {
+                long mask = preferenceMasks.get(notification.getRecipientId());
+                if (!preferenceCache.isEnabled(mask, channelName, category)) {
+                    logs.add(buildLog(
                             notification,
                             channelName,
                             "SKIPPED",
                             Map.of("reason", "Channel disabled by user preference"),
-                            null);
-                    continue;
-                }
-
-                // 2. Find appropriate provider
-                NotificationChannelProvider provider = findProvider(channelName);
-                if (provider == null) {
-                    log.warn("No provider found for channel: {}", channelName);
-                    saveLog(notification, channelName, "FAILED", Map.of("reason", "Provider not found"), null);
-                    continue;
-                }
-
-                if (!provider.isAvailable()) {
-                    log.warn("Provider {} is not available", channelName);
-                    saveLog(notification, channelName, "FAILED", Map.of("reason", "Provider not available"), null);
-                    continue;
-                }
-
-                // 3. Build send request
-                NotificationSendRequest sendRequest = buildSendRequest(notification, channelName, templateVariables);
-
-                // 4. Send through provider
-                log.info("Sending notification via provider: {}", channelName);
-                NotificationSendResult result = provider.send(sendRequest);
-
-                // 5. Save log
-                saveLog(
-                        notification,
-                        channelName,
-                        result.getStatus(),
-                        result.getProviderResponse(),
-                        result.getSentAt());
-
-                if (result.isSuccess()) {
-                    anySuccess = true;
-                    log.info("Notification sent successfully via {}", channelName);
+                            null));
                 } else {
-                    log.error("Failed to send notification via {}: {}", channelName, result.getErrorMessage());
+                    targets.add(notification);
                 }
+            }
+            if (targets.isEmpty()) {
+                continue;
+            }
 
+            List<NotificationSendRequest> requests = targets.stream()
+                    .map(n -> buildSendRequest(n, recipients.get(n.getRecipientId()), title, content, metadata))
+                    .toList();
+            try {
+                List<NotificationSendResult> results = provider.sendBatch(requests);
+                for (int i = 0; i < targets.size(); i++) {
+                    NotificationSendResult result = results.get(i);
+                    logs.add(buildLog(
+                            targets.get(i),
+                            channelName,
+                            result.getStatus(),
+                            result.getProviderResponse(),
+                            result.getSentAt()));
+                    if (result.isSuccess()) {
+                        delivered.add(targets.get(i).getId());
+                        if ("IN_APP".equals(channelName)) {
+                            inApp.add(targets.get(i));
+                        }
+                    }
+                }
             } catch (Exception e) {
-                log.error("Error dispatching notification via {}: {}", channelName, e.getMessage(), e);
-                saveLog(notification, channelName, "FAILED", Map.of("error", e.getMessage()), LocalDateTime.now());
+                log.error("Error dispatching {} notification(s) via {}: {}", targets.size(), channelName, e.getMessage(), e);
+                Map<String, Object> error = Map.of("error", String.valueOf(e.getMessage()));
+                targets.forEach(n -> logs.add(buildLog(n, channelName, "FAILED", error, LocalDateTime.now())));
             }
         }
 
-        // 6. Update notification status
-        notification.setStatus(anySuccess ? NotificationStatus.SENT : NotificationStatus.FAILED);
-        notificationRepository.save(notification);
+        logAppender.append(logs);
+        inboxService.record(inApp, category, title, content);
+
+        List<String> failed = notifications.stream()
+                .map(Notification::getId)
+                .filter(id -> !delivered.contains(id))
+                .toList();
+        // Bounding created_at keeps the updates to the batch's own partitions
+        LocalDateTime since = notifications.stream()
+                .map(Notification::getCreatedAt)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(LocalDate.EPOCH.atStartOfDay());
+        if (!delivered.isEmpty()) {
+            notificationRepository.updateStatus(delivered, NotificationStatus.SENT, since);
+        }
+        if (!failed.isEmpty()) {
+            notificationRepository.updateStatus(failed, NotificationStatus.FAILED, since);
+        }
 
-        log.info("Notification {} dispatch completed. Status: {}", notification.getId(), notification.getStatus());
+        log.info("Dispatched {} notification(s): {} sent, {} failed", notifications.size(), delivered.size(), failed.size());
+        return delivered.size();
     }
 
     /**
@@ -139,34 +197,10 @@ public class NotificationDispatcher {
     }
 
     /**
-     * Build NotificationSendRequest from Notification entity and template variables
+     * Build NotificationSendRequest from Notification entity and the batch's rendered content
      */
     private NotificationSendRequest buildSendRequest(
-            Notification notification, String channelName, Map<String, Object> templateVariables) {
-
-        // Get recipient details from Account
-        Account recipient =
-                accountRepository.findById(notification.getRecipientId()).orElse(null);
-
-        // Render title and content from template
-        String title = notification.getNotificationTemplate() != null
-                ? templateService.renderTitle(
-                        notification.getNotificationTemplate().getTemplateCode(), templateVariables)
-                : (String) templateVariables.getOrDefault("title", "Notification");
-
-        String content = notification.getNotificationTemplate() != null
-                ? templateService.renderTemplate(
-                        notification.getNotificationTemplate().getTemplateCode(), templateVariables)
-                : (String) templateVariables.getOrDefault("content", "");
-
-        // Build metadata for channel-specific requirements
-        Map<String, Object> metadata = new HashMap<>(notification.getMetadata());
-
-        // Add attachments if present in template variables
-        if (templateVariables.containsKey("attachments")) {
-            metadata.put("attachments", templateVariables.get("attachments"));
-        }
-
+            Notification notification, Account recipient, String title, String content, Map<String, Object> metadata) {
         return NotificationSendRequest.builder()
                 .recipientId(notification.getRecipientId())
                 .recipientEmail(recipient != null ? recipient.getEmail() : null)
@@ -181,24 +215,18 @@ public class NotificationDispatcher {
                 .build();
     }
 
-    /**
-     * Save notification log to database
-     */
-    private void saveLog(
+    private NotificationLog buildLog(
             Notification notification,
             String channelName,
             String status,
             Map<String, Object> providerResponse,
             LocalDateTime sentAt) {
-        NotificationLog notificationLog = NotificationLog.builder()
+        return NotificationLog.builder()
                 .notification(notification)
                 .channelName(channelName)
                 .status(status)
                 .providerResponse(providerResponse)
                 .sentAt(sentAt != null ? sentAt : LocalDateTime.now())
                 .build();
-
-        logRepository.save(notificationLog);
-        log.info("Notification log saved for channel: {}, status: {}", channelName, status);
     }
 }
@@ -0,0 +1,287 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.theatermgnt.theatermgnt.notification.dto.response.NotificationDetailResponse;
+import com.theatermgnt.theatermgnt.notification.entity.Notification;
+import com.theatermgnt.theatermgnt.notification.entity.NotificationInboxEntry;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationStatus;
+import com.theatermgnt.theatermgnt.notification.mapper.NotificationMapper;
+import com.theatermgnt.theatermgnt.notification.repository.NotificationInboxRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationInboxService - The IN_APP inbox behind the notification bell
+ * Entries are written in bulk when a batch is delivered on IN_APP and read with keyset pages.
+ * Unread counts are kept in memory per user: loaded with one COUNT the first time they are asked for,
+ * then moved by new entries and reads after commit and pushed over Socket.IO whenever they change.
+ * A counter is re-read after counter-ttl, so a change it missed (one that committed while the COUNT ran,
+ * or one made on another instance) is corrected within that time.
+ */
+@Service
+@Slf4j
+public class NotificationInboxService {
+    private static final String UNREAD_EVENT = "notification:unread-count";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Title, content and category are shared by the whole dispatch batch
+    private static final String INSERT_BATCH =
+            """
+		INSERT INTO notification_inbox (notification_id, recipient_id, template_code, title, content, category, priority, created_at)
+		SELECT t.notification_id, t.recipient_id, t.template_code, ?, ?, ?, t.priority, ?
+		FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[]) AS t(notification_id, recipient_id, template_code, priority)
+		ON CONFLICT (notification_id) DO NOTHING
+		RETURNING notification_id
+	""";
+
+    private final NotificationInboxRepository inboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SocketIOService socketIOService;
+    private final NotificationMapper notificationMapper;
+    private final Map<String, UnreadCounter> unread;
+    private final long counterTtlMillis;
+
+    public NotificationInboxService(
+            NotificationInboxRepository inboxRepository,
+            JdbcTemplate jdbcTemplate,
+            SocketIOService socketIOService,
+            NotificationMapper notificationMapper,
+            @Value("${notification.inbox.counter-cache-size:20000}") int counterCacheSize,
+            @Value("${notification.inbox.counter-ttl:1m}") Duration counterTtl) {
+        this.inboxRepository = inboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.socketIOService = socketIOService;
+        this.notificationMapper = notificationMapper;
+        this.counterTtlMillis = counterTtl.toMillis();
+        this.unread = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UnreadCounter> eldest) {
+                return size() > counterCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Add notifications delivered on IN_APP to their recipients' inboxes
+     * Recipients are pushed the notification and their new unread count once the batch commits.
+     * Entries that already exist (a resumed campaign re-sending a chunk) are left alone.
+     */
+    public void record(
+            List<Notification> notifications, NotificationCategory category, String title, String content) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        int size = notifications.size();
+        String[] ids = new String[size];
+        String[] recipientIds = new String[size];
+        String[] templateCodes = new String[size];
+        String[] priorities = new String[size];
+        for (int i = 0; i < size; i++) {
+            Notification notification = notifications.get(i);
+            ids[i] = notification.getId();
+            recipientIds[i] = notification.getRecipientId();
+            templateCodes[i] = notification.getNotificationTemplate() != null
+                    ? notification.getNotificationTemplate().getTemplateCode()
+                    : null;
+            priorities[i] =
+                    notification.getPriority() != null ? notification.getPriority().name() : null;
+        }
+
+        Set<String> inserted = Set.copyOf(jdbcTemplate.queryForList(
+                INSERT_BATCH,
+                String.class,
+                title,
+                content,
+                category != null ? category.name() : null,
+                LocalDateTime.now(),
+                ids,
+                recipientIds,
+                templateCodes,
+                priorities));
+        List<Notification> added = notifications.stream()
+                .filter(n -> inserted.contains(n.getId()))
+                .toList();
+
+        afterCommit(() -> {
+            for (Notification notification : added) {
+                AtomicLong count = cachedCount(notification.getRecipientId());
+                if (count != null) {
+                    count.incrementAndGet();
+                }
+            }
+            // Only members of the audience that are connected get a push; the rest read their inbox later
+            added.stream()
+                    .filter(notification -> socketIOService.isOnline(notification.getRecipientId()))
+                    .forEach(notification -> {
+                        socketIOService.emitNotificationToUser(
+                                notification.getRecipientId(), toResponse(notification, category, title, content));
+                        pushUnreadCount(notification.getRecipientId());
+                    });
+        });
+    }
+
+    /**
+     * Newest entries first; pass the id of the last entry received to get the next page
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDetailResponse> getInbox(String recipientId, String before, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<NotificationInboxEntry> entries = before == null || before.isBlank()
+                ? inboxRepository.findLatest(recipientId, limit)
+                : inboxRepository.findBefore(recipientId, before, limit);
+        return entries.stream().map(this::toResponse).toList();
+    }
+
+    /**
+     * Unread IN_APP notifications; only the first call for a user per counter-ttl reaches the database
+     */
+    public long getUnreadCount(String recipientId) {
+        AtomicLong count = cachedCount(recipientId);
+        if (count != null) {
+            return Math.max(count.get(), 0);
+        }
+        long loaded = inboxRepository.countByRecipientIdAndReadAtIsNull(recipientId);
+        unread.put(recipientId, new UnreadCounter(new AtomicLong(loaded), System.currentTimeMillis()));
+        return Math.max(loaded, 0);
+    }
+
+    /**
+     * Must run inside the transaction that marks the notification read
+     */
+    public void markRead(String recipientId, String notificationId, LocalDateTime readAt) {
+        if (inboxRepository.markRead(notificationId, readAt) == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            AtomicLong count = cachedCount(recipientId);
+            if (count != null) {
+                count.updateAndGet(c -> Math.max(c - 1, 0));
+            }
+            pushUnreadCount(recipientId);
+        });
+    }
+
+    public void markAllRead(String recipientId, LocalDateTime readAt) {
+        inboxRepository.markAllRead(recipientId, readAt);
+        afterCommit(() -> {
+            unread.put(recipientId, new UnreadCounter(new AtomicLong(0), System.currentTimeMillis()));
+            pushUnreadCount(recipientId);
+        });
+    }
+
+    public void remove(String recipientId, String notificationId) {
+        inboxRepository.findById(notificationId).ifPresent(entry -> {
+            inboxRepository.delete(entry);
+            if (entry.getReadAt() == null) {
+                afterCommit(() -> {
+                    AtomicLong count = cachedCount(recipientId);
+                    if (count != null) {
+                        count.updateAndGet(c -> Math.max(c - 1, 0));
+                    }
+                    pushUnreadCount(recipientId);
+                });
+            }
+        });
+    }
+
+    /**
+     * Drop entries whose notifications were retired with their partition
+     */
+    public void purgeBefore(LocalDateTime before) {
+        int purged = inboxRepository.deleteCreatedBefore(before);
+        if (purged > 0) {
+            unread.clear();
+            log.info("Purged {} inbox entries created before {}", purged, before);
+        }
+    }
+
+    /**
+     * Fill the inbox from notification logs the first time the application starts with it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (inboxRepository.count() > 0) {
+            return;
+        }
+        int filled = inboxRepository.backfillFromLogs();
+        if (filled > 0) {
+            log.info("Backfilled {} IN_APP notification(s) into the inbox", filled);
+        }
+    }
+
+    // Null when the user has no counter or it is due to be re-read
+    private AtomicLong cachedCount(String recipientId) {
+        UnreadCounter counter = unread.get(recipientId);
+        if (counter == null || System.currentTimeMillis() - counter.loadedAt() >= counterTtlMillis) {
+            return null;
+        }
+        return counter.count();
+    }
+
+    private void pushUnreadCount(String recipientId) {
+        socketIOService.emitToRoom(
+                "user:" + recipientId, UNREAD_EVENT, UNREAD_EVENT, Map.of("count", getUnreadCount(recipientId)));
+    }
+
+    private NotificationDetailResponse toResponse(
+            Notification notification, NotificationCategory category, String title, String content) {
+        NotificationDetailResponse response = notificationMapper.toDetailResponse(notification);
+        response.setStatus(NotificationStatus.SENT);
+        response.setCategory(category);
+        response.setTitle(title);
+        response.setContent(content);
+        response.setIsRead(false);
+        response.setLogs(List.of());
+        return response;
+    }
+
+    private NotificationDetailResponse toResponse(NotificationInboxEntry entry) {
+        return NotificationDetailResponse.builder()
+                .id(entry.getNotificationId())
+                .templateCode(entry.getTemplateCode())
+                .recipientId(entry.getRecipientId())
+                .category(entry.getCategory())
+                .priority(entry.getPriority())
+                .title(entry.getTitle())
+                .content(entry.getContent())
+                .isRead(entry.getReadAt() != null)
+                .readAt(entry.getReadAt())
+                .createdAt(entry.getCreatedAt())
+                .logs(List.of())
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record UnreadCounter(AtomicLong count, long loadedAt) {}
+}
@@ -0,0 +1,117 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theatermgnt.theatermgnt.notification.entity.NotificationLog;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationLogAppender - Buffers delivery logs and writes them in JDBC batches
+ * Dispatch only enqueues its logs; a flusher drains the buffer every few hundred milliseconds.
+ * When the buffer is full the caller flushes it itself, so a burst slows dispatch down instead of
+ * dropping logs. Logs still buffered when the JVM dies are lost; notification status is not.
+ */
+@Service
+@Slf4j
+public class NotificationLogAppender {
+    private static final String INSERT =
+            """
+		INSERT INTO notification_logs (id, notification_id, channel_name, status, provider_response, sent_at, created_at, updated_at, deleted)
+		VALUES (?, ?, ?, ?, ?::jsonb, ?, ?, ?, false)
+	""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<NotificationLog> buffer;
+    private final int batchSize;
+
+    public NotificationLogAppender(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${notification.log.buffer-size:10000}") int bufferSize,
+            @Value("${notification.log.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+    }
+
+    public void append(List<NotificationLog> logs) {
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationLog notificationLog : logs) {
+            notificationLog.setId(UUID.randomUUID().toString());
+            notificationLog.setCreatedAt(now);
+            notificationLog.setUpdatedAt(now);
+            while (!buffer.offer(notificationLog)) {
+                flush();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.log.flush-ms:500}")
+    public void flush() {
+        List<NotificationLog> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<NotificationLog> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, notificationLog) -> {
+                ps.setString(1, notificationLog.getId());
+                ps.setString(
+                        2,
+                        notificationLog.getNotification() != null
+                                ? notificationLog.getNotification().getId()
+                                : null);
+                ps.setString(3, notificationLog.getChannelName());
+                ps.setString(4, notificationLog.getStatus());
+                ps.setString(5, toJson(notificationLog));
+                ps.setTimestamp(6, toTimestamp(notificationLog.getSentAt()));
+                ps.setTimestamp(7, toTimestamp(notificationLog.getCreatedAt()));
+                ps.setTimestamp(8, toTimestamp(notificationLog.getUpdatedAt()));
+            });
+        } catch (Exception e) {
+            log.error("Failed to write {} notification log(s)", batch.size(), e);
+        }
+    }
+
+    private String toJson(NotificationLog notificationLog) {
+        if (notificationLog.getProviderResponse() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(notificationLog.getProviderResponse());
+        } catch (JsonProcessingException e) {
+            log.warn("Unserializable provider response on {} log: {}", notificationLog.getChannelName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
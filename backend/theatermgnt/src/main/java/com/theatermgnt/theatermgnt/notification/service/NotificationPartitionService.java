@@ -0,0 +1,205 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationPartitionService - Monthly range partitions for notifications and notification_logs
+ * Both tables are partitioned on created_at, so recent reads prune to one or two partitions and
+ * retention removes a whole month at a time instead of deleting rows. Partitions are created a few
+ * months ahead; there is no default partition, so maintenance has to keep running.
+ */
+@Service
+@Slf4j
+public class NotificationPartitionService {
+    // Order matters: converting notifications drops the log -> notification foreign key first
+    private static final List<String> TABLES = List.of("notifications", "notification_logs");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String ARCHIVE_SCHEMA = "notification_archive";
+
+    private static final Map<String, List<String>> INDEXES = Map.of(
+            "notifications",
+            List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created "
+                            + "ON notifications (recipient_id, created_at DESC)",
+                    "CREATE INDEX IF NOT EXISTS idx_notifications_campaign_recipient "
+                            + "ON notifications (campaign_id, recipient_id) WHERE campaign_id IS NOT NULL"),
+            "notification_logs",
+            List.of(
+                    "CREATE INDEX IF NOT EXISTS idx_notification_logs_notification "
+                            + "ON notification_logs (notification_id)",
+                    "CREATE INDEX IF NOT EXISTS idx_notification_logs_created "
+                            + "ON notification_logs (created_at DESC, id DESC)"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationInboxService inboxService;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean archive;
+
+    public NotificationPartitionService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            NotificationInboxService inboxService,
+            @Value("${notification.partition.months-ahead:3}") int monthsAhead,
+            @Value("${notification.retention.months:12}") int retentionMonths,
+            @Value("${notification.retention.archive:false}") boolean archive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.inboxService = inboxService;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archive = archive;
+    }
+
+    /**
+     * Turn the plain tables ddl-auto created into partitioned ones, once
+     */
+    public void partitionTables() {
+        for (String table : TABLES) {
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table)
+                    && !isPartitioned(table)) {
+                transactionTemplate.executeWithoutResult(status -> convert(table));
+            }
+            INDEXES.get(table).forEach(jdbcTemplate::execute);
+        }
+        ensurePartitions();
+    }
+
+    /**
+     * Create the coming months' partitions and retire the ones past retention
+     */
+    @Scheduled(cron = "${notification.partition.maintenance-cron:0 45 3 * * *}")
+    public void maintain() {
+        try {
+            ensurePartitions();
+            applyRetention();
+        } catch (Exception e) {
+            log.error("Notification partition maintenance failed", e);
+        }
+    }
+
+    private void convert(String table) {
+        String legacy = table + "_unpartitioned";
+        long startedAt = System.currentTimeMillis();
+
+        jdbcTemplate.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.update("UPDATE " + table + " SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL");
+
+        // A foreign key can't reference a partitioned table by id alone
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname, conrelid::regclass::text AS referencing FROM pg_constraint "
+                        + "WHERE contype = 'f' AND confrelid = to_regclass(?)",
+                table);
+        for (Map<String, Object> fk : foreignKeys) {
+            jdbcTemplate.execute(
+                    "ALTER TABLE " + fk.get("referencing") + " DROP CONSTRAINT \"" + fk.get("conname") + "\"");
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + legacy);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE " + legacy + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) "
+                + "PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN created_at SET NOT NULL, "
+                + "ALTER COLUMN created_at SET DEFAULT now(), ADD PRIMARY KEY (id, created_at)");
+
+        LocalDate oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at)::date FROM " + legacy, LocalDate.class);
+        YearMonth from = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        for (YearMonth month = from; !month.isAfter(YearMonth.now().plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            createPartition(table, month);
+        }
+
+        int copied = jdbcTemplate.update("INSERT INTO " + table + " SELECT * FROM " + legacy);
+        jdbcTemplate.execute("DROP TABLE " + legacy);
+        log.info(
+                "Partitioned {} by month: {} row(s) moved in {} ms",
+                table,
+                copied,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    private void ensurePartitions() {
+        for (String table : TABLES) {
+            if (!isPartitioned(table)) {
+                continue;
+            }
+            YearMonth now = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(table, now.plusMonths(i));
+            }
+        }
+    }
+
+    private void applyRetention() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        for (String table : TABLES) {
+            if (!isPartitioned(table)) {
+                continue;
+            }
+            List<String> partitions = jdbcTemplate.queryForList(
+                    "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                            + "WHERE i.inhparent = to_regclass(?)",
+                    String.class,
+                    table);
+            for (String partition : partitions) {
+                YearMonth month = monthOf(table, partition);
+                if (month == null || !month.isBefore(cutoff)) {
+                    continue;
+                }
+                if (archive) {
+                    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+                    jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+                    jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+                    log.info("Archived partition {} to schema {}", partition, ARCHIVE_SCHEMA);
+                } else {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    log.info("Dropped partition {}", partition);
+                }
+            }
+        }
+        inboxService.purgeBefore(cutoff.atDay(1).atStartOfDay());
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, month) + " PARTITION OF " + table
+                + " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+    }
+
+    private boolean isPartitioned(String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class,
+                table);
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+
+    private static YearMonth monthOf(String table, String partition) {
+        String prefix = table + "_p";
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(prefix.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
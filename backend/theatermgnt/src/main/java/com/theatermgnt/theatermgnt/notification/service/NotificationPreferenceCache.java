@@ -0,0 +1,189 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.theatermgnt.theatermgnt.notification.entity.NotificationChannel;
+import com.theatermgnt.theatermgnt.notification.entity.NotificationPreference;
+import com.theatermgnt.theatermgnt.notification.enums.NotificationCategory;
+import com.theatermgnt.theatermgnt.notification.repository.NotificationChannelRepository;
+import com.theatermgnt.theatermgnt.notification.repository.NotificationPreferenceRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * NotificationPreferenceCache - Cached preference lookups for dispatch
+ * Each channel gets a slot of one bit per NotificationCategory, so a user's whole (channel, category)
+ * matrix fits in one long and a dispatch decision is a bit test. Users are loaded in bulk for a batch
+ * and evicted when their preferences change; channels are reloaded every few minutes. An eviction only
+ * reaches the node that saved the change, so other nodes re-read a mask once it is older than mask-ttl.
+ */
+@Service
+@Slf4j
+public class NotificationPreferenceCache {
+    private static final int CATEGORIES = NotificationCategory.values().length;
+    private static final int MAX_CHANNELS = Long.SIZE / CATEGORIES;
+    // No preference row means enabled
+    private static final long ALL_ENABLED = -1L;
+
+    private final NotificationChannelRepository channelRepository;
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final long channelRefreshMs;
+    private final long maskTtlMillis;
+    private final Map<String, CachedMask> masks;
+
+    private volatile ChannelIndex channels;
+
+    public NotificationPreferenceCache(
+            NotificationChannelRepository channelRepository,
+            NotificationPreferenceRepository preferenceRepository,
+            @Value("${notification.preference.cache-size:50000}") int cacheSize,
+            @Value("${notification.preference.channel-refresh-ms:300000}") long channelRefreshMs,
+            @Value("${notification.preference.mask-ttl:1m}") Duration maskTtl) {
+        this.channelRepository = channelRepository;
+        this.preferenceRepository = preferenceRepository;
+        this.channelRefreshMs = channelRefreshMs;
+        this.maskTtlMillis = maskTtl.toMillis();
+        this.masks = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedMask> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public boolean isEnabled(String recipientId, String channelName, NotificationCategory category) {
+        return isEnabled(loadMasks(List.of(recipientId)).get(recipientId), channelName, category);
+    }
+
+    /**
+     * Bit test against a mask from loadMasks; inactive or unknown channels are never enabled
+     */
+    public boolean isEnabled(long mask, String channelName, NotificationCategory category) {
+        ChannelIndex index = channelIndex();
+        Integer slot = index.slots.get(channelName);
+        if (slot == null || (index.activeSlots & (1L << slot)) == 0) {
+            return false;
+        }
+        return (mask & bit(slot, category)) != 0;
+    }
+
+    public boolean isChannelActive(String channelName) {
+        ChannelIndex index = channelIndex();
+        Integer slot = index.slots.get(channelName);
+        return slot != null && (index.activeSlots & (1L << slot)) != 0;
+    }
+
+    /**
+     * Masks for a batch of recipients, cache misses are loaded with one query
+     */
+    public Map<String, Long> loadMasks(Collection<String> recipientIds) {
+        Map<String, Long> result = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        long now = System.currentTimeMillis();
+        for (String recipientId : recipientIds) {
+            CachedMask cached = masks.get(recipientId);
+            if (cached != null && now - cached.loadedAt() < maskTtlMillis) {
+                result.put(recipientId, cached.mask());
+            } else {
+                missing.add(recipientId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        ChannelIndex index = channelIndex();
+        Map<String, Long> loaded = new HashMap<>();
+        missing.forEach(id -> loaded.put(id, ALL_ENABLED));
+        for (NotificationPreference preference : preferenceRepository.findDisabledByRecipients(missing)) {
+            Integer slot = index.slots.get(preference.getChannel().getName());
+            if (slot != null) {
+                loaded.merge(preference.getRecipientId(), ~bit(slot, preference.getCategory()), (a, b) -> a & b);
+            }
+        }
+        loaded.forEach((recipientId, mask) -> masks.put(recipientId, new CachedMask(mask, now)));
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * Drop a recipient now and again once the surrounding transaction commits,
+     * so a concurrent reload can't cache the pre-commit state
+     */
+    public void evict(String recipientId) {
+        masks.remove(recipientId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    masks.remove(recipientId);
+                }
+            });
+        }
+    }
+
+    private ChannelIndex channelIndex() {
+        ChannelIndex index = channels;
+        if (index == null || System.currentTimeMillis() - index.loadedAt > channelRefreshMs) {
+            index = loadChannels();
+            // Slots may move when channels are added, so cached masks go with the old index
+            if (channels != null && !channels.slots.equals(index.slots)) {
+                masks.clear();
+            }
+            channels = index;
+        }
+        return index;
+    }
+
+    private ChannelIndex loadChannels() {
+        List<NotificationChannel> all = channelRepository.findAll().stream()
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .toList();
+        if (all.size() > MAX_CHANNELS) {
+            log.warn("{} notification channels exceed the {} that fit in a preference mask", all.size(), MAX_CHANNELS);
+        }
+
+        Map<String, Integer> slots = new HashMap<>();
+        long active = 0;
+        for (int i = 0; i < Math.min(all.size(), MAX_CHANNELS); i++) {
+            NotificationChannel channel = all.get(i);
+            slots.put(channel.getName(), i);
+            if (Boolean.TRUE.equals(channel.getIsActive())) {
+                active |= 1L << i;
+            }
+        }
+        return new ChannelIndex(slots, active, System.currentTimeMillis());
+    }
+
+    private static long bit(int slot, NotificationCategory category) {
+        return 1L << (slot * CATEGORIES + category.ordinal());
+    }
+
+    private record CachedMask(long mask, long loadedAt) {}
+
+    private static final class ChannelIndex {
+        final Map<String, Integer> slots;
+        // Bit i set when the channel in slot i is active
+        final long activeSlots;
+        final long loadedAt;
+
+        ChannelIndex(Map<String, Integer> slots, long activeSlots, long loadedAt) {
+            this.slots = slots;
+            this.activeSlots = activeSlots;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -33,6 +33,7 @@ public class NotificationPreferenceService {
     NotificationPreferenceRepository preferenceRepository;
     NotificationChannelRepository channelRepository;
     NotificationPreferenceMapper preferenceMapper;
+    NotificationPreferenceCache preferenceCache;
 
     @Transactional(readOnly = true)
     public List<NotificationPreferenceResponse> getUserPreferences(String recipientId) {
@@ -61,6 +62,7 @@ public class NotificationPreferenceService {
 
         NotificationPreference preference = preferenceMapper.toEntity(request, channel);
         NotificationPreference saved = preferenceRepository.save(preference);
+        preferenceCache.evict(request.getRecipientId());
 
         log.info("Preference created successfully");
         return preferenceMapper.toResponse(saved);
@@ -84,6 +86,7 @@ public class NotificationPreferenceService {
 
         preference.setIsEnabled(request.getIsEnabled());
         NotificationPreference updated = preferenceRepository.save(preference);
+        preferenceCache.evict(request.getRecipientId());
 
         log.info("Preference updated successfully");
         return preferenceMapper.toResponse(updated);
@@ -91,27 +94,10 @@ public class NotificationPreferenceService {
 
     /**
      * Check if a channel is enabled for a user and category
-     * CRITICAL method used by NotificationDispatcher
+     * Answered from NotificationPreferenceCache; no preference row means enabled
      */
-    @Transactional(readOnly = true)
     public boolean isChannelEnabledForUser(String recipientId, String channelName, NotificationCategory category) {
-        log.debug(
-                "Checking if channel {} is enabled for recipient: {}, category: {}",
-                channelName,
-                recipientId,
-                category);
-
-        NotificationChannel channel = channelRepository.findByName(channelName).orElse(null);
-
-        if (channel == null || !channel.getIsActive()) {
-            log.debug("Channel {} not found or inactive", channelName);
-            return false;
-        }
-
-        return preferenceRepository
-                .findByRecipientIdAndChannelAndCategory(recipientId, channel, category)
-                .map(NotificationPreference::getIsEnabled)
-                .orElse(true); // Default to enabled if no preference set
+        return preferenceCache.isEnabled(recipientId, channelName, category);
     }
 
     /**
@@ -135,6 +121,7 @@ public class NotificationPreferenceService {
                 createDefaultPreferences(recipientId, recipientType, activeChannels);
 
         preferenceRepository.saveAll(defaultPreferences);
+        preferenceCache.evict(recipientId);
 
         log.info("Created {} default preferences for recipient: {}", defaultPreferences.size(), recipientId);
     }
@@ -147,6 +134,7 @@ public class NotificationPreferenceService {
                 preferenceRepository.findById(id).orElseThrow(() -> new AppException(ErrorCode.PREFERENCE_NOT_FOUND));
 
         preferenceRepository.delete(preference);
+        preferenceCache.evict(preference.getRecipientId());
         log.info("Preference deleted successfully");
     }
 
@@ -0,0 +1,164 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.notification.dto.request.NotificationSegment;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * NotificationSegmentService - Resolves a NotificationSegment to customer account ids
+ * The segment is evaluated in the database one keyset chunk at a time (account ids after the last one
+ * handed out), so a campaign never holds more than a chunk of its audience and resumes from its
+ * checkpoint like any other campaign.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationSegmentService {
+    // %s: booking filter, %s: customer filter
+    private static final String SEGMENT =
+            """
+		SELECT c.account_id
+		FROM customers c
+		JOIN accounts a ON a.id = c.account_id
+		%s
+		WHERE a.is_active = true AND a.deleted = false AND c.deleted = false
+			%s
+	""";
+
+    // Bookings, and their tickets, matching the screening criteria for one customer
+    private static final String HISTORY =
+            """
+		JOIN LATERAL (
+			SELECT COUNT(DISTINCT b.id) AS bookings, COUNT(tk.id) AS tickets
+			FROM bookings b
+			JOIN screenings s ON s.id = b.screening_id
+			JOIN rooms r ON r.id = s.room_id
+			JOIN cinemas ci ON ci.id = r.cinema_id
+			JOIN movies m ON m.id = s.movie_id
+			LEFT JOIN tickets tk ON tk.booking_id = b.id
+			WHERE b.customer_id = c.id AND b.status = 'PAID'
+				%s
+		) h ON TRUE
+	""";
+
+    NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Fix relative criteria so every chunk of a campaign sees the same audience, and reject empty ranges
+     */
+    public NotificationSegment normalize(NotificationSegment segment) {
+        if (segment.getWatchedWithinDays() != null && segment.getWatchedFrom() == null) {
+            segment.setWatchedFrom(LocalDate.now().minusDays(segment.getWatchedWithinDays()));
+        }
+        segment.setWatchedWithinDays(null);
+        if (segment.getWatchedFrom() != null
+                && segment.getWatchedTo() != null
+                && segment.getWatchedFrom().isAfter(segment.getWatchedTo())) {
+            throw new AppException(ErrorCode.INVALID_SEGMENT);
+        }
+        if (segment.getMinLoyaltyPoints() != null
+                && segment.getMaxLoyaltyPoints() != null
+                && segment.getMinLoyaltyPoints() > segment.getMaxLoyaltyPoints()) {
+            throw new AppException(ErrorCode.INVALID_SEGMENT);
+        }
+        return segment;
+    }
+
+    public long count(NotificationSegment segment) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT COUNT(*) FROM (" + build(segment, params) + ") audience";
+        Long count = namedJdbcTemplate.queryForObject(sql, params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Next chunk of the audience in account id order
+     */
+    public List<String> findRecipientsAfter(NotificationSegment segment, String afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId != null ? afterId : "")
+                .addValue("limit", limit);
+        String sql = build(segment, params) + " AND c.account_id > :afterId ORDER BY c.account_id LIMIT :limit";
+        return namedJdbcTemplate.queryForList(sql, params, String.class);
+    }
+
+    private static String build(NotificationSegment segment, MapSqlParameterSource params) {
+        List<String> screening = new ArrayList<>();
+        if (notEmpty(segment.getMovieIds())) {
+            screening.add("s.movie_id IN (:movieIds)");
+            params.addValue("movieIds", segment.getMovieIds());
+        }
+        if (segment.getMovieTitleContains() != null && !segment.getMovieTitleContains().isBlank()) {
+            screening.add("m.title ILIKE :movieTitle");
+            params.addValue("movieTitle", "%" + escapeLike(segment.getMovieTitleContains().trim()) + "%");
+        }
+        if (notEmpty(segment.getGenreIds())) {
+            screening.add("EXISTS (SELECT 1 FROM movie_genres mg WHERE mg.movie_id = m.id AND mg.genre_id IN (:genreIds))");
+            params.addValue("genreIds", segment.getGenreIds());
+        }
+        if (notEmpty(segment.getCinemaIds())) {
+            screening.add("r.cinema_id IN (:cinemaIds)");
+            params.addValue("cinemaIds", segment.getCinemaIds());
+        }
+        if (notEmpty(segment.getCities())) {
+            screening.add("LOWER(ci.city) IN (:cities)");
+            params.addValue(
+                    "cities", segment.getCities().stream().map(String::toLowerCase).toList());
+        }
+        if (segment.getWatchedFrom() != null) {
+            screening.add("s.start_time >= :watchedFrom");
+            params.addValue("watchedFrom", segment.getWatchedFrom().atStartOfDay());
+        }
+        if (segment.getWatchedTo() != null) {
+            screening.add("s.start_time < :watchedTo");
+            params.addValue("watchedTo", segment.getWatchedTo().plusDays(1).atStartOfDay());
+        }
+
+        List<String> customer = new ArrayList<>();
+        boolean history = !screening.isEmpty() || segment.getMinBookings() != null || segment.getMinTickets() != null;
+        if (history) {
+            customer.add("h.bookings >= :minBookings");
+            params.addValue("minBookings", segment.getMinBookings() != null ? segment.getMinBookings() : 1);
+            if (segment.getMinTickets() != null) {
+                customer.add("h.tickets >= :minTickets");
+                params.addValue("minTickets", segment.getMinTickets());
+            }
+        }
+        if (segment.getMinLoyaltyPoints() != null) {
+            customer.add("c.loyalty_points >= :minPoints");
+            params.addValue("minPoints", segment.getMinLoyaltyPoints());
+        }
+        if (segment.getMaxLoyaltyPoints() != null) {
+            customer.add("c.loyalty_points <= :maxPoints");
+            params.addValue("maxPoints", segment.getMaxLoyaltyPoints());
+        }
+
+        String historyJoin = history ? HISTORY.formatted(and(screening)) : "";
+        return SEGMENT.formatted(historyJoin, and(customer)).strip();
+    }
+
+    private static String and(List<String> conditions) {
+        return conditions.stream().map(condition -> "AND " + condition).collect(Collectors.joining(" "));
+    }
+
+    private static boolean notEmpty(List<String> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
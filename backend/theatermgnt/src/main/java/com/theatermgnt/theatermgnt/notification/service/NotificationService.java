@@ -1,5 +1,6 @@
 package com.theatermgnt.theatermgnt.notification.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -10,6 +11,7 @@ import java.util.stream.Collectors;
 import com.theatermgnt.theatermgnt.notification.dto.request.CreateNotificationRequest;
 import com.theatermgnt.theatermgnt.notification.enums.Priority;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,7 +49,12 @@ public class NotificationService {
     NotificationTemplateService templateService;
     NotificationDispatcher dispatcher;
     NotificationMapper notificationMapper;
-    SocketIOService socketIOService;
+    NotificationInboxService inboxService;
+    NotificationDigestService digestService;
+
+    private static final int DISPATCH_BATCH_SIZE = 200;
+    private static final int LOG_WINDOW_DAYS = 31;
+    private static final int MAX_LOG_PAGE_SIZE = 200;
 
     /**
      * Create and send notifications to one or multiple recipients
@@ -77,6 +84,12 @@ public class NotificationService {
         baseMetadata.put("title", title);
         baseMetadata.put("content", content);
 
+        // Low-priority notifications in a digest category wait to be merged per recipient
+        boolean digest = digestService.shouldDigest(request.getCategory(), request.getPriority());
+        if (digest) {
+            digestService.markHeld(baseMetadata, request.getChannels());
+        }
+
         // 5. Create notifications for all recipients
         List<Notification> notifications = new ArrayList<>();
         for (String recipientId : request.getRecipientIds()) {
@@ -95,28 +108,19 @@ public class NotificationService {
         List<Notification> savedNotifications = notificationRepository.saveAll(notifications);
         log.info("Created {} notification(s)", savedNotifications.size());
 
-        // 7. Dispatch to channels and emit Socket.IO for each notification
-        for (Notification saved : savedNotifications) {
-            // Dispatch asynchronously
-            dispatcher.dispatch(saved.getId(), request.getChannels(), saved.getMetadata());
-            
-            // Emit to Socket.IO for IN_APP channel
-            if (request.getChannels().contains("IN_APP")) {
-                NotificationDetailResponse response = notificationMapper.toDetailResponse(saved);
-                if (saved.getMetadata() != null) {
-                    if (saved.getMetadata().containsKey("category")) {
-                        response.setCategory(NotificationCategory.valueOf(
-                                (String) saved.getMetadata().get("category")));
-                    }
-                    if (saved.getMetadata().containsKey("title")) {
-                        response.setTitle((String) saved.getMetadata().get("title"));
-                    }
-                    if (saved.getMetadata().containsKey("content")) {
-                        response.setContent((String) saved.getMetadata().get("content"));
-                    }
-                }
-                response.setIsRead(false);
-                socketIOService.emitNotificationToUser(saved.getRecipientId(), response);
+        // 7. Dispatch in batches on the notification executor; IN_APP deliveries are pushed from the inbox
+        if (digest) {
+            digestService.hold(savedNotifications, request.getChannels(), request.getCategory());
+        } else {
+            for (int i = 0; i < savedNotifications.size(); i += DISPATCH_BATCH_SIZE) {
+                dispatcher.dispatchBatchAsync(
+                        List.copyOf(savedNotifications.subList(
+                                i, Math.min(i + DISPATCH_BATCH_SIZE, savedNotifications.size()))),
+                        request.getChannels(),
+                        request.getCategory(),
+                        title,
+                        content,
+                        baseMetadata);
             }
         }
 
@@ -148,11 +152,10 @@ public class NotificationService {
     }
 
     /**
-     * Get unread notification count for a user
+     * Get unread in-app notification count for a user
      */
-    @Transactional(readOnly = true)
     public Long getUnreadCount(String userId) {
-        return notificationRepository.countByRecipientIdAndReadAtIsNull(userId);
+        return inboxService.getUnreadCount(userId);
     }
 
     /**
@@ -162,17 +165,17 @@ public class NotificationService {
     public NotificationDetailResponse markAsRead(String notificationId) {
         log.info("Marking notification as read: {}", notificationId);
 
-        Notification notification = notificationRepository
-                .findById(notificationId)
-                .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
+        Notification notification = findNotification(notificationId);
 
         if (notification.getReadAt() == null) {
             notification.setReadAt(LocalDateTime.now());
             notificationRepository.save(notification);
+            inboxService.markRead(notification.getRecipientId(), notificationId, notification.getReadAt());
             log.info("Notification marked as read: {}", notificationId);
         }
 
-        List<NotificationLog> logs = logRepository.findByNotificationOrderBySentAtDesc(notification);
+        List<NotificationLog> logs = logRepository.findByNotificationAndCreatedAtGreaterThanEqualOrderBySentAtDesc(
+                notification, notification.getCreatedAt());
         return toNotificationDetailResponse(notification, logs);
     }
 
@@ -183,39 +186,19 @@ public class NotificationService {
     public void markAllAsRead(String userId) {
         log.info("Marking all notifications as read for user: {}", userId);
 
-        List<Notification> unreadNotifications = notificationRepository.findByRecipientIdAndReadAtIsNull(userId);
-
         LocalDateTime now = LocalDateTime.now();
-        unreadNotifications.forEach(notification -> notification.setReadAt(now));
-
-        notificationRepository.saveAll(unreadNotifications);
-        log.info("Marked {} notifications as read for user: {}", unreadNotifications.size(), userId);
+        int marked = notificationRepository.markAllRead(userId, now);
+        inboxService.markAllRead(userId, now);
+        log.info("Marked {} notifications as read for user: {}", marked, userId);
     }
 
     /**
-     * Get in-app notifications for a user (notifications with IN_APP channel)
+     * Get in-app notifications for a user from the inbox, newest first
+     * Pass the id of the last notification received as before to get the next page
      */
-    @Transactional(readOnly = true)
-    public List<NotificationDetailResponse> getInAppNotifications(String userId) {
-        log.debug("Getting in-app notifications for user: {}", userId);
-
-        // Get all notifications for user, then filter by IN_APP channel in logs
-        List<Notification> allNotifications =
-                notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId);
-
-        return allNotifications.stream()
-                .filter(notification -> {
-                    // Check if any log has IN_APP channel
-                    List<NotificationLog> logs = logRepository.findByNotificationOrderBySentAtDesc(notification);
-                    return logs.stream()
-                            .anyMatch(log ->
-                                    log.getChannelName() != null && "IN_APP".equals(log.getChannelName()));
-                })
-                .map(notification -> {
-                    List<NotificationLog> logs = logRepository.findByNotificationOrderBySentAtDesc(notification);
-                    return toNotificationDetailResponse(notification, logs);
-                })
-                .collect(Collectors.toList());
+    public List<NotificationDetailResponse> getInAppNotifications(String userId, String before, int size) {
+        log.debug("Getting in-app notifications for user: {} before: {}", userId, before);
+        return inboxService.getInbox(userId, before, size);
     }
 
     /**
@@ -225,11 +208,10 @@ public class NotificationService {
     public NotificationDetailResponse getNotificationDetail(String notificationId) {
         log.debug("Getting notification detail: {}", notificationId);
 
-        Notification notification = notificationRepository
-                .findById(notificationId)
-                .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
+        Notification notification = findNotification(notificationId);
 
-        List<NotificationLog> logs = logRepository.findByNotificationOrderBySentAtDesc(notification);
+        List<NotificationLog> logs = logRepository.findByNotificationAndCreatedAtGreaterThanEqualOrderBySentAtDesc(
+                notification, notification.getCreatedAt());
 
         return toNotificationDetailResponse(notification, logs);
     }
@@ -250,23 +232,34 @@ public class NotificationService {
     public void deleteNotification(String notificationId) {
         log.info("Deleting notification: {}", notificationId);
 
-        Notification notification = notificationRepository
-                .findById(notificationId)
-                .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
+        Notification notification = findNotification(notificationId);
 
         notificationRepository.delete(notification);
+        inboxService.remove(notification.getRecipientId(), notificationId);
         log.info("Notification deleted: {}", notificationId);
     }
 
     /**
-     * Get all notification logs (Admin API)
-     * Returns all logs with notification details
+     * Get notification logs newest first, one keyset page at a time (Admin API)
+     * Without a from date only the month before the page's upper bound is searched, so each page
+     * touches the latest one or two partitions. Pass the id of the last log received as before.
      */
     @Transactional(readOnly = true)
-    public List<NotificationLogDetailResponse> getAllNotificationLogs() {
-        log.info("Getting all notification logs");
+    public List<NotificationLogDetailResponse> getNotificationLogs(
+            LocalDateTime from, LocalDateTime to, String before, int size) {
+        LocalDateTime upper = to != null ? to : LocalDateTime.now();
+        String beforeId = "";
+        if (before != null && !before.isBlank()) {
+            NotificationLog cursor =
+                    logRepository.findById(before).orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
+            upper = cursor.getCreatedAt();
+            beforeId = cursor.getId();
+        }
+        LocalDateTime lower = from != null ? from : upper.minusDays(LOG_WINDOW_DAYS);
+        log.info("Getting notification logs between {} and {}", lower, upper);
 
-        List<NotificationLog> logs = logRepository.findAllWithNotificationOrderBySentAtDesc();
+        List<NotificationLog> logs = logRepository.findPage(
+                lower, upper, beforeId, PageRequest.of(0, Math.max(1, Math.min(size, MAX_LOG_PAGE_SIZE))));
 
         return logs.stream().map(this::toLogDetailResponse).collect(Collectors.toList());
     }
@@ -298,6 +291,17 @@ public class NotificationService {
         log.info("Notification log deleted: {}", logId);
     }
 
+    /**
+     * Look in this and last month's partitions first, where nearly every lookup lands
+     */
+    private Notification findNotification(String notificationId) {
+        LocalDateTime since = LocalDate.now().withDayOfMonth(1).minusMonths(1).atStartOfDay();
+        return notificationRepository
+                .findRecentById(notificationId, since)
+                .or(() -> notificationRepository.findById(notificationId))
+                .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_FOUND));
+    }
+
     /**
      * Private helper method to convert entity to response DTO
      */
@@ -1,13 +1,18 @@
 package com.theatermgnt.theatermgnt.notification.service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.jsoup.Jsoup;
 import org.jsoup.safety.Safelist;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.theatermgnt.theatermgnt.common.exception.AppException;
 import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
@@ -18,12 +23,10 @@ import com.theatermgnt.theatermgnt.notification.mapper.NotificationTemplateMappe
 import com.theatermgnt.theatermgnt.notification.repository.NotificationTemplateRepository;
 
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public class NotificationTemplateService {
@@ -31,6 +34,22 @@ public class NotificationTemplateService {
     NotificationTemplateMapper templateMapper;
     EmailTemplateFactory emailTemplateFactory;
 
+    // templateCode -> compiled title and content, evicted on update and delete; other nodes only see the
+    // change once their copy is older than compiled-ttl
+    Map<String, CompiledNotificationTemplate> compiledTemplates = new ConcurrentHashMap<>();
+    long compiledTtlMillis;
+
+    public NotificationTemplateService(
+            NotificationTemplateRepository templateRepository,
+            NotificationTemplateMapper templateMapper,
+            EmailTemplateFactory emailTemplateFactory,
+            @Value("${notification.template.compiled-ttl:1m}") Duration compiledTtl) {
+        this.templateRepository = templateRepository;
+        this.templateMapper = templateMapper;
+        this.emailTemplateFactory = emailTemplateFactory;
+        this.compiledTtlMillis = compiledTtl.toMillis();
+    }
+
     /**
      * Sanitize HTML content to prevent XSS attacks
      * Allows common HTML tags used in email templates while removing dangerous elements
@@ -117,6 +136,7 @@ public class NotificationTemplateService {
         // Validate content size
         validateContentSize(request.getContentTemplate());
 
+        evictCompiled(template.getTemplateCode());
         templateMapper.updateEntity(template, request);
 
         // Sanitize HTML content before saving
@@ -158,49 +178,64 @@ public class NotificationTemplateService {
                 templateRepository.findById(id).orElseThrow(() -> new AppException(ErrorCode.TEMPLATE_NOT_FOUND));
 
         templateRepository.delete(template);
+        evictCompiled(template.getTemplateCode());
         log.info("Template deleted successfully: {}", id);
     }
 
     /**
      * Render template with variables
-     * Uses existing EmailTemplateFactory for HTML rendering
+     * The template is compiled once per templateCode and rendered in a single pass
      */
     public String renderTemplate(String templateCode, Map<String, Object> variables) {
         log.debug("Rendering template: {} with variables", templateCode);
-
-        NotificationTemplate template = getTemplateByCode(templateCode);
-
-        // Use EmailTemplateFactory to render content
-        // Note: EmailTemplateFactory uses EmailType enum, so we need to map templateCode to EmailType
-        // For now, we'll use the contentTemplate directly with simple variable replacement
-        String content = template.getContentTemplate();
-
-        // Simple variable replacement for now
-        // TODO: Enhance with more sophisticated template engine if needed
-        if (variables != null) {
-            for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                String placeholder = "{{" + entry.getKey() + "}}";
-                content = content.replace(placeholder, String.valueOf(entry.getValue()));
-            }
-        }
-
-        return content;
+        return getCompiled(templateCode).content.render(variables);
     }
 
     /**
      * Render title template with variables
      */
     public String renderTitle(String templateCode, Map<String, Object> variables) {
-        NotificationTemplate template = getTemplateByCode(templateCode);
-        String title = template.getTitleTemplate();
+        return getCompiled(templateCode).title.render(variables);
+    }
 
-        if (variables != null) {
-            for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                String placeholder = "{{" + entry.getKey() + "}}";
-                title = title.replace(placeholder, String.valueOf(entry.getValue()));
-            }
+    private CompiledNotificationTemplate getCompiled(String templateCode) {
+        CompiledNotificationTemplate compiled = compiledTemplates.get(templateCode);
+        long now = System.currentTimeMillis();
+        if (compiled == null || now - compiled.compiledAt >= compiledTtlMillis) {
+            NotificationTemplate template = getTemplateByCode(templateCode);
+            compiled = new CompiledNotificationTemplate(
+                    CompiledTemplate.compile(template.getTitleTemplate()),
+                    CompiledTemplate.compile(template.getContentTemplate()),
+                    now);
+            compiledTemplates.put(templateCode, compiled);
         }
+        return compiled;
+    }
 
-        return title;
+    /**
+     * Evict now and again after commit, so a render racing the update can't cache the old version
+     */
+    private void evictCompiled(String templateCode) {
+        compiledTemplates.remove(templateCode);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    compiledTemplates.remove(templateCode);
+                }
+            });
+        }
+    }
+
+    private static final class CompiledNotificationTemplate {
+        final CompiledTemplate title;
+        final CompiledTemplate content;
+        final long compiledAt;
+
+        CompiledNotificationTemplate(CompiledTemplate title, CompiledTemplate content, long compiledAt) {
+            this.title = title;
+            this.content = content;
+            this.compiledAt = compiledAt;
+        }
     }
 }
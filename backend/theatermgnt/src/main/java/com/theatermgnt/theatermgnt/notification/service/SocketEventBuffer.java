@@ -0,0 +1,131 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SocketEventBuffer - Coalesces Socket.IO events per room into short batches
+ * Events are held for one window (or until a room has max-batch of them) and leave as a single
+ * frame: a lone event keeps its own name, several go out together as BATCH_EVENT. An event queued
+ * with a key replaces the pending event with the same key in that room, so a burst of seat or
+ * dashboard updates only sends the latest state. Each frame is serialized once for the whole room.
+ */
+@Service
+@Slf4j
+public class SocketEventBuffer {
+    public static final String BATCH_EVENT = "events:batch";
+
+    private final SocketIOServer socketServer;
+    private final ObjectMapper objectMapper;
+    private final int maxBatch;
+    private final ConcurrentMap<String, RoomBatch> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public SocketEventBuffer(
+            SocketIOServer socketServer,
+            ObjectMapper objectMapper,
+            @Value("${socketio.coalesce.window-ms:50}") long windowMs,
+            @Value("${socketio.coalesce.max-batch:200}") int maxBatch) {
+        this.socketServer = socketServer;
+        this.objectMapper = objectMapper;
+        this.maxBatch = maxBatch;
+        // Own thread: the shared scheduler runs long jobs that would stretch the window
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("socketio-flush").daemon().factory());
+        this.flusher.scheduleWithFixedDelay(this::flush, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue an event for a room; a non-null key supersedes the room's pending event with the same key
+     */
+    public void add(String roomName, String eventName, String key, Object payload) {
+        SocketEvent event = new SocketEvent(eventName, payload);
+        while (true) {
+            RoomBatch batch = pending.computeIfAbsent(roomName, room -> new RoomBatch());
+            int size;
+            synchronized (batch) {
+                if (batch.closed) {
+                    // Flushed between lookup and lock, take a fresh one
+                    continue;
+                }
+                size = batch.add(key, event);
+            }
+            if (size >= maxBatch) {
+                flush(roomName);
+            }
+            return;
+        }
+    }
+
+    public void flush() {
+        pending.keySet().forEach(this::flush);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void flush(String roomName) {
+        RoomBatch batch = pending.remove(roomName);
+        if (batch == null) {
+            return;
+        }
+        List<SocketEvent> events;
+        synchronized (batch) {
+            batch.closed = true;
+            events = new ArrayList<>(batch.events.values());
+        }
+        try {
+            if (events.size() == 1) {
+                SocketEvent event = events.get(0);
+                socketServer
+                        .getRoomOperations(roomName)
+                        .sendEvent(event.event(), objectMapper.writeValueAsString(event.data()));
+            } else {
+                socketServer.getRoomOperations(roomName).sendEvent(BATCH_EVENT, objectMapper.writeValueAsString(events));
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} event(s) for room {}: {}", events.size(), roomName, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Failed to emit {} event(s) to room {}: {}", events.size(), roomName, e.getMessage(), e);
+        }
+    }
+
+    public record SocketEvent(String event, Object data) {}
+
+    private static final class RoomBatch {
+        final Map<Object, SocketEvent> events = new LinkedHashMap<>();
+        boolean closed;
+
+        int add(String key, SocketEvent event) {
+            if (key == null) {
+                events.put(new Object(), event);
+            } else {
+                // Re-insert so the superseding event takes the newest position
+                events.remove(key);
+                events.put(key, event);
+            }
+            return events.size();
+        }
+    }
+}
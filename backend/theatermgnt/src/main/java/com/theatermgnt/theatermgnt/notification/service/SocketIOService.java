@@ -3,9 +3,11 @@ package com.theatermgnt.theatermgnt.notification.service;
 import org.springframework.stereotype.Service;
 
 import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.namespace.Namespace;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.theatermgnt.theatermgnt.notification.dto.response.NotificationDetailResponse;
+import com.theatermgnt.theatermgnt.websocket.service.PresenceRegistry;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -23,38 +25,28 @@ import lombok.extern.slf4j.Slf4j;
 public class SocketIOService {
     SocketIOServer socketServer;
     ObjectMapper objectMapper;
+    PresenceRegistry presenceRegistry;
+    SocketEventBuffer eventBuffer;
 
     /**
      * Emit notification to specific user
      * Client should join room with their userId when connecting
      */
     public void emitNotificationToUser(String userId, NotificationDetailResponse notification) {
-        log.info("Emitting notification to user {}: {}", userId, notification.getId());
-
-        try {
-            String roomName = "user:" + userId;
-            
-            // Check how many clients are in this room
-            var room = socketServer.getRoomOperations(roomName);
-            var clients = room.getClients();
-            log.info("📡 Room '{}' has {} clients", roomName, clients.size());
-            
-            if (clients.isEmpty()) {
-                log.warn("⚠️ No clients in room '{}' - notification will not be delivered", roomName);
-                return;
-            }
-            
-            // Serialize to JSON string first (like chat-service does)
-            // This uses Spring's ObjectMapper which already has JavaTimeModule configured
-            String notificationJson = objectMapper.writeValueAsString(notification);
-            room.sendEvent("notification:new", notificationJson);
-
-            log.info("Notification emitted successfully to room: {}", roomName);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize notification {}: {}", notification.getId(), e.getMessage(), e);
-        } catch (Exception e) {
-            log.error("Failed to emit notification to user {}: {}", userId, e.getMessage(), e);
+        String roomName = "user:" + userId;
+        if (!hasClients(roomName)) {
+            log.debug("No clients in room '{}', notification {} not pushed", roomName, notification.getId());
+            return;
         }
+        eventBuffer.add(roomName, "notification:new", null, notification);
+    }
+
+    /**
+     * Whether the user has at least one connected client
+     * Local connections are answered by the presence registry, others by the relayed room table
+     */
+    public boolean isOnline(String userId) {
+        return presenceRegistry.isOnline(userId) || hasClients("user:" + userId);
     }
 
     /**
@@ -75,6 +67,34 @@ public class SocketIOService {
         }
     }
 
+    /**
+     * Emit an event to every client in a room
+     * Rooms with no clients are skipped without serializing the payload
+     */
+    public void emitToRoom(String roomName, String eventName, Object payload) {
+        emitToRoom(roomName, eventName, null, payload);
+    }
+
+    /**
+     * Emit an event that replaces any not yet sent event with the same key in the room
+     * Events leave in short per-room batches, see SocketEventBuffer
+     */
+    public void emitToRoom(String roomName, String eventName, String key, Object payload) {
+        if (!hasClients(roomName)) {
+            return;
+        }
+        eventBuffer.add(roomName, eventName, key, payload);
+    }
+
+    /**
+     * Whether any node has a client in the room
+     * Joins on other nodes are relayed into the namespace's room table, while getClients() only sees local ones
+     */
+    private boolean hasClients(String roomName) {
+        Namespace namespace = (Namespace) socketServer.getNamespace(Namespace.DEFAULT_NAME);
+        return namespace != null && namespace.getRooms().contains(roomName);
+    }
+
     /**
      * Check if Socket.IO server is running
      */
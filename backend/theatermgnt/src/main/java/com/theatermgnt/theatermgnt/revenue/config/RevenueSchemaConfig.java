@@ -0,0 +1,118 @@
+package com.theatermgnt.theatermgnt.revenue.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Constraints that ddl-auto can't add safely to tables that may already hold duplicates
+ */
+@Configuration
+@Slf4j
+public class RevenueSchemaConfig {
+
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "spring.datasource",
+            name = "driver-class-name",
+            havingValue = "org.postgresql.Driver")
+    ApplicationRunner revenueReportKeyRunner(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            // Older generations could leave several reports per key, keep the newest before enforcing it
+            int removed = jdbcTemplate.update(
+                    """
+				DELETE FROM revenue_reports r
+				USING revenue_reports newer
+				WHERE r.cinema_id = newer.cinema_id
+				AND r.report_type = newer.report_type
+				AND r.start_date = newer.start_date
+				AND r.end_date = newer.end_date
+				AND (r.generated_at, r.id) < (newer.generated_at, newer.id)
+			""");
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_revenue_report_key "
+                    + "ON revenue_reports (cinema_id, report_type, start_date, end_date)");
+            log.info("Revenue report key ensured ({} duplicate reports removed)", removed);
+        };
+    }
+
+    // The additive upserts in RevenueDeltaWriter need these keys; ddl-auto silently skips them when
+    // duplicates exist, so duplicates are folded into one row (their amounts summed) first
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "spring.datasource",
+            name = "driver-class-name",
+            havingValue = "org.postgresql.Driver")
+    ApplicationRunner revenueSummaryKeyRunner(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        return args -> transactionTemplate.executeWithoutResult(status -> {
+            Boolean ensured = jdbcTemplate.queryForObject(
+                    "SELECT to_regclass('uk_daily_revenue_cinema_date') IS NOT NULL "
+                            + "AND to_regclass('uk_movie_revenue_movie_cinema_date') IS NOT NULL",
+                    Boolean.class);
+            if (Boolean.TRUE.equals(ensured)) {
+                return;
+            }
+            // Keep writers out while rows are merged, a delta landing on a row about to be deleted would be lost
+            jdbcTemplate.execute("LOCK TABLE daily_revenue_summary, movie_revenue IN SHARE ROW EXCLUSIVE MODE");
+
+            jdbcTemplate.update(
+                    """
+				UPDATE daily_revenue_summary keep
+				SET ticket_revenue = d.ticket_revenue,
+					combo_revenue = d.combo_revenue,
+					net_revenue = d.net_revenue,
+					total_transactions = d.total_transactions
+				FROM (
+					SELECT min(id) AS id, sum(ticket_revenue) AS ticket_revenue, sum(combo_revenue) AS combo_revenue,
+						sum(net_revenue) AS net_revenue, sum(total_transactions) AS total_transactions
+					FROM daily_revenue_summary
+					GROUP BY cinema_id, report_date
+					HAVING count(*) > 1
+				) d
+				WHERE keep.id = d.id
+			""");
+            int dailyRemoved = jdbcTemplate.update(
+                    """
+				DELETE FROM daily_revenue_summary r
+				USING daily_revenue_summary keep
+				WHERE r.cinema_id = keep.cinema_id
+				AND r.report_date = keep.report_date
+				AND r.id > keep.id
+			""");
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_daily_revenue_cinema_date "
+                    + "ON daily_revenue_summary (cinema_id, report_date)");
+
+            jdbcTemplate.update(
+                    """
+				UPDATE movie_revenue keep
+				SET total_revenue = m.total_revenue,
+					total_tickets_sold = m.total_tickets_sold
+				FROM (
+					SELECT min(id) AS id, sum(total_revenue) AS total_revenue, sum(total_tickets_sold) AS total_tickets_sold
+					FROM movie_revenue
+					GROUP BY movie_id, cinema_id, report_date
+					HAVING count(*) > 1
+				) m
+				WHERE keep.id = m.id
+			""");
+            int movieRemoved = jdbcTemplate.update(
+                    """
+				DELETE FROM movie_revenue r
+				USING movie_revenue keep
+				WHERE r.movie_id = keep.movie_id
+				AND r.cinema_id = keep.cinema_id
+				AND r.report_date = keep.report_date
+				AND r.id > keep.id
+			""");
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_movie_revenue_movie_cinema_date "
+                    + "ON movie_revenue (movie_id, cinema_id, report_date)");
+
+            log.info(
+                    "Revenue summary keys ensured ({} daily and {} movie duplicates merged)", dailyRemoved, movieRemoved);
+        });
+    }
+}
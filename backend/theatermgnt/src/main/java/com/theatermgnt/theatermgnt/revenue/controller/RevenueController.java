@@ -7,18 +7,24 @@ import jakarta.validation.Valid;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import com.theatermgnt.theatermgnt.revenue.dto.request.DailyRevenueCreateRequest;
 import com.theatermgnt.theatermgnt.revenue.dto.request.MovieRevenueCreateRequest;
+import com.theatermgnt.theatermgnt.revenue.dto.request.RevenueCubeQueryRequest;
 import com.theatermgnt.theatermgnt.revenue.dto.request.RevenueReportCreateRequest;
 import com.theatermgnt.theatermgnt.revenue.dto.request.RevenueReportGenerateRequest;
 import com.theatermgnt.theatermgnt.revenue.dto.response.DailyRevenueResponse;
 import com.theatermgnt.theatermgnt.revenue.dto.response.MovieRevenueResponse;
+import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueCubeResponse;
+import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueDashboardResponse;
 import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueReportResponse;
 import com.theatermgnt.theatermgnt.revenue.enums.ReportType;
 import com.theatermgnt.theatermgnt.revenue.service.DailyRevenueService;
 import com.theatermgnt.theatermgnt.revenue.service.MovieRevenueService;
+import com.theatermgnt.theatermgnt.revenue.service.RevenueCubeService;
+import com.theatermgnt.theatermgnt.revenue.service.RevenueDashboardService;
 import com.theatermgnt.theatermgnt.revenue.service.RevenueReportService;
 
 import lombok.RequiredArgsConstructor;
@@ -31,6 +37,8 @@ public class RevenueController {
     private final RevenueReportService revenueReportService;
     private final DailyRevenueService dailyRevenueService;
     private final MovieRevenueService movieRevenueService;
+    private final RevenueDashboardService revenueDashboardService;
+    private final RevenueCubeService revenueCubeService;
 
     // ---- Revenue Reports ----
     @PostMapping("/reports")
@@ -84,4 +92,18 @@ public class RevenueController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         return ResponseEntity.ok(movieRevenueService.find(cinemaId, movieId, from, to));
     }
+
+    // ---- Live dashboard ----
+    // Same rule as the dashboard:subscribe socket event: admins, or managers of this cinema
+    @PreAuthorize("@revenueDashboardAccess.canView(authentication, #cinemaId)")
+    @GetMapping("/dashboard/{cinemaId}")
+    public ResponseEntity<RevenueDashboardResponse> getDashboardSnapshot(@PathVariable String cinemaId) {
+        return ResponseEntity.ok(revenueDashboardService.getSnapshot(cinemaId));
+    }
+
+    // ---- Revenue cube ----
+    @PostMapping("/cube/query")
+    public ResponseEntity<RevenueCubeResponse> queryRevenueCube(@RequestBody RevenueCubeQueryRequest request) {
+        return ResponseEntity.ok(revenueCubeService.query(request));
+    }
 }
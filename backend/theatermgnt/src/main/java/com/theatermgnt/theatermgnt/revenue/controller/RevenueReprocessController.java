@@ -3,9 +3,11 @@ package com.theatermgnt.theatermgnt.revenue.controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.theatermgnt.theatermgnt.common.dto.response.ApiResponse;
+import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueBackfillResponse;
 import com.theatermgnt.theatermgnt.revenue.service.RevenueReprocessService;
 
 import lombok.RequiredArgsConstructor;
@@ -21,20 +23,14 @@ public class RevenueReprocessController {
 
     @PostMapping("/reprocess")
     // @PreAuthorize("hasAuthority('SCOPE_REPORT_CREATE')") // Temporarily disabled for testing
-    public ResponseEntity<ApiResponse<String>> reprocessAllRevenue() {
-        log.info("Revenue reprocess requested");
+    public ResponseEntity<ApiResponse<RevenueBackfillResponse>> reprocessAllRevenue(
+            @RequestParam(defaultValue = "false") boolean restart) {
+        log.info("Revenue reprocess requested (restart={})", restart);
 
-        try {
-            reprocessService.reprocessAllPayments();
-            return ResponseEntity.ok(ApiResponse.<String>builder()
-                    .result("Revenue reprocessing completed successfully")
-                    .build());
-        } catch (Exception e) {
-            log.error("Error during revenue reprocessing", e);
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.<String>builder()
-                            .message("Error during reprocessing: " + e.getMessage())
-                            .build());
-        }
+        // Failures surface as AppException; calling again resumes from the last checkpoint
+        return ResponseEntity.ok(ApiResponse.<RevenueBackfillResponse>builder()
+                .result(reprocessService.reprocessAllPayments(restart))
+                .message("Revenue reprocessing completed successfully")
+                .build());
     }
 }
@@ -0,0 +1,24 @@
+package com.theatermgnt.theatermgnt.revenue.dto;
+
+import java.time.LocalDate;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Pending change to one (movie, cinema, date) MovieRevenue row, amounts in minor currency units
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MovieRevenueDelta {
+    String movieId;
+    String cinemaId;
+    LocalDate reportDate;
+    long revenueMinor;
+    long ticketsSold;
+}
@@ -0,0 +1,35 @@
+package com.theatermgnt.theatermgnt.revenue.dto.request;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import com.theatermgnt.theatermgnt.common.enums.DayType;
+import com.theatermgnt.theatermgnt.common.enums.TimeSlot;
+import com.theatermgnt.theatermgnt.revenue.enums.CubeDimension;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Slice of the revenue cube; empty or missing filters match everything
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueCubeQueryRequest {
+    Set<String> cinemaIds;
+    Set<String> movieIds;
+    Set<String> seatTypeIds;
+    Set<DayType> dayTypes;
+    Set<TimeSlot> timeSlots;
+
+    // Screening date range, inclusive
+    LocalDate from;
+    LocalDate to;
+
+    List<CubeDimension> groupBy;
+}
@@ -0,0 +1,18 @@
+package com.theatermgnt.theatermgnt.revenue.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueBackfillResponse {
+    long paymentsProcessed;
+    long refundsProcessed;
+    int chunks;
+    boolean resumed;
+    long durationMs;
+}
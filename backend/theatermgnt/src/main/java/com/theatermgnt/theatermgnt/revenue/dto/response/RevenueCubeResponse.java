@@ -0,0 +1,20 @@
+package com.theatermgnt.theatermgnt.revenue.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueCubeResponse {
+    List<RevenueCubeRowResponse> rows;
+    RevenueCubeRowResponse totals;
+    int cellsScanned;
+    Instant builtAt;
+}
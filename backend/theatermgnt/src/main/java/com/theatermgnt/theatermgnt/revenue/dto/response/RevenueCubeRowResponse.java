@@ -0,0 +1,34 @@
+package com.theatermgnt.theatermgnt.revenue.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import com.theatermgnt.theatermgnt.common.enums.DayType;
+import com.theatermgnt.theatermgnt.common.enums.TimeSlot;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * One group of a cube query; dimensions that were not grouped by are null
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueCubeRowResponse {
+    String cinemaId;
+    String movieId;
+    LocalDate reportDate;
+    YearMonth month;
+    DayType dayType;
+    TimeSlot timeSlot;
+    String seatTypeId; // null for combo revenue, which has no seat
+    BigDecimal ticketRevenue;
+    BigDecimal comboRevenue;
+    BigDecimal netRevenue;
+    Long ticketsSold;
+}
@@ -0,0 +1,28 @@
+package com.theatermgnt.theatermgnt.revenue.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueDashboardResponse {
+    String cinemaId;
+    LocalDate reportDate;
+    BigDecimal ticketRevenue;
+    BigDecimal comboRevenue;
+    BigDecimal netRevenue;
+    Long totalTransactions;
+    Long ticketsSold;
+    Long seatCapacity;
+    Long seatsSold;
+    Double occupancyRate; // seatsSold / seatCapacity of today's screenings, 0..1
+    Instant updatedAt;
+}
@@ -3,6 +3,7 @@ package com.theatermgnt.theatermgnt.revenue.dto.response;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import com.theatermgnt.theatermgnt.revenue.enums.ReportType;
 
@@ -26,4 +27,7 @@ public class RevenueReportResponse {
     BigDecimal netRevenue;
 
     LocalDateTime generatedAt;
+
+    // Per-cinema reports when generated for all cinemas, the fields above then hold the grand total
+    List<RevenueReportResponse> cinemaReports;
 }
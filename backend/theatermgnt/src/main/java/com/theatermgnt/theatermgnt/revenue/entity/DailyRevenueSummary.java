@@ -15,7 +15,11 @@ import lombok.experimental.FieldDefaults;
 @Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "daily_revenue_summary")
+@Table(
+        name = "daily_revenue_summary",
+        uniqueConstraints = {
+            @UniqueConstraint(name = "uk_daily_revenue_cinema_date", columnNames = {"cinema_id", "report_date"})
+        })
 public class DailyRevenueSummary {
 
     @Id
@@ -15,7 +15,13 @@ import lombok.experimental.FieldDefaults;
 @Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "movie_revenue")
+@Table(
+        name = "movie_revenue",
+        uniqueConstraints = {
+            @UniqueConstraint(
+                    name = "uk_movie_revenue_movie_cinema_date",
+                    columnNames = {"movie_id", "cinema_id", "report_date"})
+        })
 public class MovieRevenue {
 
     @Id
@@ -0,0 +1,38 @@
+package com.theatermgnt.theatermgnt.revenue.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import com.theatermgnt.theatermgnt.revenue.enums.BackfillPhase;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Progress of an unfinished revenue backfill phase; removed once the phase completes
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(name = "revenue_backfill_checkpoint")
+public class RevenueBackfillCheckpoint {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    BackfillPhase phase;
+
+    // Every key up to and including this one has been processed
+    @Column(nullable = false)
+    String lastKey;
+
+    @Column(nullable = false)
+    Long processedCount;
+
+    @Column(nullable = false)
+    LocalDateTime updatedAt;
+}
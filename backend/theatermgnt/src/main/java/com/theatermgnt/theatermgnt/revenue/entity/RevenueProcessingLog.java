@@ -1,5 +1,7 @@
 package com.theatermgnt.theatermgnt.revenue.entity;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.*;
@@ -16,7 +18,10 @@ import lombok.experimental.FieldDefaults;
 @Entity
 @Table(
         name = "revenue_processing_log",
-        indexes = {@Index(name = "idx_payment_id", columnList = "paymentId", unique = true)})
+        indexes = {
+            @Index(name = "idx_payment_id", columnList = "paymentId", unique = true),
+            @Index(name = "idx_revenue_log_flushed", columnList = "flushed")
+        })
 public class RevenueProcessingLog {
 
     @Id
@@ -33,4 +38,21 @@ public class RevenueProcessingLog {
     LocalDateTime processedAt;
 
     String errorMessage;
+
+    // Signed delta applied by this entry, kept so unflushed deltas can be replayed after a crash
+    String cinemaId;
+    String movieId;
+    LocalDate reportDate;
+
+    @Column(precision = 12, scale = 2)
+    BigDecimal ticketRevenue;
+
+    @Column(precision = 12, scale = 2)
+    BigDecimal comboRevenue;
+
+    Integer ticketsSold;
+    Integer transactions;
+
+    // false until the delta is written to the summary tables; null for entries written before write-behind
+    Boolean flushed;
 }
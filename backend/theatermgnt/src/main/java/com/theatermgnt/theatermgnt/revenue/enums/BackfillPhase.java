@@ -0,0 +1,6 @@
+package com.theatermgnt.theatermgnt.revenue.enums;
+
+public enum BackfillPhase {
+    PAYMENTS,
+    REFUNDS
+}
@@ -0,0 +1,11 @@
+package com.theatermgnt.theatermgnt.revenue.enums;
+
+public enum CubeDimension {
+    CINEMA,
+    MOVIE,
+    DATE,
+    MONTH,
+    DAY_TYPE,
+    TIME_SLOT,
+    SEAT_TYPE
+}
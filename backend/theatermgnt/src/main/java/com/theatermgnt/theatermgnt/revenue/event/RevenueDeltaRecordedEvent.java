@@ -0,0 +1,29 @@
+package com.theatermgnt.theatermgnt.revenue.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Signed revenue change of one processed payment or refund, published once its processing log is written
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+@Builder
+public class RevenueDeltaRecordedEvent {
+    String processingLogId;
+    String bookingId;
+    String cinemaId;
+    String movieId;
+    LocalDate reportDate;
+    BigDecimal ticketRevenue;
+    BigDecimal comboRevenue;
+    int ticketsSold;
+    int transactions;
+}
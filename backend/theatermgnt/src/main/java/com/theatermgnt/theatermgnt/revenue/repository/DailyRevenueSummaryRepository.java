@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -26,4 +27,19 @@ public interface DailyRevenueSummaryRepository extends JpaRepository<DailyRevenu
             @Param("toDate") LocalDate toDate);
 
     Optional<DailyRevenueSummary> findByCinemaIdAndReportDate(String cinemaId, LocalDate reportDate);
+
+    // Zero row for every active cinema, rows already written by payments are left alone
+    @Modifying
+    @Query(
+            value =
+                    """
+		INSERT INTO daily_revenue_summary
+			(id, cinema_id, report_date, ticket_revenue, combo_revenue, net_revenue, total_transactions)
+		SELECT gen_random_uuid()::text, c.id, :reportDate, 0, 0, 0, 0
+		FROM cinemas c
+		WHERE c.deleted = FALSE
+		ON CONFLICT (cinema_id, report_date) DO NOTHING
+	""",
+            nativeQuery = true)
+    int insertMissingForActiveCinemas(@Param("reportDate") LocalDate reportDate);
 }
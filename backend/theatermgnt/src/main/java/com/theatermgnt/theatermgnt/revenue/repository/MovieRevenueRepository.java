@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -28,4 +29,22 @@ public interface MovieRevenueRepository extends JpaRepository<MovieRevenue, Stri
             @Param("toDate") LocalDate toDate);
 
     Optional<MovieRevenue> findByMovieIdAndCinemaIdAndReportDate(String movieId, String cinemaId, LocalDate reportDate);
+
+    // Zero row for every active cinema x now-showing movie, rows already written by payments are left alone
+    @Modifying
+    @Query(
+            value =
+                    """
+		INSERT INTO movie_revenue
+			(id, movie_id, cinema_id, report_date, total_revenue, total_tickets_sold)
+		SELECT gen_random_uuid()::text, m.id, c.id, :reportDate, 0, 0
+		FROM cinemas c
+		CROSS JOIN movies m
+		WHERE c.deleted = FALSE
+		AND m.deleted = FALSE
+		AND m.status = 'now_showing'
+		ON CONFLICT (movie_id, cinema_id, report_date) DO NOTHING
+	""",
+            nativeQuery = true)
+    int insertMissingForNowShowing(@Param("reportDate") LocalDate reportDate);
 }
@@ -0,0 +1,8 @@
+package com.theatermgnt.theatermgnt.revenue.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.theatermgnt.theatermgnt.revenue.entity.RevenueBackfillCheckpoint;
+import com.theatermgnt.theatermgnt.revenue.enums.BackfillPhase;
+
+public interface RevenueBackfillCheckpointRepository extends JpaRepository<RevenueBackfillCheckpoint, BackfillPhase> {}
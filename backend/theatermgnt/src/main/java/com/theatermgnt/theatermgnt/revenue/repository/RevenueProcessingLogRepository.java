@@ -1,5 +1,7 @@
 package com.theatermgnt.theatermgnt.revenue.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,4 +12,7 @@ public interface RevenueProcessingLogRepository extends JpaRepository<RevenuePro
     Optional<RevenueProcessingLog> findByPaymentId(String paymentId);
 
     boolean existsByPaymentId(String paymentId);
+
+    // Deltas recorded but never written to the summary tables
+    List<RevenueProcessingLog> findByFlushedFalseAndErrorMessageIsNullAndProcessedAtBefore(LocalDateTime before);
 }
@@ -1,11 +1,13 @@
 package com.theatermgnt.theatermgnt.revenue.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.theatermgnt.theatermgnt.revenue.entity.RevenueReport;
 import com.theatermgnt.theatermgnt.revenue.enums.ReportType;
@@ -41,4 +43,40 @@ public interface RevenueReportRepository extends JpaRepository<RevenueReport, St
             @Param("reportType") ReportType reportType,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    /**
+     * Sum the daily summaries of every cinema over the range and upsert one report per cinema, in one statement
+     * Cinemas without revenue in the range get a zero report
+     * @return the upserted report of each cinema
+     */
+    @Transactional
+    @Query(
+            value =
+                    """
+		INSERT INTO revenue_reports
+			(id, cinema_id, report_type, start_date, end_date,
+			total_ticket_revenue, total_combo_revenue, net_revenue, generated_at)
+		SELECT gen_random_uuid()::text, c.id, :reportType, :startDate, :endDate,
+			COALESCE(SUM(d.ticket_revenue), 0),
+			COALESCE(SUM(d.combo_revenue), 0),
+			COALESCE(SUM(d.net_revenue), 0),
+			:generatedAt
+		FROM cinemas c
+		LEFT JOIN daily_revenue_summary d
+			ON d.cinema_id = c.id AND d.report_date BETWEEN :startDate AND :endDate
+		WHERE c.deleted = FALSE
+		GROUP BY c.id
+		ON CONFLICT (cinema_id, report_type, start_date, end_date) DO UPDATE SET
+			total_ticket_revenue = EXCLUDED.total_ticket_revenue,
+			total_combo_revenue = EXCLUDED.total_combo_revenue,
+			net_revenue = EXCLUDED.net_revenue,
+			generated_at = EXCLUDED.generated_at
+		RETURNING *
+	""",
+            nativeQuery = true)
+    List<RevenueReport> upsertForAllCinemas(
+            @Param("reportType") String reportType,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("generatedAt") LocalDateTime generatedAt);
 }
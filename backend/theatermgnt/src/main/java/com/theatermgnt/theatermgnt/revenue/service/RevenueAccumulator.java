@@ -0,0 +1,140 @@
+package com.theatermgnt.theatermgnt.revenue.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.theatermgnt.theatermgnt.revenue.entity.RevenueProcessingLog;
+import com.theatermgnt.theatermgnt.revenue.event.RevenueDeltaRecordedEvent;
+import com.theatermgnt.theatermgnt.revenue.repository.RevenueProcessingLogRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RevenueAccumulator - Write-behind buffer for revenue aggregation
+ * Payments add signed deltas to in-memory counters per (cinema, date) and (movie, cinema, date);
+ * a scheduled flush writes them with one additive upsert batch, so the hot summary row is touched
+ * once per interval instead of once per payment.
+ * Every delta is also stored on its RevenueProcessingLog (flushed = false) in the payment transaction.
+ * A recovery sweep at startup and on a schedule replays logs that stayed unflushed past the grace period,
+ * whether the instance holding them died or a flush failed; the writer's claim keeps a replay from
+ * counting a log twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueAccumulator {
+    private final RevenueDeltaWriter revenueDeltaWriter;
+    private final RevenueProcessingLogRepository processingLogRepository;
+
+    // Writers hold the read lock while adding, flush takes the write lock only to swap batches
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile RevenueDeltaBatch pending = new RevenueDeltaBatch();
+
+    // Unflushed logs younger than this may still be in another instance's buffer
+    @Value("${revenue.recovery-grace-seconds:60}")
+    private long recoveryGraceSeconds;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleRevenueDeltaRecorded(RevenueDeltaRecordedEvent event) {
+        add(
+                event.getProcessingLogId(),
+                event.getCinemaId(),
+                event.getMovieId(),
+                event.getReportDate(),
+                RevenueDeltaWriter.toMinor(event.getTicketRevenue()),
+                RevenueDeltaWriter.toMinor(event.getComboRevenue()),
+                event.getTicketsSold(),
+                event.getTransactions());
+    }
+
+    @Scheduled(fixedDelayString = "${revenue.flush-interval-ms:5000}")
+    public void flush() {
+        RevenueDeltaBatch batch;
+        swapLock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new RevenueDeltaBatch();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        try {
+            revenueDeltaWriter.write(batch.dailyDeltas(), batch.movieDeltas(), batch.getProcessingLogIds());
+        } catch (Exception e) {
+            // The logs stay unflushed in the database, the recovery sweep replays them
+            log.error("Failed to flush revenue deltas from {} processing logs", batch.getProcessingLogIds().size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void recoverOnStartup() {
+        recoverUnflushed();
+    }
+
+    /**
+     * Replay deltas that were recorded but never flushed (the process that held them died, or a flush failed)
+     * Logs younger than the grace period are most likely still in some instance's buffer; they are checked
+     * again on the next sweep, so a restart within the grace period doesn't strand them.
+     */
+    @Scheduled(
+            initialDelayString = "${revenue.recovery-interval-ms:60000}",
+            fixedDelayString = "${revenue.recovery-interval-ms:60000}")
+    public void recoverUnflushed() {
+        List<RevenueProcessingLog> unflushed =
+                processingLogRepository.findByFlushedFalseAndErrorMessageIsNullAndProcessedAtBefore(
+                        LocalDateTime.now().minusSeconds(recoveryGraceSeconds));
+        if (unflushed.isEmpty()) {
+            return;
+        }
+
+        swapLock.readLock().lock();
+        try {
+            unflushed.forEach(pending::add);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        log.warn("Recovered {} unflushed revenue deltas from the processing log", unflushed.size());
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(
+            String processingLogId,
+            String cinemaId,
+            String movieId,
+            LocalDate reportDate,
+            long ticketMinor,
+            long comboMinor,
+            long ticketsSold,
+            long transactions) {
+        swapLock.readLock().lock();
+        try {
+            pending.add(processingLogId, cinemaId, movieId, reportDate, ticketMinor, comboMinor, ticketsSold, transactions);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+}
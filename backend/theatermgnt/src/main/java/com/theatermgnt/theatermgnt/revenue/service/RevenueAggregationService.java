@@ -4,11 +4,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import jakarta.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.theatermgnt.theatermgnt.booking.entity.Booking;
@@ -19,11 +19,8 @@ import com.theatermgnt.theatermgnt.payment.entity.Invoice;
 import com.theatermgnt.theatermgnt.payment.entity.Payment;
 import com.theatermgnt.theatermgnt.payment.enums.PaymentStatus;
 import com.theatermgnt.theatermgnt.payment.repository.InvoiceRepository;
-import com.theatermgnt.theatermgnt.revenue.entity.DailyRevenueSummary;
-import com.theatermgnt.theatermgnt.revenue.entity.MovieRevenue;
 import com.theatermgnt.theatermgnt.revenue.entity.RevenueProcessingLog;
-import com.theatermgnt.theatermgnt.revenue.repository.DailyRevenueSummaryRepository;
-import com.theatermgnt.theatermgnt.revenue.repository.MovieRevenueRepository;
+import com.theatermgnt.theatermgnt.revenue.event.RevenueDeltaRecordedEvent;
 import com.theatermgnt.theatermgnt.revenue.repository.RevenueProcessingLogRepository;
 import com.theatermgnt.theatermgnt.screening.entity.Screening;
 import com.theatermgnt.theatermgnt.screeningSeat.repository.ScreeningSeatRepository;
@@ -42,9 +39,8 @@ public class RevenueAggregationService {
     private final BookingRepository bookingRepository;
     private final BookingComboRepository bookingComboRepository;
     private final ScreeningSeatRepository screeningSeatRepository;
-    private final DailyRevenueSummaryRepository dailyRevenueSummaryRepository;
-    private final MovieRevenueRepository movieRevenueRepository;
     private final com.theatermgnt.theatermgnt.payment.repository.PaymentRepository paymentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Process invoice refund and subtract revenue.
@@ -53,6 +49,13 @@ public class RevenueAggregationService {
      * @param invoiceId The invoice ID that was refunded
      */
     public void processInvoiceRefundForRevenue(String invoiceId) {
+        // Refunds share the processing log with payments so a re-delivered refund is not subtracted twice
+        String refundLogKey = "refund:" + invoiceId;
+        if (processingLogRepository.existsByPaymentId(refundLogKey)) {
+            log.info("Invoice refund {} already processed for revenue, skipping", invoiceId);
+            return;
+        }
+
         log.info("Processing invoice refund {} for revenue subtraction", invoiceId);
 
         try {
@@ -90,24 +93,19 @@ public class RevenueAggregationService {
             BigDecimal ticketRevenue = booking.getTotalAmount().subtract(comboRevenue);
 
             // Refund: subtract revenue (multiply by -1)
-            int ticketMultiplier = -1;
             BigDecimal revenueMultiplier = BigDecimal.valueOf(-1);
 
-            // Upsert DailyRevenueSummary
-            upsertDailyRevenueSummary(
+            recordDelta(
+                    refundLogKey,
+                    booking.getId().toString(),
+                    PaymentStatus.REFUNDED.name(),
                     cinemaId,
-                    reportDate,
-                    ticketRevenue.multiply(revenueMultiplier),
-                    comboRevenue.multiply(revenueMultiplier),
-                    ticketMultiplier);
-
-            // Upsert MovieRevenue
-            upsertMovieRevenue(
                     movieId,
-                    cinemaId,
                     reportDate,
                     ticketRevenue.multiply(revenueMultiplier),
-                    ticketsSold * ticketMultiplier);
+                    comboRevenue.multiply(revenueMultiplier),
+                    -ticketsSold,
+                    -1);
 
             log.info(
                     "Revenue refund completed for invoice {}: cinema={}, movie={}, date={}, tickets={}, ticketRev={}, comboRev={}",
@@ -174,30 +172,18 @@ public class RevenueAggregationService {
             int ticketMultiplier = isRefund ? -1 : 1;
             BigDecimal revenueMultiplier = isRefund ? BigDecimal.valueOf(-1) : BigDecimal.ONE;
 
-            // Upsert DailyRevenueSummary
-            upsertDailyRevenueSummary(
+            recordDelta(
+                    payment.getId(),
+                    booking.getId().toString(),
+                    payment.getStatus().name(),
                     cinemaId,
+                    movieId,
                     reportDate,
                     ticketRevenue.multiply(revenueMultiplier),
                     comboRevenue.multiply(revenueMultiplier),
+                    ticketsSold * ticketMultiplier,
                     ticketMultiplier);
 
-            // Upsert MovieRevenue
-            upsertMovieRevenue(
-                    movieId,
-                    cinemaId,
-                    reportDate,
-                    ticketRevenue.multiply(revenueMultiplier),
-                    ticketsSold * ticketMultiplier);
-
-            // Log successful processing
-            RevenueProcessingLog processingLog = RevenueProcessingLog.builder()
-                    .paymentId(payment.getId())
-                    .paymentStatus(payment.getStatus().name())
-                    .processedAt(LocalDateTime.now())
-                    .build();
-            processingLogRepository.save(processingLog);
-
             log.info(
                     "Revenue aggregation completed for payment {}: cinema={}, movie={}, date={}, tickets={}, ticketRev={}, comboRev={}",
                     payment.getId(),
@@ -224,64 +210,45 @@ public class RevenueAggregationService {
         }
     }
 
-    private void upsertDailyRevenueSummary(
+    /**
+     * Store the signed delta on the processing log and hand it to the write-behind accumulator.
+     * Summary rows are only updated by RevenueAccumulator once this transaction commits.
+     */
+    private void recordDelta(
+            String logKey,
+            String bookingId,
+            String paymentStatus,
             String cinemaId,
+            String movieId,
             LocalDate reportDate,
             BigDecimal ticketRevenue,
             BigDecimal comboRevenue,
-            int transactionIncrement) {
-
-        Optional<DailyRevenueSummary> existing =
-                dailyRevenueSummaryRepository.findByCinemaIdAndReportDate(cinemaId, reportDate);
-
-        if (existing.isPresent()) {
-            // Update existing
-            DailyRevenueSummary summary = existing.get();
-            summary.setTicketRevenue(summary.getTicketRevenue().add(ticketRevenue));
-            summary.setComboRevenue(summary.getComboRevenue().add(comboRevenue));
-            summary.setNetRevenue(summary.getTicketRevenue().add(summary.getComboRevenue()));
-            summary.setTotalTransactions(summary.getTotalTransactions() + transactionIncrement);
-            dailyRevenueSummaryRepository.save(summary);
-            log.debug("Updated DailyRevenueSummary for cinema={}, date={}", cinemaId, reportDate);
-        } else {
-            // Create new
-            DailyRevenueSummary newSummary = DailyRevenueSummary.builder()
-                    .cinemaId(cinemaId)
-                    .reportDate(reportDate)
-                    .ticketRevenue(ticketRevenue)
-                    .comboRevenue(comboRevenue)
-                    .netRevenue(ticketRevenue.add(comboRevenue))
-                    .totalTransactions(transactionIncrement)
-                    .build();
-            dailyRevenueSummaryRepository.save(newSummary);
-            log.debug("Created DailyRevenueSummary for cinema={}, date={}", cinemaId, reportDate);
-        }
-    }
-
-    private void upsertMovieRevenue(
-            String movieId, String cinemaId, LocalDate reportDate, BigDecimal ticketRevenue, int ticketsSoldIncrement) {
-
-        Optional<MovieRevenue> existing =
-                movieRevenueRepository.findByMovieIdAndCinemaIdAndReportDate(movieId, cinemaId, reportDate);
-
-        if (existing.isPresent()) {
-            // Update existing
-            MovieRevenue revenue = existing.get();
-            revenue.setTotalRevenue(revenue.getTotalRevenue().add(ticketRevenue));
-            revenue.setTotalTicketsSold(revenue.getTotalTicketsSold() + ticketsSoldIncrement);
-            movieRevenueRepository.save(revenue);
-            log.debug("Updated MovieRevenue for movie={}, cinema={}, date={}", movieId, cinemaId, reportDate);
-        } else {
-            // Create new
-            MovieRevenue newRevenue = MovieRevenue.builder()
-                    .movieId(movieId)
-                    .cinemaId(cinemaId)
-                    .reportDate(reportDate)
-                    .totalRevenue(ticketRevenue)
-                    .totalTicketsSold(ticketsSoldIncrement)
-                    .build();
-            movieRevenueRepository.save(newRevenue);
-            log.debug("Created MovieRevenue for movie={}, cinema={}, date={}", movieId, cinemaId, reportDate);
-        }
+            int ticketsSold,
+            int transactions) {
+        RevenueProcessingLog processingLog = processingLogRepository.save(RevenueProcessingLog.builder()
+                .paymentId(logKey)
+                .paymentStatus(paymentStatus)
+                .processedAt(LocalDateTime.now())
+                .cinemaId(cinemaId)
+                .movieId(movieId)
+                .reportDate(reportDate)
+                .ticketRevenue(ticketRevenue)
+                .comboRevenue(comboRevenue)
+                .ticketsSold(ticketsSold)
+                .transactions(transactions)
+                .flushed(false)
+                .build());
+
+        eventPublisher.publishEvent(RevenueDeltaRecordedEvent.builder()
+                .processingLogId(processingLog.getId())
+                .bookingId(bookingId)
+                .cinemaId(cinemaId)
+                .movieId(movieId)
+                .reportDate(reportDate)
+                .ticketRevenue(ticketRevenue)
+                .comboRevenue(comboRevenue)
+                .ticketsSold(ticketsSold)
+                .transactions(transactions)
+                .build());
     }
 }
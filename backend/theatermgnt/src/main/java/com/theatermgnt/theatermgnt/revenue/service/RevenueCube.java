@@ -0,0 +1,384 @@
+package com.theatermgnt.theatermgnt.revenue.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.theatermgnt.theatermgnt.common.enums.DayType;
+import com.theatermgnt.theatermgnt.common.enums.TimeSlot;
+import com.theatermgnt.theatermgnt.revenue.dto.request.RevenueCubeQueryRequest;
+import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueCubeResponse;
+import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueCubeRowResponse;
+import com.theatermgnt.theatermgnt.revenue.enums.CubeDimension;
+
+import lombok.Getter;
+
+/**
+ * Columnar revenue cube, one cell per (cinema, movie, date, day type, time slot, seat type)
+ * Ids are dictionary-encoded into int columns and measures kept in long columns (minor units), so a query
+ * is a scan over primitive arrays. Cells exist at day grain and at a month rollup; whole months of a
+ * query range are answered from the rollup.
+ */
+final class RevenueCube {
+    private static final int SEAT_TYPE_BITS = 8;
+    private static final int TIME_SLOT_BITS = 2;
+    private static final int DAY_TYPE_BITS = 1;
+    private static final int DATE_BITS = 20;
+    private static final int MOVIE_BITS = 16;
+    private static final int CINEMA_BITS = 12;
+
+    private static final int TIME_SLOT_SHIFT = SEAT_TYPE_BITS;
+    private static final int DAY_TYPE_SHIFT = TIME_SLOT_SHIFT + TIME_SLOT_BITS;
+    private static final int DATE_SHIFT = DAY_TYPE_SHIFT + DAY_TYPE_BITS;
+    private static final int MOVIE_SHIFT = DATE_SHIFT + DATE_BITS;
+    private static final int CINEMA_SHIFT = MOVIE_SHIFT + MOVIE_BITS;
+
+    private static final DayType[] DAY_TYPES = DayType.values();
+    private static final TimeSlot[] TIME_SLOTS = TimeSlot.values();
+
+    private final Dictionary cinemas = new Dictionary(1 << CINEMA_BITS);
+    private final Dictionary movies = new Dictionary(1 << MOVIE_BITS);
+    private final Dictionary seatTypes = new Dictionary(1 << SEAT_TYPE_BITS);
+    private final Cells days = new Cells();
+    private final Cells months = new Cells();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Getter
+    private final Instant builtAt = Instant.now();
+
+    /**
+     * Add signed measures for one screening; a null seat type holds revenue that has no seat (combos)
+     */
+    void add(
+            String cinemaId,
+            String movieId,
+            LocalDateTime startTime,
+            String seatTypeId,
+            long ticketMinor,
+            long comboMinor,
+            long tickets) {
+        LocalDate date = startTime.toLocalDate();
+        int dayType = DayType.from(date).ordinal();
+        int timeSlot = TimeSlot.from(startTime.toLocalTime()).ordinal();
+        int month = monthKey(date);
+
+        lock.writeLock().lock();
+        try {
+            int cinema = cinemas.index(cinemaId);
+            int movie = movies.index(movieId);
+            int seatType = seatTypes.index(seatTypeId);
+            days.add(cinema, movie, (int) date.toEpochDay(), month, dayType, timeSlot, seatType, ticketMinor, comboMinor, tickets);
+            months.add(cinema, movie, month, month, dayType, timeSlot, seatType, ticketMinor, comboMinor, tickets);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    RevenueCubeResponse query(RevenueCubeQueryRequest request) {
+        Set<CubeDimension> group = EnumSet.noneOf(CubeDimension.class);
+        if (request.getGroupBy() != null) {
+            group.addAll(request.getGroupBy());
+        }
+        LocalDate from = request.getFrom();
+        LocalDate to = request.getTo();
+
+        lock.readLock().lock();
+        try {
+            Filter filter = new Filter(request);
+            Map<Long, long[]> groups = new HashMap<>();
+            int scanned;
+
+            int dayFrom = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+            int dayTo = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+            if (group.contains(CubeDimension.DATE)) {
+                scanned = days.scan(dayFrom, dayTo, filter, group, groups);
+            } else {
+                // Whole months come from the rollup, the partial months at either end from day cells
+                boolean headPartial = from != null && from.getDayOfMonth() != 1;
+                boolean tailPartial = to != null && to.getDayOfMonth() != to.lengthOfMonth();
+                int monthFrom = from == null ? Integer.MIN_VALUE : monthKey(from) + (headPartial ? 1 : 0);
+                int monthTo = to == null ? Integer.MAX_VALUE : monthKey(to) - (tailPartial ? 1 : 0);
+
+                if (monthFrom <= monthTo) {
+                    scanned = months.scan(monthFrom, monthTo, filter, group, groups);
+                    if (headPartial) {
+                        scanned += days.scan(dayFrom, (int) monthStart(monthFrom).toEpochDay() - 1, filter, group, groups);
+                    }
+                    if (tailPartial) {
+                        scanned += days.scan((int) monthStart(monthTo + 1).toEpochDay(), dayTo, filter, group, groups);
+                    }
+                } else {
+                    scanned = days.scan(dayFrom, dayTo, filter, group, groups);
+                }
+            }
+
+            long[] total = new long[3];
+            List<RevenueCubeRowResponse> rows = new ArrayList<>(groups.size());
+            for (Map.Entry<Long, long[]> e : groups.entrySet()) {
+                long[] m = e.getValue();
+                total[0] += m[0];
+                total[1] += m[1];
+                total[2] += m[2];
+                rows.add(toRow(e.getKey(), group, m));
+            }
+            rows.sort(Comparator.comparing(RevenueCubeRowResponse::getNetRevenue).reversed());
+
+            return RevenueCubeResponse.builder()
+                    .rows(rows)
+                    .totals(toRow(0L, EnumSet.noneOf(CubeDimension.class), total))
+                    .cellsScanned(scanned)
+                    .builtAt(builtAt)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int cellCount() {
+        lock.readLock().lock();
+        try {
+            return days.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RevenueCubeRowResponse toRow(long key, Set<CubeDimension> group, long[] m) {
+        RevenueCubeRowResponse.RevenueCubeRowResponseBuilder row = RevenueCubeRowResponse.builder()
+                .ticketRevenue(RevenueDeltaWriter.fromMinor(m[0]))
+                .comboRevenue(RevenueDeltaWriter.fromMinor(m[1]))
+                .netRevenue(RevenueDeltaWriter.fromMinor(m[0] + m[1]))
+                .ticketsSold(m[2]);
+
+        if (group.contains(CubeDimension.CINEMA)) {
+            row.cinemaId(cinemas.value(field(key, CINEMA_SHIFT, CINEMA_BITS)));
+        }
+        if (group.contains(CubeDimension.MOVIE)) {
+            row.movieId(movies.value(field(key, MOVIE_SHIFT, MOVIE_BITS)));
+        }
+        if (group.contains(CubeDimension.DATE)) {
+            LocalDate date = LocalDate.ofEpochDay(field(key, DATE_SHIFT, DATE_BITS));
+            row.reportDate(date).month(YearMonth.from(date));
+        } else if (group.contains(CubeDimension.MONTH)) {
+            row.month(YearMonth.from(monthStart(field(key, DATE_SHIFT, DATE_BITS))));
+        }
+        if (group.contains(CubeDimension.DAY_TYPE)) {
+            row.dayType(DAY_TYPES[field(key, DAY_TYPE_SHIFT, DAY_TYPE_BITS)]);
+        }
+        if (group.contains(CubeDimension.TIME_SLOT)) {
+            row.timeSlot(TIME_SLOTS[field(key, TIME_SLOT_SHIFT, TIME_SLOT_BITS)]);
+        }
+        if (group.contains(CubeDimension.SEAT_TYPE)) {
+            row.seatTypeId(seatTypes.value(field(key, 0, SEAT_TYPE_BITS)));
+        }
+        return row.build();
+    }
+
+    private static long pack(int cinema, int movie, int date, int dayType, int timeSlot, int seatType) {
+        return ((long) cinema << CINEMA_SHIFT)
+                | ((long) movie << MOVIE_SHIFT)
+                | ((long) date << DATE_SHIFT)
+                | ((long) dayType << DAY_TYPE_SHIFT)
+                | ((long) timeSlot << TIME_SLOT_SHIFT)
+                | seatType;
+    }
+
+    private static int field(long key, int shift, int bits) {
+        return (int) ((key >>> shift) & ((1L << bits) - 1));
+    }
+
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static LocalDate monthStart(int monthKey) {
+        return LocalDate.of(monthKey / 12, monthKey % 12 + 1, 1);
+    }
+
+    /**
+     * Cells of one grain, stored column by column
+     */
+    private static final class Cells {
+        int size;
+        int[] cinema = new int[1024];
+        int[] movie = new int[1024];
+        int[] date = new int[1024];
+        int[] month = new int[1024];
+        byte[] dayType = new byte[1024];
+        byte[] timeSlot = new byte[1024];
+        int[] seatType = new int[1024];
+        long[] ticketMinor = new long[1024];
+        long[] comboMinor = new long[1024];
+        long[] tickets = new long[1024];
+        final Map<Long, Integer> rowByKey = new HashMap<>();
+
+        void add(
+                int c,
+                int m,
+                int d,
+                int mo,
+                int dt,
+                int ts,
+                int s,
+                long ticketRevenue,
+                long comboRevenue,
+                long ticketCount) {
+            if (d < 0 || d >= 1 << DATE_BITS) {
+                throw new IllegalArgumentException("Date out of cube range: " + d);
+            }
+            int row = rowByKey.computeIfAbsent(pack(c, m, d, dt, ts, s), k -> append(c, m, d, mo, dt, ts, s));
+            ticketMinor[row] += ticketRevenue;
+            comboMinor[row] += comboRevenue;
+            tickets[row] += ticketCount;
+        }
+
+        private int append(int c, int m, int d, int mo, int dt, int ts, int s) {
+            if (size == cinema.length) {
+                int capacity = size * 2;
+                cinema = Arrays.copyOf(cinema, capacity);
+                movie = Arrays.copyOf(movie, capacity);
+                date = Arrays.copyOf(date, capacity);
+                month = Arrays.copyOf(month, capacity);
+                dayType = Arrays.copyOf(dayType, capacity);
+                timeSlot = Arrays.copyOf(timeSlot, capacity);
+                seatType = Arrays.copyOf(seatType, capacity);
+                ticketMinor = Arrays.copyOf(ticketMinor, capacity);
+                comboMinor = Arrays.copyOf(comboMinor, capacity);
+                tickets = Arrays.copyOf(tickets, capacity);
+            }
+            cinema[size] = c;
+            movie[size] = m;
+            date[size] = d;
+            month[size] = mo;
+            dayType[size] = (byte) dt;
+            timeSlot[size] = (byte) ts;
+            seatType[size] = s;
+            return size++;
+        }
+
+        /**
+         * Sum matching cells with date in [dateFrom, dateTo] into groups
+         * @return number of cells scanned
+         */
+        int scan(int dateFrom, int dateTo, Filter filter, Set<CubeDimension> group, Map<Long, long[]> groups) {
+            boolean byCinema = group.contains(CubeDimension.CINEMA);
+            boolean byMovie = group.contains(CubeDimension.MOVIE);
+            boolean byDate = group.contains(CubeDimension.DATE);
+            boolean byMonth = group.contains(CubeDimension.MONTH);
+            boolean byDayType = group.contains(CubeDimension.DAY_TYPE);
+            boolean byTimeSlot = group.contains(CubeDimension.TIME_SLOT);
+            boolean bySeatType = group.contains(CubeDimension.SEAT_TYPE);
+
+            for (int i = 0; i < size; i++) {
+                int d = date[i];
+                if (d < dateFrom || d > dateTo || !filter.matches(this, i)) {
+                    continue;
+                }
+                long key = pack(
+                        byCinema ? cinema[i] : 0,
+                        byMovie ? movie[i] : 0,
+                        byDate ? d : byMonth ? month[i] : 0,
+                        byDayType ? dayType[i] : 0,
+                        byTimeSlot ? timeSlot[i] : 0,
+                        bySeatType ? seatType[i] : 0);
+                long[] m = groups.computeIfAbsent(key, k -> new long[3]);
+                m[0] += ticketMinor[i];
+                m[1] += comboMinor[i];
+                m[2] += tickets[i];
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Filter resolved to per-dimension masks; a null mask matches everything
+     */
+    private final class Filter {
+        final boolean[] cinemaMask;
+        final boolean[] movieMask;
+        final boolean[] seatTypeMask;
+        final boolean[] dayTypeMask;
+        final boolean[] timeSlotMask;
+
+        Filter(RevenueCubeQueryRequest request) {
+            cinemaMask = cinemas.mask(request.getCinemaIds());
+            movieMask = movies.mask(request.getMovieIds());
+            seatTypeMask = seatTypes.mask(request.getSeatTypeIds());
+            dayTypeMask = enumMask(request.getDayTypes(), DAY_TYPES.length);
+            timeSlotMask = enumMask(request.getTimeSlots(), TIME_SLOTS.length);
+        }
+
+        boolean matches(Cells cells, int i) {
+            return (cinemaMask == null || cinemaMask[cells.cinema[i]])
+                    && (movieMask == null || movieMask[cells.movie[i]])
+                    && (seatTypeMask == null || seatTypeMask[cells.seatType[i]])
+                    && (dayTypeMask == null || dayTypeMask[cells.dayType[i]])
+                    && (timeSlotMask == null || timeSlotMask[cells.timeSlot[i]]);
+        }
+
+        private static boolean[] enumMask(Collection<? extends Enum<?>> values, int length) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            boolean[] mask = new boolean[length];
+            values.forEach(v -> mask[v.ordinal()] = true);
+            return mask;
+        }
+    }
+
+    /**
+     * String id <-> int code, code 0 is reserved for null
+     */
+    private static final class Dictionary {
+        final int capacity;
+        final Map<String, Integer> codes = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+
+        Dictionary(int capacity) {
+            this.capacity = capacity;
+            values.add(null);
+        }
+
+        int index(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                if (values.size() >= capacity) {
+                    throw new IllegalStateException("Revenue cube dimension is full (" + capacity + " values)");
+                }
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        String value(int code) {
+            return values.get(code);
+        }
+
+        boolean[] mask(Collection<String> selected) {
+            if (selected == null || selected.isEmpty()) {
+                return null;
+            }
+            boolean[] mask = new boolean[values.size()];
+            for (String v : selected) {
+                Integer code = codes.get(v);
+                if (code != null) {
+                    mask[code] = true;
+                }
+            }
+            return mask;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.theatermgnt.theatermgnt.revenue.service;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.revenue.dto.request.RevenueCubeQueryRequest;
+import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueCubeResponse;
+import com.theatermgnt.theatermgnt.revenue.event.RevenueDeltaRecordedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RevenueCubeService - Builds and maintains the in-memory RevenueCube
+ * The cube is built from paid bookings (tickets by seat type, plus combos) with one streamed query,
+ * then kept current by re-reading only the bookings named by RevenueDeltaRecordedEvent. A nightly
+ * rebuild swaps in a fresh cube to pick up backfills and manual corrections.
+ */
+@Service
+@Slf4j
+public class RevenueCubeService {
+    private static final int FETCH_SIZE = 2000;
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    // Ticket revenue is the booking total minus combos, split across seat types by ticket price
+    private static final String FACTS =
+            """
+		WITH bk AS (
+			SELECT b.id, b.total_amount, r.cinema_id, s.movie_id, s.start_time,
+				COALESCE((SELECT SUM(bc.subtotal) FROM booking_combos bc WHERE bc.booking_id = b.id::TEXT), 0) AS combo_revenue
+			FROM invoices i
+			JOIN bookings b ON b.id::TEXT = i.booking_id
+			JOIN screenings s ON s.id = b.screening_id
+			JOIN rooms r ON r.id = s.room_id
+			WHERE %s
+		)
+		SELECT bk.id::TEXT AS booking_id, bk.cinema_id, bk.movie_id, bk.start_time, bk.total_amount, bk.combo_revenue,
+			t.seat_type_id, t.price, t.tickets
+		FROM bk
+		LEFT JOIN LATERAL (
+			SELECT se.seat_type_id, SUM(tk.price) AS price, COUNT(*) AS tickets
+			FROM tickets tk
+			JOIN screening_seats ss ON ss.id = tk.screening_seat_id
+			JOIN seats se ON se.id = ss.seat_id
+			WHERE tk.booking_id = bk.id
+			GROUP BY se.seat_type_id
+		) t ON TRUE
+		ORDER BY bk.id
+	""";
+
+    private static final String ALL_PAID_FACTS = FACTS.formatted("i.status = 'PAID'");
+    private static final String BOOKING_FACTS = FACTS.formatted("b.id::TEXT = ANY(?)");
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor reportingExecutor;
+
+    private volatile RevenueCube cube;
+    private final Queue<PendingBooking> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingSeq = new AtomicLong();
+    // Held by rebuild for its whole run and by refresh while it drains, so the two never interleave
+    private final ReentrantLock cubeLock = new ReentrantLock();
+
+    public RevenueCubeService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("reportingExecutor") Executor reportingExecutor) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // One snapshot for the whole transaction, taken by its first statement
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.reportingExecutor = reportingExecutor;
+    }
+
+    public RevenueCubeResponse query(RevenueCubeQueryRequest request) {
+        RevenueCube current = cube;
+        if (current == null) {
+            throw new AppException(ErrorCode.REVENUE_CUBE_NOT_READY);
+        }
+        return current.query(request);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        CompletableFuture.runAsync(this::rebuild, reportingExecutor);
+    }
+
+    @Scheduled(cron = "${revenue.cube.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        cubeLock.lock();
+        try {
+            long startedAt = System.currentTimeMillis();
+            RevenueCube fresh = new RevenueCube();
+            FactCollector collector = new FactCollector(fresh, 1);
+            long coveredSeq = readOnlyTransaction.execute(status -> {
+                streamingJdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                // The snapshot is fixed now: bookings queued up to here committed before it, so the scan has them
+                long seq = pendingSeq.get();
+                streamingJdbcTemplate.query(ALL_PAID_FACTS, collector);
+                return seq;
+            });
+            collector.finish();
+
+            cube = fresh;
+            pending.removeIf(p -> p.seq <= coveredSeq);
+            log.info(
+                    "Revenue cube built: {} bookings, {} cells in {} ms",
+                    collector.bookings,
+                    fresh.cellCount(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Failed to build revenue cube", e);
+        } finally {
+            cubeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleRevenueDeltaRecorded(RevenueDeltaRecordedEvent event) {
+        if (event.getBookingId() == null) {
+            return;
+        }
+        pending.add(new PendingBooking(
+                pendingSeq.incrementAndGet(), event.getBookingId(), event.getTransactions() < 0 ? -1 : 1));
+    }
+
+    /**
+     * Apply queued payments (+) and refunds (-) by re-reading just those bookings
+     */
+    @Scheduled(fixedDelayString = "${revenue.cube.refresh-ms:30000}")
+    public void refresh() {
+        if (cube == null || pending.isEmpty()) {
+            return;
+        }
+        // A running rebuild settles the queue against its own snapshot, the next interval picks up the rest
+        if (!cubeLock.tryLock()) {
+            return;
+        }
+        try {
+            refresh(cube);
+        } finally {
+            cubeLock.unlock();
+        }
+    }
+
+    private void refresh(RevenueCube current) {
+        // A payment and its refund inside one interval cancel out
+        Map<String, Integer> signs = new HashMap<>();
+        PendingBooking next;
+        while ((next = pending.poll()) != null) {
+            signs.merge(next.bookingId, next.sign, Integer::sum);
+        }
+        signs.values().removeIf(sign -> sign == 0);
+
+        Map<Integer, List<String>> bySign = new HashMap<>();
+        signs.forEach((bookingId, sign) -> bySign.computeIfAbsent(sign, k -> new ArrayList<>()).add(bookingId));
+        bySign.forEach((sign, bookingIds) -> {
+            for (int i = 0; i < bookingIds.size(); i += REFRESH_CHUNK_SIZE) {
+                String[] chunk = bookingIds
+                        .subList(i, Math.min(i + REFRESH_CHUNK_SIZE, bookingIds.size()))
+                        .toArray(String[]::new);
+                FactCollector collector = new FactCollector(current, sign);
+                streamingJdbcTemplate.query(BOOKING_FACTS, collector, (Object) chunk);
+                collector.finish();
+            }
+        });
+        log.debug("Revenue cube refreshed with {} bookings", signs.size());
+    }
+
+    /**
+     * Folds the per-seat-type rows of each booking into cube cells
+     * Rows arrive ordered by booking, so a booking is complete when the next one starts.
+     */
+    private static final class FactCollector implements RowCallbackHandler {
+        final RevenueCube target;
+        final int sign;
+        final List<SeatTypeShare> shares = new ArrayList<>();
+        String bookingId;
+        String cinemaId;
+        String movieId;
+        LocalDateTime startTime;
+        long ticketMinor;
+        long comboMinor;
+        int bookings;
+
+        FactCollector(RevenueCube target, int sign) {
+            this.target = target;
+            this.sign = sign;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String rowBookingId = rs.getString("booking_id");
+            if (!rowBookingId.equals(bookingId)) {
+                finish();
+                Timestamp start = rs.getTimestamp("start_time");
+                BigDecimal total = rs.getBigDecimal("total_amount");
+                BigDecimal combo = rs.getBigDecimal("combo_revenue");
+                bookingId = rowBookingId;
+                cinemaId = rs.getString("cinema_id");
+                movieId = rs.getString("movie_id");
+                startTime = start != null ? start.toLocalDateTime() : null;
+                comboMinor = RevenueDeltaWriter.toMinor(combo);
+                ticketMinor = RevenueDeltaWriter.toMinor(total) - comboMinor;
+            }
+
+            String seatTypeId = rs.getString("seat_type_id");
+            if (seatTypeId != null) {
+                shares.add(new SeatTypeShare(
+                        seatTypeId, RevenueDeltaWriter.toMinor(rs.getBigDecimal("price")), rs.getLong("tickets")));
+            }
+        }
+
+        void finish() {
+            if (bookingId == null) {
+                return;
+            }
+            if (startTime != null) {
+                long priceTotal = shares.stream().mapToLong(s -> s.priceMinor).sum();
+                if (shares.isEmpty() || priceTotal == 0) {
+                    target.add(cinemaId, movieId, startTime, null, sign * ticketMinor, 0, 0);
+                } else {
+                    // Spread the discounted ticket revenue by list price, the last share takes the rounding
+                    long allocated = 0;
+                    for (int i = 0; i < shares.size(); i++) {
+                        SeatTypeShare share = shares.get(i);
+                        long amount = i == shares.size() - 1
+                                ? ticketMinor - allocated
+                                : Math.multiplyExact(ticketMinor, share.priceMinor) / priceTotal;
+                        allocated += amount;
+                        target.add(cinemaId, movieId, startTime, share.seatTypeId, sign * amount, 0, sign * share.tickets);
+                    }
+                }
+                if (comboMinor != 0) {
+                    target.add(cinemaId, movieId, startTime, null, 0, sign * comboMinor, 0);
+                }
+                bookings++;
+            }
+            shares.clear();
+            bookingId = null;
+        }
+    }
+
+    private static final class SeatTypeShare {
+        final String seatTypeId;
+        final long priceMinor;
+        final long tickets;
+
+        SeatTypeShare(String seatTypeId, long priceMinor, long tickets) {
+            this.seatTypeId = seatTypeId;
+            this.priceMinor = priceMinor;
+            this.tickets = tickets;
+        }
+    }
+
+    private static final class PendingBooking {
+        final long seq;
+        final String bookingId;
+        final int sign;
+
+        PendingBooking(long seq, String bookingId, int sign) {
+            this.seq = seq;
+            this.bookingId = bookingId;
+            this.sign = sign;
+        }
+    }
+}
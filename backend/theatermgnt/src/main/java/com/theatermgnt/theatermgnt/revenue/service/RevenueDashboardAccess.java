@@ -0,0 +1,43 @@
+package com.theatermgnt.theatermgnt.revenue.service;
+
+import java.util.Set;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import com.theatermgnt.theatermgnt.authentication.dto.response.SocketPrincipal;
+import com.theatermgnt.theatermgnt.constant.PredefinedRole;
+
+/**
+ * RevenueDashboardAccess - Who may see a cinema's live dashboard
+ * Admins see every cinema, managers only the cinema on their token. The snapshot endpoint checks it
+ * through @PreAuthorize and the dashboard:subscribe socket event directly, so both paths agree.
+ */
+@Component("revenueDashboardAccess")
+public class RevenueDashboardAccess {
+
+    public boolean canView(Authentication authentication, String cinemaId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return false;
+        }
+        return canView(
+                AuthorityUtils.authorityListToSet(authentication.getAuthorities()),
+                jwt.getClaimAsString("cinemaId"),
+                cinemaId);
+    }
+
+    public boolean canView(SocketPrincipal principal, String cinemaId) {
+        return principal != null && canView(principal.getAuthorities(), principal.getCinemaId(), cinemaId);
+    }
+
+    private static boolean canView(Set<String> authorities, String principalCinemaId, String cinemaId) {
+        if (authorities.contains("ROLE_" + PredefinedRole.ADMIN_ROLE)) {
+            return true;
+        }
+        return authorities.contains("ROLE_" + PredefinedRole.MANAGER_ROLE)
+                && cinemaId != null
+                && cinemaId.equals(principalCinemaId);
+    }
+}
@@ -0,0 +1,200 @@
+package com.theatermgnt.theatermgnt.revenue.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.theatermgnt.theatermgnt.notification.service.SocketIOService;
+import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueDashboardResponse;
+import com.theatermgnt.theatermgnt.revenue.entity.DailyRevenueSummary;
+import com.theatermgnt.theatermgnt.revenue.entity.MovieRevenue;
+import com.theatermgnt.theatermgnt.revenue.event.RevenueDeltaRecordedEvent;
+import com.theatermgnt.theatermgnt.revenue.repository.DailyRevenueSummaryRepository;
+import com.theatermgnt.theatermgnt.revenue.repository.MovieRevenueRepository;
+import com.theatermgnt.theatermgnt.screening.repository.CinemaOccupancy;
+import com.theatermgnt.theatermgnt.screening.repository.ScreeningRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RevenueDashboardService - Live KPIs of the current day per cinema
+ * Revenue counters are seeded once at startup and then follow RevenueDeltaRecordedEvent in memory;
+ * occupancy is refreshed with one grouped query on a fixed interval. Changed cinemas are pushed to
+ * their dashboard room every tick, so viewers never cause queries of their own.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueDashboardService {
+    public static final String DASHBOARD_UPDATE_EVENT = "dashboard:update";
+
+    private final DailyRevenueSummaryRepository dailyRevenueSummaryRepository;
+    private final MovieRevenueRepository movieRevenueRepository;
+    private final ScreeningRepository screeningRepository;
+    private final SocketIOService socketIOService;
+
+    private volatile DashboardDay today = new DashboardDay(LocalDate.now());
+
+    public static String dashboardRoom(String cinemaId) {
+        return "cinema:" + cinemaId + ":dashboard";
+    }
+
+    /**
+     * Seed today's counters from the summary tables
+     * Ordered after RevenueAccumulator's recovery so replayed deltas are already flushed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void loadToday() {
+        DashboardDay day = currentDay();
+        LocalDate date = day.date;
+
+        for (DailyRevenueSummary summary : dailyRevenueSummaryRepository.findFiltered(null, date, date)) {
+            CinemaKpi kpi = day.kpi(summary.getCinemaId());
+            kpi.ticketMinor.add(RevenueDeltaWriter.toMinor(summary.getTicketRevenue()));
+            kpi.comboMinor.add(RevenueDeltaWriter.toMinor(summary.getComboRevenue()));
+            kpi.transactions.add(summary.getTotalTransactions() != null ? summary.getTotalTransactions() : 0);
+        }
+        for (MovieRevenue revenue : movieRevenueRepository.findFiltered(null, null, date, date)) {
+            day.kpi(revenue.getCinemaId())
+                    .ticketsSold
+                    .add(revenue.getTotalTicketsSold() != null ? revenue.getTotalTicketsSold() : 0);
+        }
+        refreshOccupancy(day);
+        log.info("Revenue dashboard loaded for {} cinemas on {}", day.kpis.size(), date);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleRevenueDeltaRecorded(RevenueDeltaRecordedEvent event) {
+        DashboardDay day = currentDay();
+        if (!day.date.equals(event.getReportDate())) {
+            return;
+        }
+
+        CinemaKpi kpi = day.kpi(event.getCinemaId());
+        kpi.ticketMinor.add(RevenueDeltaWriter.toMinor(event.getTicketRevenue()));
+        kpi.comboMinor.add(RevenueDeltaWriter.toMinor(event.getComboRevenue()));
+        kpi.transactions.add(event.getTransactions());
+        kpi.ticketsSold.add(event.getTicketsSold());
+        kpi.dirty.set(true);
+    }
+
+    /**
+     * Push cinemas that changed since the last tick; SocketIOService skips rooms nobody watches
+     */
+    @Scheduled(fixedDelayString = "${revenue.dashboard.tick-ms:2000}")
+    public void tick() {
+        DashboardDay day = currentDay();
+        day.kpis.forEach((cinemaId, kpi) -> {
+            if (kpi.dirty.getAndSet(false)) {
+                socketIOService.emitToRoom(
+                        dashboardRoom(cinemaId),
+                        DASHBOARD_UPDATE_EVENT,
+                        DASHBOARD_UPDATE_EVENT,
+                        toResponse(cinemaId, day.date, kpi));
+            }
+        });
+    }
+
+    @Scheduled(
+            fixedDelayString = "${revenue.dashboard.occupancy-refresh-ms:60000}",
+            initialDelayString = "${revenue.dashboard.occupancy-refresh-ms:60000}")
+    public void refreshOccupancy() {
+        refreshOccupancy(currentDay());
+    }
+
+    /**
+     * Snapshot for the initial page load, live updates follow on the dashboard room
+     */
+    public RevenueDashboardResponse getSnapshot(String cinemaId) {
+        DashboardDay day = currentDay();
+        CinemaKpi kpi = day.kpis.get(cinemaId);
+        return toResponse(cinemaId, day.date, kpi != null ? kpi : new CinemaKpi());
+    }
+
+    private void refreshOccupancy(DashboardDay day) {
+        for (CinemaOccupancy occupancy : screeningRepository.sumOccupancyByCinema(
+                day.date.atStartOfDay(), day.date.plusDays(1).atStartOfDay())) {
+            CinemaKpi kpi = day.kpi(occupancy.getCinemaId());
+            long capacity = occupancy.getSeatCapacity() != null ? occupancy.getSeatCapacity() : 0;
+            long sold = occupancy.getSeatsSold() != null ? occupancy.getSeatsSold() : 0;
+            if (kpi.seatCapacity != capacity || kpi.seatsSold != sold) {
+                kpi.seatCapacity = capacity;
+                kpi.seatsSold = sold;
+                kpi.dirty.set(true);
+            }
+        }
+    }
+
+    // Counters start from zero at midnight, nothing can have been recorded for the new date yet
+    private DashboardDay currentDay() {
+        DashboardDay day = today;
+        LocalDate now = LocalDate.now();
+        if (day.date.equals(now)) {
+            return day;
+        }
+        synchronized (this) {
+            if (!today.date.equals(now)) {
+                today = new DashboardDay(now);
+                log.info("Revenue dashboard rolled over to {}", now);
+            }
+            return today;
+        }
+    }
+
+    private static RevenueDashboardResponse toResponse(String cinemaId, LocalDate date, CinemaKpi kpi) {
+        long ticketMinor = kpi.ticketMinor.sum();
+        long comboMinor = kpi.comboMinor.sum();
+        long capacity = kpi.seatCapacity;
+        long sold = kpi.seatsSold;
+        return RevenueDashboardResponse.builder()
+                .cinemaId(cinemaId)
+                .reportDate(date)
+                .ticketRevenue(RevenueDeltaWriter.fromMinor(ticketMinor))
+                .comboRevenue(RevenueDeltaWriter.fromMinor(comboMinor))
+                .netRevenue(RevenueDeltaWriter.fromMinor(ticketMinor + comboMinor))
+                .totalTransactions(kpi.transactions.sum())
+                .ticketsSold(kpi.ticketsSold.sum())
+                .seatCapacity(capacity)
+                .seatsSold(sold)
+                .occupancyRate(capacity > 0 ? (double) sold / capacity : 0d)
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    private static final class DashboardDay {
+        final LocalDate date;
+        final Map<String, CinemaKpi> kpis = new ConcurrentHashMap<>();
+
+        DashboardDay(LocalDate date) {
+            this.date = date;
+        }
+
+        CinemaKpi kpi(String cinemaId) {
+            return kpis.computeIfAbsent(cinemaId, k -> new CinemaKpi());
+        }
+    }
+
+    private static final class CinemaKpi {
+        final LongAdder ticketMinor = new LongAdder();
+        final LongAdder comboMinor = new LongAdder();
+        final LongAdder transactions = new LongAdder();
+        final LongAdder ticketsSold = new LongAdder();
+        final AtomicBoolean dirty = new AtomicBoolean(true);
+        volatile long seatCapacity;
+        volatile long seatsSold;
+    }
+}
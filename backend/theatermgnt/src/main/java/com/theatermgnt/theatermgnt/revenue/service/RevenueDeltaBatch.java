@@ -0,0 +1,145 @@
+package com.theatermgnt.theatermgnt.revenue.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.theatermgnt.theatermgnt.revenue.dto.DailyRevenueDelta;
+import com.theatermgnt.theatermgnt.revenue.dto.MovieRevenueDelta;
+import com.theatermgnt.theatermgnt.revenue.entity.RevenueProcessingLog;
+
+import lombok.Getter;
+
+/**
+ * Revenue deltas summed per (cinema, date) and (movie, cinema, date) in minor units, safe for concurrent adds
+ */
+final class RevenueDeltaBatch {
+    private final Map<DailyKey, DailyCounters> daily = new ConcurrentHashMap<>();
+    private final Map<MovieKey, MovieCounters> movie = new ConcurrentHashMap<>();
+    @Getter
+    private final Set<String> processingLogIds = ConcurrentHashMap.newKeySet();
+
+    void add(
+            String processingLogId,
+            String cinemaId,
+            String movieId,
+            LocalDate reportDate,
+            long ticketMinor,
+            long comboMinor,
+            long ticketsSold,
+            long transactions) {
+        // A processing log counts once per batch, however often it is offered
+        if (processingLogId != null && !processingLogIds.add(processingLogId)) {
+            return;
+        }
+        DailyCounters d = daily.computeIfAbsent(new DailyKey(cinemaId, reportDate), k -> new DailyCounters());
+        d.ticketMinor.add(ticketMinor);
+        d.comboMinor.add(comboMinor);
+        d.transactions.add(transactions);
+
+        MovieCounters m =
+                movie.computeIfAbsent(new MovieKey(movieId, cinemaId, reportDate), k -> new MovieCounters());
+        m.revenueMinor.add(ticketMinor);
+        m.ticketsSold.add(ticketsSold);
+    }
+
+    void add(RevenueProcessingLog entry) {
+        add(
+                entry.getId(),
+                entry.getCinemaId(),
+                entry.getMovieId(),
+                entry.getReportDate(),
+                RevenueDeltaWriter.toMinor(entry.getTicketRevenue()),
+                RevenueDeltaWriter.toMinor(entry.getComboRevenue()),
+                entry.getTicketsSold() != null ? entry.getTicketsSold() : 0,
+                entry.getTransactions() != null ? entry.getTransactions() : 0);
+    }
+
+    boolean isEmpty() {
+        return daily.isEmpty() && movie.isEmpty();
+    }
+
+    List<DailyRevenueDelta> dailyDeltas() {
+        return daily.entrySet().stream()
+                .map(e -> DailyRevenueDelta.builder()
+                        .cinemaId(e.getKey().cinemaId)
+                        .reportDate(e.getKey().reportDate)
+                        .ticketRevenueMinor(e.getValue().ticketMinor.sum())
+                        .comboRevenueMinor(e.getValue().comboMinor.sum())
+                        .transactions(e.getValue().transactions.sum())
+                        .build())
+                .toList();
+    }
+
+    List<MovieRevenueDelta> movieDeltas() {
+        return movie.entrySet().stream()
+                .map(e -> MovieRevenueDelta.builder()
+                        .movieId(e.getKey().movieId)
+                        .cinemaId(e.getKey().cinemaId)
+                        .reportDate(e.getKey().reportDate)
+                        .revenueMinor(e.getValue().revenueMinor.sum())
+                        .ticketsSold(e.getValue().ticketsSold.sum())
+                        .build())
+                .toList();
+    }
+
+    private static final class DailyCounters {
+        final LongAdder ticketMinor = new LongAdder();
+        final LongAdder comboMinor = new LongAdder();
+        final LongAdder transactions = new LongAdder();
+    }
+
+    private static final class MovieCounters {
+        final LongAdder revenueMinor = new LongAdder();
+        final LongAdder ticketsSold = new LongAdder();
+    }
+
+    private static final class DailyKey {
+        final String cinemaId;
+        final LocalDate reportDate;
+
+        DailyKey(String cinemaId, LocalDate reportDate) {
+            this.cinemaId = cinemaId;
+            this.reportDate = reportDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DailyKey k && cinemaId.equals(k.cinemaId) && reportDate.equals(k.reportDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cinemaId, reportDate);
+        }
+    }
+
+    private static final class MovieKey {
+        final String movieId;
+        final String cinemaId;
+        final LocalDate reportDate;
+
+        MovieKey(String movieId, String cinemaId, LocalDate reportDate) {
+            this.movieId = movieId;
+            this.cinemaId = cinemaId;
+            this.reportDate = reportDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MovieKey k
+                    && movieId.equals(k.movieId)
+                    && cinemaId.equals(k.cinemaId)
+                    && reportDate.equals(k.reportDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(movieId, cinemaId, reportDate);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.theatermgnt.theatermgnt.revenue.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.theatermgnt.theatermgnt.revenue.dto.DailyRevenueDelta;
+import com.theatermgnt.theatermgnt.revenue.dto.MovieRevenueDelta;
+import com.theatermgnt.theatermgnt.revenue.repository.RevenueProcessingLogRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes aggregated revenue deltas with additive upserts, so concurrent writers never lose increments
+ * Processing logs are claimed (flushed = false -> true) before their deltas are applied, so a log that
+ * two writers picked up, e.g. a flush and another instance's recovery sweep, is only counted once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueDeltaWriter {
+    private static final int CLAIM_CHUNK_SIZE = 1000;
+
+    private static final String CLAIM_LOGS =
+            """
+		UPDATE revenue_processing_log SET flushed = true
+		WHERE id = ANY (?) AND flushed = false
+		RETURNING id
+	""";
+
+    private static final String UPSERT_DAILY =
+            """
+		INSERT INTO daily_revenue_summary
+			(id, cinema_id, report_date, ticket_revenue, combo_revenue, net_revenue, total_transactions)
+		VALUES (gen_random_uuid()::text, ?, ?, ?, ?, ?, ?)
+		ON CONFLICT (cinema_id, report_date) DO UPDATE SET
+			ticket_revenue = daily_revenue_summary.ticket_revenue + EXCLUDED.ticket_revenue,
+			combo_revenue = daily_revenue_summary.combo_revenue + EXCLUDED.combo_revenue,
+			net_revenue = daily_revenue_summary.net_revenue + EXCLUDED.net_revenue,
+			total_transactions = daily_revenue_summary.total_transactions + EXCLUDED.total_transactions
+	""";
+
+    private static final String UPSERT_MOVIE =
+            """
+		INSERT INTO movie_revenue
+			(id, movie_id, cinema_id, report_date, total_revenue, total_tickets_sold)
+		VALUES (gen_random_uuid()::text, ?, ?, ?, ?, ?)
+		ON CONFLICT (movie_id, cinema_id, report_date) DO UPDATE SET
+			total_revenue = movie_revenue.total_revenue + EXCLUDED.total_revenue,
+			total_tickets_sold = movie_revenue.total_tickets_sold + EXCLUDED.total_tickets_sold
+	""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RevenueProcessingLogRepository processingLogRepository;
+
+    /**
+     * Claim the processing logs the deltas came from and apply the deltas, in one transaction
+     * When some logs were already claimed elsewhere, only the claimed logs' own deltas are applied.
+     */
+    @Transactional
+    public void write(
+            Collection<DailyRevenueDelta> dailyDeltas,
+            Collection<MovieRevenueDelta> movieDeltas,
+            Collection<String> processingLogIds) {
+        if (!processingLogIds.isEmpty()) {
+            List<String> claimed = claim(processingLogIds);
+            if (claimed.size() < processingLogIds.size()) {
+                log.info(
+                        "{} of {} revenue processing logs were already flushed, applying the rest from the log",
+                        processingLogIds.size() - claimed.size(),
+                        processingLogIds.size());
+                RevenueDeltaBatch batch = new RevenueDeltaBatch();
+                processingLogRepository.findAllById(claimed).forEach(batch::add);
+                dailyDeltas = batch.dailyDeltas();
+                movieDeltas = batch.movieDeltas();
+            }
+        }
+
+        if (!dailyDeltas.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(dailyDeltas.size());
+            for (DailyRevenueDelta d : dailyDeltas) {
+                BigDecimal ticket = fromMinor(d.getTicketRevenueMinor());
+                BigDecimal combo = fromMinor(d.getComboRevenueMinor());
+                rows.add(new Object[] {
+                    d.getCinemaId(), d.getReportDate(), ticket, combo, ticket.add(combo), (int) d.getTransactions()
+                });
+            }
+            jdbcTemplate.batchUpdate(UPSERT_DAILY, rows);
+        }
+
+        if (!movieDeltas.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(movieDeltas.size());
+            for (MovieRevenueDelta d : movieDeltas) {
+                rows.add(new Object[] {
+                    d.getMovieId(),
+                    d.getCinemaId(),
+                    d.getReportDate(),
+                    fromMinor(d.getRevenueMinor()),
+                    (int) d.getTicketsSold()
+                });
+            }
+            jdbcTemplate.batchUpdate(UPSERT_MOVIE, rows);
+        }
+
+        log.debug(
+                "Flushed {} daily and {} movie revenue deltas from {} processing logs",
+                dailyDeltas.size(),
+                movieDeltas.size(),
+                processingLogIds.size());
+    }
+
+    // Row locks make a concurrent claimer wait for this transaction, then skip the rows it flushed
+    private List<String> claim(Collection<String> processingLogIds) {
+        List<String> ids = new ArrayList<>(processingLogIds);
+        List<String> claimed = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += CLAIM_CHUNK_SIZE) {
+            String[] chunk = ids.subList(i, Math.min(i + CLAIM_CHUNK_SIZE, ids.size())).toArray(String[]::new);
+            claimed.addAll(jdbcTemplate.queryForList(CLAIM_LOGS, String.class, (Object) chunk));
+        }
+        return claimed;
+    }
+
+    public static long toMinor(BigDecimal amount) {
+        if (amount == null) return 0L;
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, 2);
+    }
+}
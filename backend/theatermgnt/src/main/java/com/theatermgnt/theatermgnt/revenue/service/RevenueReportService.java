@@ -3,12 +3,12 @@ package com.theatermgnt.theatermgnt.revenue.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
-import com.theatermgnt.theatermgnt.cinema.service.CinemaService;
 import com.theatermgnt.theatermgnt.common.exception.AppException;
 import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
 import com.theatermgnt.theatermgnt.revenue.dto.request.RevenueReportCreateRequest;
@@ -28,7 +28,6 @@ public class RevenueReportService {
 
     private final RevenueReportRepository revenueReportRepository;
     private final DailyRevenueSummaryRepository dailyRevenueSummaryRepository;
-    private final CinemaService cinemaService;
 
     public RevenueReportResponse create(RevenueReportCreateRequest request) {
         validateDateRange(request.getStartDate(), request.getEndDate());
@@ -116,59 +115,34 @@ public class RevenueReportService {
     }
 
     private RevenueReportResponse generateForAllCinemas(RevenueReportGenerateRequest request) {
-        // Get all cinemas
-        List<String> cinemaIds = cinemaService.getCinemas().stream()
-                .map(cinema -> cinema.getId())
+        LocalDateTime generatedAt = LocalDateTime.now();
+        List<RevenueReportResponse> cinemaReports = revenueReportRepository
+                .upsertForAllCinemas(
+                        request.getReportType().name(), request.getStartDate(), request.getEndDate(), generatedAt)
+                .stream()
+                .map(this::toResponse)
+                .sorted(Comparator.comparing(RevenueReportResponse::getNetRevenue).reversed())
                 .toList();
 
-        // Generate report for each cinema (upsert logic)
-        for (String cinemaId : cinemaIds) {
-            List<DailyRevenueSummary> rows =
-                    dailyRevenueSummaryRepository.findFiltered(cinemaId, request.getStartDate(), request.getEndDate());
-
-            BigDecimal totalTicket =
-                    rows.stream().map(DailyRevenueSummary::getTicketRevenue).reduce(BigDecimal.ZERO, BigDecimal::add);
-            BigDecimal totalCombo =
-                    rows.stream().map(DailyRevenueSummary::getComboRevenue).reduce(BigDecimal.ZERO, BigDecimal::add);
-            BigDecimal net =
-                    rows.stream().map(DailyRevenueSummary::getNetRevenue).reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Check if report already exists (upsert logic)
-            List<RevenueReport> existing = revenueReportRepository.findByCinemaIdAndReportTypeAndStartDateAndEndDate(
-                    cinemaId, request.getReportType(), request.getStartDate(), request.getEndDate());
-
-            RevenueReport entity;
-            if (!existing.isEmpty()) {
-                // Update existing report
-                entity = existing.get(0);
-                entity.setTotalTicketRevenue(totalTicket);
-                entity.setTotalComboRevenue(totalCombo);
-                entity.setNetRevenue(net);
-                entity.setGeneratedAt(LocalDateTime.now());
-            } else {
-                // Create new report
-                entity = RevenueReport.builder()
-                        .cinemaId(cinemaId)
-                        .reportType(request.getReportType())
-                        .startDate(request.getStartDate())
-                        .endDate(request.getEndDate())
-                        .totalTicketRevenue(totalTicket)
-                        .totalComboRevenue(totalCombo)
-                        .netRevenue(net)
-                        .generatedAt(LocalDateTime.now())
-                        .build();
-            }
-
-            revenueReportRepository.save(entity);
+        BigDecimal totalTicket = BigDecimal.ZERO;
+        BigDecimal totalCombo = BigDecimal.ZERO;
+        BigDecimal net = BigDecimal.ZERO;
+        for (RevenueReportResponse report : cinemaReports) {
+            totalTicket = totalTicket.add(report.getTotalTicketRevenue());
+            totalCombo = totalCombo.add(report.getTotalComboRevenue());
+            net = net.add(report.getNetRevenue());
         }
 
-        // Return a placeholder response
         return RevenueReportResponse.builder()
                 .cinemaId("ALL")
                 .reportType(request.getReportType())
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
-                .generatedAt(LocalDateTime.now())
+                .totalTicketRevenue(totalTicket)
+                .totalComboRevenue(totalCombo)
+                .netRevenue(net)
+                .generatedAt(generatedAt)
+                .cinemaReports(cinemaReports)
                 .build();
     }
 
@@ -1,82 +1,302 @@
 package com.theatermgnt.theatermgnt.revenue.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.theatermgnt.theatermgnt.payment.entity.Invoice;
-import com.theatermgnt.theatermgnt.payment.entity.InvoiceStatus;
-import com.theatermgnt.theatermgnt.payment.entity.Payment;
-import com.theatermgnt.theatermgnt.payment.enums.PaymentStatus;
-import com.theatermgnt.theatermgnt.payment.repository.InvoiceRepository;
-import com.theatermgnt.theatermgnt.payment.repository.PaymentRepository;
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.revenue.dto.response.RevenueBackfillResponse;
+import com.theatermgnt.theatermgnt.revenue.entity.RevenueBackfillCheckpoint;
+import com.theatermgnt.theatermgnt.revenue.enums.BackfillPhase;
+import com.theatermgnt.theatermgnt.revenue.repository.RevenueBackfillCheckpointRepository;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * RevenueReprocessService - Resumable revenue backfill
+ * Keys are read in keyset order and handed out as chunks to a bounded executor. Each chunk claims its
+ * payments in revenue_processing_log, aggregates the claimed rows in memory and applies them with one
+ * batch of additive upserts, all in a short transaction of its own. Already logged payments are skipped,
+ * so a rerun only adds what is missing; the checkpoint just lets an interrupted run skip finished chunks.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RevenueReprocessService {
+    private static final String PAYMENT_KEYS =
+            """
+		SELECT id FROM payments
+		WHERE status = 'SUCCESS' AND id > ?
+		ORDER BY id
+		LIMIT ?
+	""";
 
-    private final PaymentRepository paymentRepository;
-    private final InvoiceRepository invoiceRepository;
-    private final RevenueAggregationService revenueAggregationService;
+    private static final String REFUND_KEYS =
+            """
+		SELECT id FROM invoices
+		WHERE status = 'REFUNDED' AND id > ?
+		ORDER BY id
+		LIMIT ?
+	""";
 
-    @Transactional
-    public void reprocessAllPayments() {
-        log.info("Starting revenue reprocessing for all payments...");
+    // Claim rows for the payment range; ON CONFLICT skips payments the live path already logged
+    private static final String CLAIM_PAYMENTS =
+            """
+		WITH chunk AS (
+			SELECT p.id AS log_key,
+				r.cinema_id,
+				s.movie_id,
+				COALESCE(p.payment_date, LOCALTIMESTAMP)::date AS report_date,
+				b.total_amount - COALESCE(c.combo_revenue, 0) AS ticket_revenue,
+				COALESCE(c.combo_revenue, 0) AS combo_revenue,
+				COALESCE(ss.tickets_sold, 0) AS tickets_sold
+			FROM payments p
+			JOIN invoices i ON i.id = p.invoice_id
+			JOIN bookings b ON b.id::TEXT = i.booking_id
+			JOIN screenings s ON s.id = b.screening_id
+			JOIN rooms r ON r.id = s.room_id
+			LEFT JOIN LATERAL (
+				SELECT SUM(bc.subtotal) AS combo_revenue FROM booking_combos bc WHERE bc.booking_id = b.id::TEXT
+			) c ON TRUE
+			LEFT JOIN LATERAL (
+				SELECT COUNT(*) AS tickets_sold FROM screening_seats x WHERE x.booking = b.id::TEXT AND x.deleted = FALSE
+			) ss ON TRUE
+			WHERE p.status = 'SUCCESS' AND p.id > ? AND p.id <= ?
+		)
+		INSERT INTO revenue_processing_log
+			(id, payment_id, payment_status, processed_at, cinema_id, movie_id, report_date,
+			ticket_revenue, combo_revenue, tickets_sold, transactions, flushed)
+		SELECT gen_random_uuid()::text, log_key, 'SUCCESS', LOCALTIMESTAMP, cinema_id, movie_id, report_date,
+			ticket_revenue, combo_revenue, tickets_sold, 1, TRUE
+		FROM chunk
+		ON CONFLICT (payment_id) DO NOTHING
+		RETURNING cinema_id, movie_id, report_date, ticket_revenue, combo_revenue, tickets_sold, transactions
+	""";
 
-        List<Payment> successfulPayments = paymentRepository.findByStatusIn(List.of(PaymentStatus.SUCCESS));
+    // Refunds subtract from the date of the original booking payment, keyed like the live refund path
+    private static final String CLAIM_REFUNDS =
+            """
+		WITH chunk AS (
+			SELECT 'refund:' || i.id AS log_key,
+				r.cinema_id,
+				s.movie_id,
+				COALESCE((
+					SELECT COALESCE(p.payment_date, LOCALTIMESTAMP)::date FROM payments p
+					WHERE p.invoice_id = i.id AND p.payment_type = 'BOOKING' AND p.status = 'SUCCESS'
+					LIMIT 1
+				), CURRENT_DATE) AS report_date,
+				-(b.total_amount - COALESCE(c.combo_revenue, 0)) AS ticket_revenue,
+				-COALESCE(c.combo_revenue, 0) AS combo_revenue,
+				-COALESCE(ss.tickets_sold, 0) AS tickets_sold
+			FROM invoices i
+			JOIN bookings b ON b.id::TEXT = i.booking_id
+			JOIN screenings s ON s.id = b.screening_id
+			JOIN rooms r ON r.id = s.room_id
+			LEFT JOIN LATERAL (
+				SELECT SUM(bc.subtotal) AS combo_revenue FROM booking_combos bc WHERE bc.booking_id = b.id::TEXT
+			) c ON TRUE
+			LEFT JOIN LATERAL (
+				SELECT COUNT(*) AS tickets_sold FROM screening_seats x WHERE x.booking = b.id::TEXT AND x.deleted = FALSE
+			) ss ON TRUE
+			WHERE i.status = 'REFUNDED' AND i.id > ? AND i.id <= ?
+		)
+		INSERT INTO revenue_processing_log
+			(id, payment_id, payment_status, processed_at, cinema_id, movie_id, report_date,
+			ticket_revenue, combo_revenue, tickets_sold, transactions, flushed)
+		SELECT gen_random_uuid()::text, log_key, 'REFUNDED', LOCALTIMESTAMP, cinema_id, movie_id, report_date,
+			ticket_revenue, combo_revenue, tickets_sold, -1, TRUE
+		FROM chunk
+		ON CONFLICT (payment_id) DO NOTHING
+		RETURNING cinema_id, movie_id, report_date, ticket_revenue, combo_revenue, tickets_sold, transactions
+	""";
 
-        log.info("Found {} payments to reprocess", successfulPayments.size());
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RevenueDeltaWriter revenueDeltaWriter;
+    private final RevenueBackfillCheckpointRepository checkpointRepository;
+    private final Executor backfillExecutor;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final AtomicBoolean running = new AtomicBoolean(false);
 
-        int successCount = 0;
-        int failCount = 0;
+    public RevenueReprocessService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            RevenueDeltaWriter revenueDeltaWriter,
+            RevenueBackfillCheckpointRepository checkpointRepository,
+            @Qualifier("reportingExecutor") Executor backfillExecutor,
+            @Value("${revenue.backfill.chunk-size:500}") int chunkSize,
+            @Value("${revenue.backfill.parallelism:2}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.revenueDeltaWriter = revenueDeltaWriter;
+        this.checkpointRepository = checkpointRepository;
+        this.backfillExecutor = backfillExecutor;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = parallelism * 2;
+    }
 
-        for (Payment payment : successfulPayments) {
-            try {
-                revenueAggregationService.processPaymentForRevenue(payment);
-                successCount++;
+    /**
+     * Backfill revenue for every successful payment and refunded invoice not yet in the processing log
+     *
+     * @param restart ignore checkpoints left by an interrupted run and scan from the beginning
+     */
+    public RevenueBackfillResponse reprocessAllPayments(boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            throw new AppException(ErrorCode.REVENUE_BACKFILL_RUNNING);
+        }
 
-                if (successCount % 100 == 0) {
-                    log.info("Processed {} payments so far...", successCount);
-                }
-            } catch (Exception e) {
-                failCount++;
-                log.error("Failed to reprocess payment {}: {}", payment.getId(), e.getMessage());
+        try {
+            long startedAt = System.currentTimeMillis();
+            if (restart) {
+                checkpointRepository.deleteAll();
             }
-        }
+            boolean resumed = checkpointRepository.count() > 0;
 
-        // Process refunded invoices to subtract revenue
-        log.info("Processing refunded invoices...");
-        List<Invoice> refundedInvoices = invoiceRepository.findByStatus(InvoiceStatus.REFUNDED);
+            PhaseResult payments = runPhase(BackfillPhase.PAYMENTS, PAYMENT_KEYS, CLAIM_PAYMENTS);
+            PhaseResult refunds = runPhase(BackfillPhase.REFUNDS, REFUND_KEYS, CLAIM_REFUNDS);
 
-        log.info("Found {} refunded invoices to process", refundedInvoices.size());
+            RevenueBackfillResponse response = RevenueBackfillResponse.builder()
+                    .paymentsProcessed(payments.processed)
+                    .refundsProcessed(refunds.processed)
+                    .chunks(payments.chunks + refunds.chunks)
+                    .resumed(resumed)
+                    .durationMs(System.currentTimeMillis() - startedAt)
+                    .build();
+            log.info(
+                    "Revenue backfill completed: payments={}, refunds={}, chunks={}, resumed={}, took {} ms",
+                    response.getPaymentsProcessed(),
+                    response.getRefundsProcessed(),
+                    response.getChunks(),
+                    resumed,
+                    response.getDurationMs());
+            return response;
+        } finally {
+            running.set(false);
+        }
+    }
 
-        int refundCount = 0;
-        int refundFailCount = 0;
+    private PhaseResult runPhase(BackfillPhase phase, String keysSql, String claimSql) {
+        RevenueBackfillCheckpoint checkpoint = checkpointRepository
+                .findById(phase)
+                .orElseGet(() -> RevenueBackfillCheckpoint.builder()
+                        .phase(phase)
+                        .lastKey("")
+                        .processedCount(0L)
+                        .build());
+        if (!checkpoint.getLastKey().isEmpty()) {
+            log.info("Resuming revenue backfill {} after key {}", phase, checkpoint.getLastKey());
+        }
 
-        for (Invoice invoice : refundedInvoices) {
-            try {
-                revenueAggregationService.processInvoiceRefundForRevenue(invoice.getId());
-                refundCount++;
+        PhaseResult result = new PhaseResult();
+        Deque<ChunkTask> inFlight = new ArrayDeque<>();
+        String after = checkpoint.getLastKey();
 
-                if (refundCount % 100 == 0) {
-                    log.info("Processed {} refunded invoices so far...", refundCount);
+        try {
+            while (true) {
+                List<String> keys = jdbcTemplate.queryForList(keysSql, String.class, after, chunkSize);
+                if (keys.isEmpty()) {
+                    break;
                 }
-            } catch (Exception e) {
-                refundFailCount++;
-                log.error("Failed to process refund for invoice {}: {}", invoice.getId(), e.getMessage());
+
+                String from = after;
+                String to = keys.get(keys.size() - 1);
+                inFlight.addLast(new ChunkTask(
+                        to, CompletableFuture.supplyAsync(() -> processChunk(claimSql, from, to), backfillExecutor)));
+                after = to;
+                result.chunks++;
+
+                completeHead(inFlight, checkpoint, result, inFlight.size() >= maxInFlight);
+            }
+            while (!inFlight.isEmpty()) {
+                completeHead(inFlight, checkpoint, result, true);
             }
+        } catch (CompletionException e) {
+            // Let running chunks finish so the checkpoint isn't overtaken by work still in progress
+            inFlight.forEach(t -> t.future.exceptionally(ex -> 0).join());
+            log.error("Revenue backfill {} failed, checkpoint kept at {}", phase, checkpoint.getLastKey(), e.getCause());
+            throw new AppException(ErrorCode.REVENUE_BACKFILL_FAILED);
         }
 
-        log.info(
-                "Revenue reprocessing completed. Payments - Success: {}, Failed: {}. Refunds - Success: {}, Failed: {}",
-                successCount,
-                failCount,
-                refundCount,
-                refundFailCount);
+        // Keys are random UUIDs, so a finished phase starts over next time to catch new rows anywhere in the range
+        checkpointRepository.deleteById(phase);
+        return result;
+    }
+
+    /**
+     * Advance the checkpoint over the finished chunks at the head of the queue.
+     * Only contiguous chunks count, so resuming never skips a chunk that is still in flight.
+     */
+    private void completeHead(
+            Deque<ChunkTask> inFlight, RevenueBackfillCheckpoint checkpoint, PhaseResult result, boolean waitForOne) {
+        boolean advanced = false;
+        while (!inFlight.isEmpty() && (inFlight.peekFirst().future.isDone() || (waitForOne && !advanced))) {
+            ChunkTask head = inFlight.pollFirst();
+            int claimed = head.future.join();
+            result.processed += claimed;
+            checkpoint.setLastKey(head.lastKey);
+            checkpoint.setProcessedCount(checkpoint.getProcessedCount() + claimed);
+            advanced = true;
+        }
+
+        if (advanced) {
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        }
+    }
+
+    private int processChunk(String claimSql, String afterKey, String lastKey) {
+        Integer claimed = transactionTemplate.execute(status -> {
+            RevenueDeltaBatch batch = new RevenueDeltaBatch();
+            int[] rows = {0};
+            jdbcTemplate.query(
+                    claimSql,
+                    rs -> {
+                        batch.add(
+                                null,
+                                rs.getString("cinema_id"),
+                                rs.getString("movie_id"),
+                                rs.getDate("report_date").toLocalDate(),
+                                RevenueDeltaWriter.toMinor(rs.getBigDecimal("ticket_revenue")),
+                                RevenueDeltaWriter.toMinor(rs.getBigDecimal("combo_revenue")),
+                                rs.getInt("tickets_sold"),
+                                rs.getInt("transactions"));
+                        rows[0]++;
+                    },
+                    afterKey,
+                    lastKey);
+
+            if (!batch.isEmpty()) {
+                revenueDeltaWriter.write(batch.dailyDeltas(), batch.movieDeltas(), List.of());
+            }
+            return rows[0];
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    private static final class PhaseResult {
+        long processed;
+        int chunks;
+    }
+
+    private static final class ChunkTask {
+        final String lastKey;
+        final CompletableFuture<Integer> future;
+
+        ChunkTask(String lastKey, CompletableFuture<Integer> future) {
+            this.lastKey = lastKey;
+            this.future = future;
+        }
     }
 }
@@ -0,0 +1,12 @@
+package com.theatermgnt.theatermgnt.screening.repository;
+
+/**
+ * Seat capacity and sold seats of a cinema's screenings in a time window
+ */
+public interface CinemaOccupancy {
+    String getCinemaId();
+
+    Long getSeatCapacity();
+
+    Long getSeatsSold();
+}
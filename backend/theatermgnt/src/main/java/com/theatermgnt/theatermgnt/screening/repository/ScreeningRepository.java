@@ -37,5 +37,20 @@ public interface ScreeningRepository extends JpaRepository<Screening, String> {
 	""")
     boolean isTimeOverlap(String roomId, LocalDateTime startTime, LocalDateTime endTime, String excludeId);
 
-
+    @Query(
+            value =
+                    """
+	SELECT r.cinema_id AS cinemaId,
+		COUNT(ss.id) AS seatCapacity,
+		COUNT(ss.id) FILTER (WHERE ss.status = 'SOLD') AS seatsSold
+	FROM screenings s
+	JOIN rooms r ON r.id = s.room_id
+	JOIN screening_seats ss ON ss.screening_id = s.id AND ss.deleted = FALSE
+	WHERE s.deleted = FALSE
+	AND s.start_time >= :from
+	AND s.start_time < :to
+	GROUP BY r.cinema_id
+	""",
+            nativeQuery = true)
+    List<CinemaOccupancy> sumOccupancyByCinema(LocalDateTime from, LocalDateTime to);
 }
@@ -27,9 +27,8 @@ import com.theatermgnt.theatermgnt.screeningSeat.mapper.ScreeningSeatMapper;
 import com.theatermgnt.theatermgnt.screeningSeat.repository.ScreeningSeatRepository;
 import com.theatermgnt.theatermgnt.seat.entity.Seat;
 import com.theatermgnt.theatermgnt.seat.repository.SeatRepository;
-import com.theatermgnt.theatermgnt.ticket.entity.Ticket;
-import com.theatermgnt.theatermgnt.ticket.enums.TicketStatus;
-import com.theatermgnt.theatermgnt.ticket.repository.TicketRepository;
+import com.theatermgnt.theatermgnt.ticket.dto.response.TransferListingResponse;
+import com.theatermgnt.theatermgnt.ticket.service.TransferListingIndex;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -46,7 +45,7 @@ public class ScreeningSeatService {
     ScreeningSeatRepository screeningSeatRepository;
     ScreeningSeatMapper screeningSeatMapper;
     PriceConfigRepository priceConfigRepository;
-    TicketRepository ticketRepository;
+    TransferListingIndex transferListingIndex;
 
     @Transactional(propagation = Propagation.REQUIRED)
     public ScreeningSeatResponse createScreeningSeat(ScreeningSeatCreationRequest request) {
@@ -140,15 +139,9 @@ public class ScreeningSeatService {
                             PriceConfig::getPrice,
                             (existing, replacement) -> existing));
 
-            // Get transfer tickets for this screening
-            List<String> screeningSeatIds =
-                    seatsInGroup.stream().map(ScreeningSeat::getId).toList();
-            List<Ticket> transferTickets = ticketRepository.findByScreeningSeatIdInAndStatus(
-                    screeningSeatIds, TicketStatus.FOR_TRANSFER);
-
-            Map<String, Ticket> transferTicketMap = transferTickets.stream()
-                    .collect(Collectors.toMap(
-                            ticket -> ticket.getScreeningSeat().getId(), ticket -> ticket, (t1, t2) -> t1));
+            // Transfer listings come from the in-memory index, no queries per seat map
+            Map<String, TransferListingResponse> transferListings =
+                    transferListingIndex.getListings(screening.getId());
 
             List<ScreeningSeatResponse> groupResponses = seatsInGroup.stream()
                     .map(seat -> {
@@ -156,23 +149,13 @@ public class ScreeningSeatService {
                                 screeningSeatMapper.toScreeningSeatResponse(seat, priceMap);
 
                         // Add transfer information if available
-                        Ticket transferTicket = transferTicketMap.get(seat.getId());
-                        if (transferTicket != null) {
+                        TransferListingResponse listing = transferListings.get(seat.getId());
+                        if (listing != null) {
                             response.setIsForTransfer(true);
-                            response.setTransferTicketId(transferTicket.getId().toString());
-
-                            if (transferTicket.getBooking() != null
-                                    && transferTicket.getBooking().getCustomer() != null) {
-                                var customer = transferTicket.getBooking().getCustomer();
-                                var account = customer.getAccount();
-
-                                response.setSellerName(
-                                        (customer.getFirstName() != null ? customer.getFirstName() : "")
-                                                + " "
-                                                + (customer.getLastName() != null ? customer.getLastName() : ""));
-                                response.setSellerEmail(account != null ? account.getEmail() : null);
-                                response.setSellerPhone(customer.getPhoneNumber());
-                            }
+                            response.setTransferTicketId(listing.getTicketId());
+                            response.setSellerName(listing.getSellerName());
+                            response.setSellerEmail(listing.getSellerEmail());
+                            response.setSellerPhone(listing.getSellerPhone());
                         } else {
                             response.setIsForTransfer(false);
                         }
@@ -0,0 +1,31 @@
+package com.theatermgnt.theatermgnt.ticket.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Indexes that JPA @Index can't express (partial indexes)
+ */
+@Configuration
+@Slf4j
+public class TicketSchemaConfig {
+
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "spring.datasource",
+            name = "driver-class-name",
+            havingValue = "org.postgresql.Driver")
+    ApplicationRunner ticketIndexRunner(JdbcTemplate jdbcTemplate) {
+        return args -> {
+            // Only ACTIVE tickets are scanned by the expiry job, so the index stays small
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_ticket_active_expires_at "
+                    + "ON tickets (status, expires_at) WHERE status = 'ACTIVE'");
+            log.info("Ticket expiry index ensured");
+        };
+    }
+}
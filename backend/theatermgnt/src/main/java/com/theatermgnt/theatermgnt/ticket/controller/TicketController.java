@@ -3,6 +3,8 @@ package com.theatermgnt.theatermgnt.ticket.controller;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.theatermgnt.theatermgnt.common.dto.response.ApiResponse;
@@ -10,7 +12,9 @@ import com.theatermgnt.theatermgnt.ticket.dto.request.TicketCheckInRequest;
 import com.theatermgnt.theatermgnt.ticket.dto.response.TicketCheckInViewResponse;
 import com.theatermgnt.theatermgnt.ticket.dto.response.TicketResponse;
 import com.theatermgnt.theatermgnt.ticket.entity.Ticket;
+import com.theatermgnt.theatermgnt.ticket.enums.QrImageFormat;
 import com.theatermgnt.theatermgnt.ticket.mapper.TicketMapper;
+import com.theatermgnt.theatermgnt.ticket.service.QrRenderService;
 import com.theatermgnt.theatermgnt.ticket.service.TicketService;
 
 import lombok.RequiredArgsConstructor;
@@ -21,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 public class TicketController {
     private final TicketService ticketService;
     private final TicketMapper ticketMapper;
+    private final QrRenderService qrRenderService;
 
     @GetMapping("/by-booking/{bookingId}")
     public ApiResponse<List<TicketResponse>> getTicketsByBooking(@PathVariable UUID bookingId) {
@@ -40,6 +45,18 @@ public class TicketController {
                 .build();
     }
 
+    @GetMapping("/{ticketCode}/qr")
+    public ResponseEntity<byte[]> getTicketQr(
+            @PathVariable String ticketCode, @RequestParam(defaultValue = "PNG") QrImageFormat format) {
+        byte[] image = qrRenderService.render(
+                ticketCode,
+                format,
+                () -> ticketService.getTicketByCode(ticketCode).getQrContent());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(image);
+    }
+
     @GetMapping("/check-in/{ticketCode}")
     public ApiResponse<TicketCheckInViewResponse> getTicketForCheckIn(@PathVariable String ticketCode) {
         return ApiResponse.<TicketCheckInViewResponse>builder()
@@ -0,0 +1,24 @@
+package com.theatermgnt.theatermgnt.ticket.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferListingResponse {
+    String ticketId;
+    String ticketCode;
+    String screeningId;
+    String screeningSeatId;
+    String seatName;
+    LocalDateTime screeningStartTime;
+
+    String sellerName;
+    String sellerEmail;
+    String sellerPhone;
+}
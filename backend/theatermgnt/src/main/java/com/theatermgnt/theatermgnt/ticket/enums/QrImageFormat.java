@@ -0,0 +1,17 @@
+package com.theatermgnt.theatermgnt.ticket.enums;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public enum QrImageFormat {
+    PNG("image/png", "png"),
+    SVG("image/svg+xml", "svg");
+
+    String contentType;
+    String extension;
+}
@@ -0,0 +1,15 @@
+package com.theatermgnt.theatermgnt.ticket.event;
+
+import com.theatermgnt.theatermgnt.ticket.dto.response.TransferListingResponse;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+public class TicketTransferListedEvent {
+    TransferListingResponse listing;
+}
@@ -0,0 +1,17 @@
+package com.theatermgnt.theatermgnt.ticket.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+@Builder
+public class TicketTransferWithdrawnEvent {
+    String screeningId;
+    String screeningSeatId;
+    String ticketCode;
+}
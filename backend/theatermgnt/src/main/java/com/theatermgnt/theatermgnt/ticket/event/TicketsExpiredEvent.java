@@ -0,0 +1,21 @@
+package com.theatermgnt.theatermgnt.ticket.event;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+@Builder
+public class TicketsExpiredEvent {
+    Instant expiredBefore;
+    long totalExpired;
+    // screeningId -> number of tickets expired in this run
+    Map<String, Long> expiredCountByScreening;
+}
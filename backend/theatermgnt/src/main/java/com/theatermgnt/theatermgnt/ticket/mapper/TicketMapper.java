@@ -3,7 +3,9 @@ package com.theatermgnt.theatermgnt.ticket.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import com.theatermgnt.theatermgnt.customer.entity.Customer;
 import com.theatermgnt.theatermgnt.ticket.dto.response.TicketResponse;
+import com.theatermgnt.theatermgnt.ticket.dto.response.TransferListingResponse;
 import com.theatermgnt.theatermgnt.ticket.entity.Ticket;
 
 @Mapper(componentModel = "spring")
@@ -13,4 +15,20 @@ public interface TicketMapper {
     @Mapping(source = "booking.screening.startTime", target = "startTime")
     @Mapping(source = "booking.id", target = "bookingId")
     TicketResponse toResponse(Ticket ticket);
+
+    @Mapping(source = "id", target = "ticketId")
+    @Mapping(source = "screeningSeat.screening.id", target = "screeningId")
+    @Mapping(source = "screeningSeat.id", target = "screeningSeatId")
+    @Mapping(source = "screeningSeat.screening.startTime", target = "screeningStartTime")
+    @Mapping(target = "sellerName", expression = "java(sellerName(ticket.getBooking().getCustomer()))")
+    @Mapping(source = "booking.customer.account.email", target = "sellerEmail")
+    @Mapping(source = "booking.customer.phoneNumber", target = "sellerPhone")
+    TransferListingResponse toTransferListing(Ticket ticket);
+
+    default String sellerName(Customer customer) {
+        if (customer == null) return null;
+        return (customer.getFirstName() != null ? customer.getFirstName() : "")
+                + " "
+                + (customer.getLastName() != null ? customer.getLastName() : "");
+    }
 }
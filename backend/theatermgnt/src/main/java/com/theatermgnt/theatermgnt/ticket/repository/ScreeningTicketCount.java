@@ -0,0 +1,10 @@
+package com.theatermgnt.theatermgnt.ticket.repository;
+
+/**
+ * Per-screening ticket count returned by set-based ticket updates
+ */
+public interface ScreeningTicketCount {
+    String getScreeningId();
+
+    Long getTicketCount();
+}
@@ -1,6 +1,7 @@
 package com.theatermgnt.theatermgnt.ticket.repository;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -8,6 +9,7 @@ import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.theatermgnt.theatermgnt.ticket.entity.Ticket;
 import com.theatermgnt.theatermgnt.ticket.enums.TicketStatus;
@@ -19,7 +21,35 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
 
     boolean existsByScreeningSeatId(String screeningSeatId);
 
-    List<Ticket> findAllByStatusAndExpiresAtBefore(TicketStatus status, Instant time);
+    /**
+     * Expire one chunk of ACTIVE tickets past their expiry without loading them
+     * Rows locked by a concurrent check-in are skipped and picked up by the next run
+     * @return number of tickets expired per screening
+     */
+    @Transactional
+    @Query(
+            value =
+                    """
+	WITH expired AS (
+		SELECT t.id FROM tickets t
+		WHERE t.status = 'ACTIVE' AND t.expires_at < :now
+		ORDER BY t.expires_at
+		LIMIT :chunkSize
+		FOR UPDATE SKIP LOCKED
+	), updated AS (
+		UPDATE tickets t SET status = 'EXPIRED'
+		FROM expired e
+		WHERE t.id = e.id
+		RETURNING t.screening_seat_id
+	)
+	SELECT ss.screening_id AS screeningId, COUNT(*) AS ticketCount
+	FROM updated u
+	JOIN screening_seats ss ON ss.id = u.screening_seat_id
+	GROUP BY ss.screening_id
+	""",
+            nativeQuery = true)
+    List<ScreeningTicketCount> expireActiveTicketsBefore(
+            @Param("now") Instant now, @Param("chunkSize") int chunkSize);
 
     boolean existsByTicketCode(String ticketCode);
 
@@ -38,6 +68,16 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     // Find all tickets for a booking
     List<Ticket> findByBookingIdAndStatus(UUID bookingId, TicketStatus status);
 
-    // Find tickets by screening seat IDs and status (for transfer tickets)
-    List<Ticket> findByScreeningSeatIdInAndStatus(List<String> screeningSeatIds, TicketStatus status);
+    // Transfer listings of upcoming screenings, with everything the listing index needs
+    @Query(
+            """
+	select t from Ticket t
+	join fetch t.screeningSeat ss
+	join fetch ss.screening sc
+	join fetch t.booking b
+	left join fetch b.customer c
+	left join fetch c.account
+	where t.status = :status and sc.startTime > :after
+	""")
+    List<Ticket> findTransferListings(@Param("status") TicketStatus status, @Param("after") LocalDateTime after);
 }
@@ -0,0 +1,210 @@
+package com.theatermgnt.theatermgnt.ticket.service;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.common.exception.ErrorCode;
+import com.theatermgnt.theatermgnt.ticket.entity.Ticket;
+import com.theatermgnt.theatermgnt.ticket.enums.QrImageFormat;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * QrRenderService - Renders ticket QR codes straight to image bytes
+ * PNG renders reuse a per-thread image and output buffer, SVG renders reuse a per-thread builder.
+ * Rendered images are cached by ticketCode so re-sends and the in-app ticket view don't re-render.
+ */
+@Service
+@Slf4j
+public class QrRenderService {
+    private static final int PNG_SIZE = 200;
+    private static final int SVG_MODULE_SIZE = 8;
+    private static final Map<EncodeHintType, Object> HINTS = new EnumMap<>(EncodeHintType.class);
+
+    static {
+        HINTS.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.L);
+        HINTS.put(EncodeHintType.MARGIN, 4);
+        // Buffers are in memory already, the ImageIO disk cache only adds a temp file per write
+        ImageIO.setUseCache(false);
+    }
+
+    private final QRCodeWriter qrCodeWriter = new QRCodeWriter();
+    private final ThreadLocal<RenderBuffers> buffers = ThreadLocal.withInitial(RenderBuffers::new);
+    private final Executor qrRenderExecutor;
+    private final Map<String, byte[]> cache;
+
+    public QrRenderService(
+            @Qualifier("qrRenderExecutor") Executor qrRenderExecutor,
+            @Value("${ticket.qr.cache-size:5000}") int cacheSize) {
+        this.qrRenderExecutor = qrRenderExecutor;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Render a single ticket QR, the content supplier is only called on a cache miss
+     */
+    public byte[] render(String ticketCode, QrImageFormat format, Supplier<String> qrContent) {
+        String key = cacheKey(ticketCode, format);
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] rendered =
+                switch (format) {
+                    case PNG -> renderPng(qrContent.get());
+                    case SVG -> renderSvg(qrContent.get());
+                };
+        cache.put(key, rendered);
+        return rendered;
+    }
+
+    /**
+     * Render PNGs for all tickets of a booking in parallel
+     * @return ticketCode -> PNG bytes, in the same order as the given tickets
+     */
+    public Map<String, byte[]> renderPngs(List<Ticket> tickets) {
+        List<CompletableFuture<byte[]>> futures = tickets.stream()
+                .map(t -> {
+                    String ticketCode = t.getTicketCode();
+                    String qrContent = t.getQrContent();
+                    return CompletableFuture.supplyAsync(
+                            () -> render(ticketCode, QrImageFormat.PNG, () -> qrContent), qrRenderExecutor);
+                })
+                .toList();
+
+        Map<String, byte[]> images = new LinkedHashMap<>();
+        for (int i = 0; i < tickets.size(); i++) {
+            images.put(tickets.get(i).getTicketCode(), futures.get(i).join());
+        }
+        return images;
+    }
+
+    private byte[] renderPng(String qrContent) {
+        BitMatrix matrix = encode(qrContent, PNG_SIZE);
+        RenderBuffers buf = buffers.get();
+
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        // Content that doesn't fit the default size comes back larger than requested
+        BufferedImage image = width == PNG_SIZE && height == PNG_SIZE
+                ? buf.image
+                : new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+        int[] row = width == PNG_SIZE ? buf.row : new int[width];
+
+        WritableRaster raster = image.getRaster();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                // TYPE_BYTE_BINARY palette: 0 = black, 1 = white
+                row[x] = matrix.get(x, y) ? 0 : 1;
+            }
+            raster.setSamples(0, y, width, 1, 0, row);
+        }
+
+        buf.out.reset();
+        try {
+            ImageIO.write(image, "png", buf.out);
+        } catch (IOException e) {
+            log.error("Failed to write QR PNG", e);
+            throw new AppException(ErrorCode.QR_RENDER_FAILED);
+        }
+        return buf.out.toByteArray();
+    }
+
+    private byte[] renderSvg(String qrContent) {
+        // Size 0 returns one pixel per module, which is all a vector image needs
+        BitMatrix matrix = encode(qrContent, 0);
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        StringBuilder svg = buffers.get().svg;
+        svg.setLength(0);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+                .append(width)
+                .append(' ')
+                .append(height)
+                .append("\" width=\"")
+                .append(width * SVG_MODULE_SIZE)
+                .append("\" height=\"")
+                .append(height * SVG_MODULE_SIZE)
+                .append("\" shape-rendering=\"crispEdges\">")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+
+        // One rectangle per horizontal run of dark modules keeps the path short
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                int run = x - start;
+                svg.append('M')
+                        .append(start)
+                        .append(' ')
+                        .append(y)
+                        .append('h')
+                        .append(run)
+                        .append("v1h-")
+                        .append(run)
+                        .append('z');
+            }
+        }
+        svg.append("\"/></svg>");
+
+        return svg.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private BitMatrix encode(String qrContent, int size) {
+        try {
+            return qrCodeWriter.encode(qrContent, BarcodeFormat.QR_CODE, size, size, HINTS);
+        } catch (WriterException e) {
+            log.error("Failed to encode QR content", e);
+            throw new AppException(ErrorCode.QR_RENDER_FAILED);
+        }
+    }
+
+    private static String cacheKey(String ticketCode, QrImageFormat format) {
+        return ticketCode + ":" + format.name();
+    }
+
+    private static final class RenderBuffers {
+        final BufferedImage image = new BufferedImage(PNG_SIZE, PNG_SIZE, BufferedImage.TYPE_BYTE_BINARY);
+        final int[] row = new int[PNG_SIZE];
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        final StringBuilder svg = new StringBuilder(16 * 1024);
+    }
+}
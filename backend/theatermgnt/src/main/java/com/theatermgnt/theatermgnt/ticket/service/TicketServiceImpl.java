@@ -3,11 +3,14 @@ package com.theatermgnt.theatermgnt.ticket.service;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.transaction.Transactional;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -30,7 +33,11 @@ import com.theatermgnt.theatermgnt.ticket.dto.response.TicketResponse;
 import com.theatermgnt.theatermgnt.ticket.entity.Ticket;
 import com.theatermgnt.theatermgnt.ticket.enums.TicketStatus;
 import com.theatermgnt.theatermgnt.ticket.event.TicketCreatedEvent;
+import com.theatermgnt.theatermgnt.ticket.event.TicketTransferListedEvent;
+import com.theatermgnt.theatermgnt.ticket.event.TicketTransferWithdrawnEvent;
+import com.theatermgnt.theatermgnt.ticket.event.TicketsExpiredEvent;
 import com.theatermgnt.theatermgnt.ticket.mapper.TicketMapper;
+import com.theatermgnt.theatermgnt.ticket.repository.ScreeningTicketCount;
 import com.theatermgnt.theatermgnt.ticket.repository.TicketRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -52,6 +59,9 @@ public class TicketServiceImpl implements TicketService {
     private final QrGenerator qrGenerator;
     private final ApplicationEventPublisher eventPublisher;
 
+    @Value("${ticket.expiry.chunk-size:1000}")
+    private int expiryChunkSize;
+
     @Override
     @Transactional
     public List<TicketResponse> getTicketsByBooking(UUID bookingId) {
@@ -175,20 +185,33 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    @Transactional
+    @Transactional(Transactional.TxType.NOT_SUPPORTED) // each chunk commits on its own
     public void expireTickets() {
 
         Instant now = Instant.now();
+        Map<String, Long> expiredByScreening = new HashMap<>();
+        long totalExpired = 0;
+        long chunkExpired;
 
-        List<Ticket> expiredTickets = ticketRepository.findAllByStatusAndExpiresAtBefore(TicketStatus.ACTIVE, now);
+        do {
+            chunkExpired = 0;
+            for (ScreeningTicketCount count : ticketRepository.expireActiveTicketsBefore(now, expiryChunkSize)) {
+                expiredByScreening.merge(count.getScreeningId(), count.getTicketCount(), Long::sum);
+                chunkExpired += count.getTicketCount();
+            }
+            totalExpired += chunkExpired;
+        } while (chunkExpired >= expiryChunkSize);
 
-        if (expiredTickets.isEmpty()) {
+        if (totalExpired == 0) {
             return;
         }
 
-        expiredTickets.forEach(ticket -> ticket.setStatus(TicketStatus.EXPIRED));
-
-        ticketRepository.saveAll(expiredTickets);
+        log.info("Expired {} tickets across {} screenings", totalExpired, expiredByScreening.size());
+        eventPublisher.publishEvent(TicketsExpiredEvent.builder()
+                .expiredBefore(now)
+                .totalExpired(totalExpired)
+                .expiredCountByScreening(expiredByScreening)
+                .build());
     }
 
     @Override
@@ -274,6 +297,7 @@ public class TicketServiceImpl implements TicketService {
 
         ticket.setStatus(TicketStatus.FOR_TRANSFER);
         ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new TicketTransferListedEvent(ticketMapper.toTransferListing(ticket)));
         log.info("Ticket {} marked for transfer by customer {}", ticketCode, customerId);
     }
 
@@ -295,6 +319,11 @@ public class TicketServiceImpl implements TicketService {
 
         ticket.setStatus(TicketStatus.ACTIVE);
         ticketRepository.save(ticket);
+        eventPublisher.publishEvent(TicketTransferWithdrawnEvent.builder()
+                .screeningId(ticket.getScreeningSeat().getScreening().getId())
+                .screeningSeatId(ticket.getScreeningSeat().getId())
+                .ticketCode(ticketCode)
+                .build());
         log.info("Ticket {} transfer cancelled by customer {}", ticketCode, customerId);
     }
 }
@@ -0,0 +1,114 @@
+package com.theatermgnt.theatermgnt.ticket.service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.theatermgnt.theatermgnt.notification.service.SocketIOService;
+import com.theatermgnt.theatermgnt.ticket.dto.response.TransferListingResponse;
+import com.theatermgnt.theatermgnt.ticket.enums.TicketStatus;
+import com.theatermgnt.theatermgnt.ticket.event.TicketTransferListedEvent;
+import com.theatermgnt.theatermgnt.ticket.event.TicketTransferWithdrawnEvent;
+import com.theatermgnt.theatermgnt.ticket.mapper.TicketMapper;
+import com.theatermgnt.theatermgnt.ticket.repository.TicketRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TransferListingIndex - In-memory index of FOR_TRANSFER tickets keyed by screening
+ * Loaded once at startup, then maintained from transfer events after commit.
+ * Clients subscribed to "screening:{screeningId}" receive transfer:listed / transfer:withdrawn pushes.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TransferListingIndex {
+    public static final String EVENT_LISTED = "transfer:listed";
+    public static final String EVENT_WITHDRAWN = "transfer:withdrawn";
+
+    TicketRepository ticketRepository;
+    TicketMapper ticketMapper;
+    SocketIOService socketIOService;
+
+    // screeningId -> (screeningSeatId -> listing)
+    Map<String, Map<String, TransferListingResponse>> listingsByScreening = new ConcurrentHashMap<>();
+
+    public static String screeningRoom(String screeningId) {
+        return "screening:" + screeningId;
+    }
+
+    // A seat's latest listing state supersedes any earlier one still waiting to be sent
+    private static String seatKey(String screeningSeatId) {
+        return "seat:" + screeningSeatId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<TransferListingResponse> listings =
+                ticketRepository.findTransferListings(TicketStatus.FOR_TRANSFER, LocalDateTime.now()).stream()
+                        .map(ticketMapper::toTransferListing)
+                        .toList();
+        listings.forEach(this::put);
+        log.info("Transfer listing index loaded with {} listings", listings.size());
+    }
+
+    /**
+     * Listings for a screening, keyed by screeningSeatId
+     */
+    public Map<String, TransferListingResponse> getListings(String screeningId) {
+        Map<String, TransferListingResponse> listings = listingsByScreening.get(screeningId);
+        return listings == null ? Collections.emptyMap() : Collections.unmodifiableMap(listings);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleTransferListed(TicketTransferListedEvent event) {
+        TransferListingResponse listing = event.getListing();
+        put(listing);
+        socketIOService.emitToRoom(
+                screeningRoom(listing.getScreeningId()), EVENT_LISTED, seatKey(listing.getScreeningSeatId()), listing);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleTransferWithdrawn(TicketTransferWithdrawnEvent event) {
+        listingsByScreening.computeIfPresent(event.getScreeningId(), (screeningId, listings) -> {
+            listings.remove(event.getScreeningSeatId());
+            return listings.isEmpty() ? null : listings;
+        });
+        socketIOService.emitToRoom(
+                screeningRoom(event.getScreeningId()), EVENT_WITHDRAWN, seatKey(event.getScreeningSeatId()), event);
+    }
+
+    // Transfers close an hour before the show, listings of started screenings are dead weight
+    @Scheduled(fixedDelay = 15 * 60 * 1000)
+    public void evictStartedScreenings() {
+        LocalDateTime now = LocalDateTime.now();
+        listingsByScreening
+                .values()
+                .removeIf(listings -> listings.values().stream()
+                        .allMatch(l -> l.getScreeningStartTime() == null
+                                || l.getScreeningStartTime().isBefore(now)));
+    }
+
+    private void put(TransferListingResponse listing) {
+        listingsByScreening.compute(listing.getScreeningId(), (screeningId, listings) -> {
+            Map<String, TransferListingResponse> target = listings == null ? new ConcurrentHashMap<>() : listings;
+            target.put(listing.getScreeningSeatId(), listing);
+            return target;
+        });
+    }
+}
@@ -1,18 +1,19 @@
 package com.theatermgnt.theatermgnt.websocket.controller;
 
-import java.time.Instant;
-
-import com.nimbusds.jwt.SignedJWT;
 import org.springframework.stereotype.Component;
 
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnConnect;
 import com.corundumstudio.socketio.annotation.OnDisconnect;
-import com.theatermgnt.theatermgnt.authentication.dto.request.IntrospectRequest;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.theatermgnt.theatermgnt.authentication.dto.response.SocketPrincipal;
 import com.theatermgnt.theatermgnt.authentication.service.AuthenticationService;
-import com.theatermgnt.theatermgnt.websocket.entity.WebSocketSession;
-import com.theatermgnt.theatermgnt.websocket.service.WebSocketSessionService;
+import com.theatermgnt.theatermgnt.common.exception.AppException;
+import com.theatermgnt.theatermgnt.revenue.service.RevenueDashboardAccess;
+import com.theatermgnt.theatermgnt.revenue.service.RevenueDashboardService;
+import com.theatermgnt.theatermgnt.ticket.service.TransferListingIndex;
+import com.theatermgnt.theatermgnt.websocket.service.PresenceRegistry;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -30,10 +31,12 @@ import lombok.extern.slf4j.Slf4j;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public class SocketHandler {
-    
+    static final String PRINCIPAL_KEY = "principal";
+
     SocketIOServer server;
     AuthenticationService authenticationService;
-    WebSocketSessionService webSocketSessionService;
+    PresenceRegistry presenceRegistry;
+    RevenueDashboardAccess revenueDashboardAccess;
 
     /**
      * Handle client connection with JWT authentication
@@ -42,7 +45,7 @@ public class SocketHandler {
     public void clientConnected(SocketIOClient client) {
         // Get token from query parameter
         String token = client.getHandshakeData().getSingleUrlParam("token");
-        
+
         if (token == null || token.isEmpty()) {
             log.warn("Client {} attempted connection without token", client.getSessionId());
             client.disconnect();
@@ -50,52 +53,19 @@ public class SocketHandler {
         }
 
         try {
-            // Verify token using authentication service
-            var introspectResponse = authenticationService.introspect(
-                IntrospectRequest.builder()
-                    .token(token)
-                    .build()
-            );
-
-            // If token is valid, create and persist session
-            if (introspectResponse.isValid()) {
-                log.info("Client connected: {}", client.getSessionId());
-                
-                // Extract accountId from token (JWT subject field contains accountId)
-                String accountId = extractAccountIdFromToken(token);
-                
-                if (accountId != null) {
-                    String socketSessionId = client.getSessionId().toString();
-                    
-                    // Check if session already exists (idempotent connection handling)
-                    if (!webSocketSessionService.sessionExists(socketSessionId)) {
-                        // Create and save WebSocket session
-                        WebSocketSession session = WebSocketSession.builder()
-                            .socketSessionId(socketSessionId)
-                            .userId(accountId) // userId field stores accountId
-                            .createdAt(Instant.now())
-                            .build();
-                        
-                        webSocketSessionService.create(session);
-                        
-                        log.info("WebSocket session created for account: {}", accountId);
-                    } else {
-                        log.debug("WebSocket session already exists for: {}", socketSessionId);
-                    }
-                    
-                    // Join room for targeted messaging (using accountId)
-                    // Safe to call multiple times - Socket.IO handles duplicates
-                    String roomName = "user:" + accountId;
-                    client.joinRoom(roomName);
-                    log.info("✅ Client {} joined room: {}", client.getSessionId(), roomName);
-                } else {
-                    log.warn("Could not extract accountId from token");
-                    client.disconnect();
-                }
-            } else {
-                log.error("Authentication failed for client: {}", client.getSessionId());
-                client.disconnect();
-            }
+            // JWT subject field contains accountId; reconnects with a known token skip verification
+            SocketPrincipal principal = authenticationService.verifySocketToken(token);
+            String accountId = principal.getAccountId();
+            client.set(PRINCIPAL_KEY, principal);
+            presenceRegistry.connect(accountId, client.getSessionId());
+
+            // Join room for targeted messaging (using accountId)
+            // Safe to call multiple times - Socket.IO handles duplicates
+            client.joinRoom("user:" + accountId);
+            log.debug("Client {} connected for account {}", client.getSessionId(), accountId);
+        } catch (AppException e) {
+            log.warn("Authentication failed for client: {}", client.getSessionId());
+            client.disconnect();
         } catch (Exception e) {
             log.error("Error during client authentication: {}", e.getMessage(), e);
             client.disconnect();
@@ -107,15 +77,60 @@ public class SocketHandler {
      */
     @OnDisconnect
     public void clientDisconnected(SocketIOClient client) {
-        log.info("Client disconnected: {}", client.getSessionId());
-        
-        try {
-            // Delete session from database
-            webSocketSessionService.deleteSession(client.getSessionId().toString());
-            log.info("WebSocket session deleted: {}", client.getSessionId());
-        } catch (Exception e) {
-            log.error("Error deleting session: {}", e.getMessage(), e);
+        String accountId = presenceRegistry.disconnect(client.getSessionId());
+        log.debug("Client {} disconnected (account {})", client.getSessionId(), accountId);
+    }
+
+    /**
+     * Subscribe to live updates of a screening's seat map (transfer listings)
+     */
+    @OnEvent("screening:subscribe")
+    public void subscribeScreening(SocketIOClient client, String screeningId) {
+        if (screeningId == null || screeningId.isBlank()) {
+            return;
         }
+        client.joinRoom(TransferListingIndex.screeningRoom(screeningId));
+        log.debug("Client {} subscribed to screening {}", client.getSessionId(), screeningId);
+    }
+
+    @OnEvent("screening:unsubscribe")
+    public void unsubscribeScreening(SocketIOClient client, String screeningId) {
+        if (screeningId == null || screeningId.isBlank()) {
+            return;
+        }
+        client.leaveRoom(TransferListingIndex.screeningRoom(screeningId));
+        log.debug("Client {} unsubscribed from screening {}", client.getSessionId(), screeningId);
+    }
+
+    /**
+     * Subscribe to a cinema's live revenue dashboard, the initial state comes from the snapshot endpoint
+     * Only admins, and managers of that cinema, may join; other requests are ignored.
+     */
+    @OnEvent("dashboard:subscribe")
+    public void subscribeDashboard(SocketIOClient client, String cinemaId) {
+        if (cinemaId == null || cinemaId.isBlank()) {
+            return;
+        }
+        SocketPrincipal principal = client.get(PRINCIPAL_KEY);
+        if (!revenueDashboardAccess.canView(principal, cinemaId)) {
+            log.warn(
+                    "Client {} (account {}) denied the dashboard of cinema {}",
+                    client.getSessionId(),
+                    principal != null ? principal.getAccountId() : null,
+                    cinemaId);
+            return;
+        }
+        client.joinRoom(RevenueDashboardService.dashboardRoom(cinemaId));
+        log.debug("Client {} subscribed to dashboard of cinema {}", client.getSessionId(), cinemaId);
+    }
+
+    @OnEvent("dashboard:unsubscribe")
+    public void unsubscribeDashboard(SocketIOClient client, String cinemaId) {
+        if (cinemaId == null || cinemaId.isBlank()) {
+            return;
+        }
+        client.leaveRoom(RevenueDashboardService.dashboardRoom(cinemaId));
+        log.debug("Client {} unsubscribed from dashboard of cinema {}", client.getSessionId(), cinemaId);
     }
 
     /**
@@ -136,30 +151,4 @@ public class SocketHandler {
         server.stop();
         log.info("Socket.IO server stopped.");
     }
-
-    /**
-     * Extract accountId from JWT token
-     * The JWT subject field contains the accountId (from Account.getId())
-     * 
-     * Note: Using proper JWT parsing with SignedJWT library
-     */
-    private String extractAccountIdFromToken(String token) {
-        try {
-            // Parse JWT token using Nimbus JOSE library
-            SignedJWT signedJWT = com.nimbusds.jwt.SignedJWT.parse(token);
-            
-            // Extract subject claim which contains accountId
-            String accountId = signedJWT.getJWTClaimsSet().getSubject();
-            
-            if (accountId != null && !accountId.isEmpty()) {
-                log.debug("Extracted accountId from token: {}", accountId);
-                return accountId;
-            } else {
-                log.warn("Token subject (accountId) is null or empty");
-            }
-        } catch (Exception e) {
-            log.error("Error extracting accountId from token: {}", e.getMessage(), e);
-        }
-        return null;
-    }
 }
@@ -0,0 +1,71 @@
+package com.theatermgnt.theatermgnt.websocket.service;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.stereotype.Service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PresenceRegistry - Accounts with a Socket.IO connection to this node
+ * Kept in memory only: connects and disconnects never touch the database, and after a restart the
+ * registry fills up again as clients reconnect.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class PresenceRegistry {
+    ConcurrentMap<String, Set<UUID>> sessionsByAccount = new ConcurrentHashMap<>();
+    ConcurrentMap<UUID, String> accountBySession = new ConcurrentHashMap<>();
+
+    public void connect(String accountId, UUID sessionId) {
+        if (accountBySession.putIfAbsent(sessionId, accountId) != null) {
+            return;
+        }
+        sessionsByAccount.compute(accountId, (id, sessions) -> {
+            Set<UUID> updated = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            updated.add(sessionId);
+            return updated;
+        });
+        log.debug("Session {} connected for account {}", sessionId, accountId);
+    }
+
+    /**
+     * Forget a session; returns the account it belonged to, or null if it was never registered
+     */
+    public String disconnect(UUID sessionId) {
+        String accountId = accountBySession.remove(sessionId);
+        if (accountId == null) {
+            return null;
+        }
+        // Drop the account's entry together with its last session so isOnline stays a single lookup
+        sessionsByAccount.computeIfPresent(accountId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        log.debug("Session {} disconnected for account {}", sessionId, accountId);
+        return accountId;
+    }
+
+    public boolean isOnline(String accountId) {
+        return sessionsByAccount.containsKey(accountId);
+    }
+
+    public Set<UUID> getSessions(String accountId) {
+        Set<UUID> sessions = sessionsByAccount.get(accountId);
+        return sessions != null ? Set.copyOf(sessions) : Set.of();
+    }
+
+    public int getOnlineAccountCount() {
+        return sessionsByAccount.size();
+    }
+
+    public int getSessionCount() {
+        return accountBySession.size();
+    }
+}
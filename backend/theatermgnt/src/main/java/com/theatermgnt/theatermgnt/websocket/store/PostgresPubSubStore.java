@@ -0,0 +1,320 @@
+package com.theatermgnt.theatermgnt.websocket.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import com.corundumstudio.socketio.store.pubsub.PubSubListener;
+import com.corundumstudio.socketio.store.pubsub.PubSubMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubStore;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PostgresPubSubStore - Relays Socket.IO pub/sub messages between nodes over Postgres LISTEN/NOTIFY
+ * Messages published while a NOTIFY is in flight are sent together as one gzip-compressed batch.
+ * A batch too large for a NOTIFY payload is split, and a single oversized message is parked in an
+ * unlogged table with only its id notified. Each node keeps two dedicated connections, one listening
+ * and one publishing, outside the Hikari pool; notifications sent while a node is reconnecting are lost.
+ */
+@Slf4j
+public class PostgresPubSubStore implements PubSubStore {
+    // NOTIFY payloads are limited to 8000 bytes
+    static final int MAX_PAYLOAD = 7800;
+    private static final String OVERFLOW_PREFIX = "@";
+    private static final String OVERFLOW_TABLE = "socketio_relay_overflow";
+    private static final long OVERFLOW_CLEANUP_MS = 60_000;
+    private static final long RECONNECT_DELAY_MS = 2_000;
+    private static final int OUTBOX_CAPACITY = 10_000;
+
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "java.lang.*;java.util.*;java.time.*;java.math.*;com.corundumstudio.socketio.**;com.theatermgnt.**;!*");
+
+    private final Long nodeId;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final long lingerMs;
+
+    private final BlockingQueue<Envelope> outbox = new LinkedBlockingQueue<>(OUTBOX_CAPACITY);
+    private final ConcurrentMap<PubSubType, Queue<PubSubListener<PubSubMessage>>> listeners =
+            new ConcurrentHashMap<>();
+
+    private final Thread publisher;
+    private final Thread subscriber;
+    private volatile boolean running = true;
+    private Connection publishConnection;
+    private long lastCleanup;
+
+    public PostgresPubSubStore(
+            Long nodeId, String url, String username, String password, String channel, long lingerMs) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid relay channel name: " + channel);
+        }
+        this.nodeId = nodeId;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.lingerMs = lingerMs;
+        this.publisher = Thread.ofPlatform()
+                .name("socketio-relay-publish")
+                .daemon()
+                .unstarted(this::publishLoop);
+        this.subscriber = Thread.ofPlatform()
+                .name("socketio-relay-listen")
+                .daemon()
+                .unstarted(this::listenLoop);
+    }
+
+    void start() {
+        publisher.start();
+        subscriber.start();
+        log.info("Socket.IO relay started on channel '{}' as node {}", channel, nodeId);
+    }
+
+    @Override
+    public void publish(PubSubType type, PubSubMessage msg) {
+        msg.setNodeId(nodeId);
+        if (!outbox.offer(new Envelope(type, msg))) {
+            log.warn("Socket.IO relay outbox full, {} message not relayed", type);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends PubSubMessage> void subscribe(PubSubType type, PubSubListener<T> listener, Class<T> clazz) {
+        listeners
+                .computeIfAbsent(type, t -> new ConcurrentLinkedQueue<>())
+                .add((PubSubListener<PubSubMessage>) listener);
+    }
+
+    @Override
+    public void unsubscribe(PubSubType type) {
+        listeners.remove(type);
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        publisher.interrupt();
+        subscriber.interrupt();
+    }
+
+    private void publishLoop() {
+        List<Envelope> batch = new ArrayList<>();
+        while (running) {
+            try {
+                Envelope first = outbox.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    cleanupOverflow();
+                    continue;
+                }
+                if (lingerMs > 0) {
+                    Thread.sleep(lingerMs);
+                }
+                batch.add(first);
+                outbox.drainTo(batch);
+                send(batch);
+                cleanupOverflow();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Failed to relay {} Socket.IO message(s)", batch.size(), e);
+                closeQuietly(publishConnection);
+                publishConnection = null;
+            } finally {
+                batch.clear();
+            }
+        }
+        closeQuietly(publishConnection);
+    }
+
+    private void send(List<Envelope> batch) throws IOException, SQLException {
+        String payload = encode(batch);
+        if (payload.length() <= MAX_PAYLOAD) {
+            notify(payload);
+        } else if (batch.size() > 1) {
+            int half = batch.size() / 2;
+            send(batch.subList(0, half));
+            send(batch.subList(half, batch.size()));
+        } else {
+            notify(OVERFLOW_PREFIX + park(payload));
+        }
+    }
+
+    private void notify(String payload) throws SQLException {
+        try (PreparedStatement ps = publishConnection().prepareStatement("SELECT pg_notify(?, ?)")) {
+            ps.setString(1, channel);
+            ps.setString(2, payload);
+            ps.execute();
+        }
+    }
+
+    private long park(String payload) throws SQLException {
+        try (PreparedStatement ps = publishConnection()
+                .prepareStatement("INSERT INTO " + OVERFLOW_TABLE + " (payload) VALUES (?) RETURNING id")) {
+            ps.setString(1, payload);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private void cleanupOverflow() {
+        long now = System.currentTimeMillis();
+        if (now - lastCleanup < OVERFLOW_CLEANUP_MS) {
+            return;
+        }
+        lastCleanup = now;
+        try (Statement statement = publishConnection().createStatement()) {
+            statement.executeUpdate(
+                    "DELETE FROM " + OVERFLOW_TABLE + " WHERE created_at < now() - interval '1 minute'");
+        } catch (SQLException e) {
+            log.warn("Failed to clean up relay overflow: {}", e.getMessage());
+        }
+    }
+
+    private Connection publishConnection() throws SQLException {
+        if (publishConnection == null || publishConnection.isClosed()) {
+            publishConnection = DriverManager.getConnection(url, username, password);
+            publishConnection.setAutoCommit(true);
+            try (Statement statement = publishConnection.createStatement()) {
+                statement.execute("CREATE UNLOGGED TABLE IF NOT EXISTS " + OVERFLOW_TABLE
+                        + " (id bigserial PRIMARY KEY, payload text NOT NULL,"
+                        + " created_at timestamptz NOT NULL DEFAULT now())");
+            }
+        }
+        return publishConnection;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Socket.IO relay listening on channel '{}'", channel);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(500);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(connection, notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.error("Socket.IO relay connection lost, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void receive(Connection connection, String payload) {
+        try {
+            if (payload.startsWith(OVERFLOW_PREFIX)) {
+                payload = fetchParked(connection, Long.parseLong(payload.substring(OVERFLOW_PREFIX.length())));
+                if (payload == null) {
+                    return;
+                }
+            }
+            for (Envelope envelope : decode(payload)) {
+                if (nodeId.equals(envelope.message().getNodeId())) {
+                    continue;
+                }
+                Queue<PubSubListener<PubSubMessage>> subscribers = listeners.get(envelope.type());
+                if (subscribers == null) {
+                    continue;
+                }
+                for (PubSubListener<PubSubMessage> listener : subscribers) {
+                    try {
+                        listener.onMessage(envelope.message());
+                    } catch (Exception e) {
+                        log.error("Socket.IO relay listener failed on {}", envelope.type(), e);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Discarding unreadable Socket.IO relay payload: {}", e.getMessage());
+        }
+    }
+
+    private static String fetchParked(Connection connection, long id) throws SQLException {
+        try (PreparedStatement ps =
+                connection.prepareStatement("SELECT payload FROM " + OVERFLOW_TABLE + " WHERE id = ?")) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    static String encode(List<Envelope> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeObject(new ArrayList<>(batch));
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Envelope> decode(String payload) throws IOException, ClassNotFoundException {
+        byte[] bytes = Base64.getDecoder().decode(payload);
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes)))) {
+            in.setObjectInputFilter(FILTER);
+            return (List<Envelope>) in.readObject();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close relay connection: {}", e.getMessage());
+        }
+    }
+
+    record Envelope(PubSubType type, PubSubMessage message) implements Serializable {}
+}
@@ -0,0 +1,43 @@
+package com.theatermgnt.theatermgnt.websocket.store;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.corundumstudio.socketio.store.MemoryStore;
+import com.corundumstudio.socketio.store.Store;
+import com.corundumstudio.socketio.store.pubsub.BaseStoreFactory;
+import com.corundumstudio.socketio.store.pubsub.PubSubStore;
+
+/**
+ * PostgresStoreFactory - Store factory that shares room joins, leaves and emits across nodes
+ * Per-client state stays in memory; only the pub/sub traffic goes through Postgres.
+ */
+public class PostgresStoreFactory extends BaseStoreFactory {
+    private final PostgresPubSubStore pubSubStore;
+
+    public PostgresStoreFactory(String url, String username, String password, String channel, long lingerMs) {
+        this.pubSubStore = new PostgresPubSubStore(getNodeId(), url, username, password, channel, lingerMs);
+        this.pubSubStore.start();
+    }
+
+    @Override
+    public Store createStore(UUID sessionId) {
+        return new MemoryStore();
+    }
+
+    @Override
+    public PubSubStore pubSubStore() {
+        return pubSubStore;
+    }
+
+    @Override
+    public <K, V> Map<K, V> createMap(String name) {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void shutdown() {
+        pubSubStore.shutdown();
+    }
+}
@@ -0,0 +1,37 @@
+package com.theatermgnt.theatermgnt.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Throughput - Warm-up then timed loop for the @Benchmark classes
+ * Results are logged, not asserted; compare runs on the same machine only.
+ */
+@Slf4j
+public final class Throughput {
+    private Throughput() {}
+
+    /**
+     * @return operations per second over the timed iterations
+     */
+    public static double measure(String name, int warmup, int iterations, Runnable operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        double opsPerSecond = iterations / seconds;
+        log.info(
+                "{}: {} ops/s ({} us/op)",
+                name,
+                String.format("%,.0f", opsPerSecond),
+                String.format("%.2f", seconds * 1e6 / iterations));
+        return opsPerSecond;
+    }
+
+    public static void logSpeedUp(String baseline, double baselineOps, String candidate, double candidateOps) {
+        log.info("{} vs {}: {}x", candidate, baseline, String.format("%.2f", candidateOps / baselineOps));
+    }
+}
@@ -0,0 +1,117 @@
+package com.theatermgnt.theatermgnt.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.theatermgnt.theatermgnt.authentication.repository.InvalidatedTokenRepository;
+import com.theatermgnt.theatermgnt.authentication.service.TokenRevocationRegistry;
+import com.theatermgnt.theatermgnt.authentication.service.TokenVerifier;
+import com.theatermgnt.theatermgnt.benchmark.Benchmark;
+import com.theatermgnt.theatermgnt.benchmark.Throughput;
+
+/**
+ * Decoder throughput, the previous two-pass decode against the single pass
+ * The previous path is rebuilt here as it was: a new MACVerifier per call, a revocation lookup on the
+ * repository, then a second parse and verify in NimbusJwtDecoder. The repository is a mock, so the
+ * database round trip the old path paid on every request is not even counted.
+ */
+@Benchmark
+class CustomJwtDecoderBenchmark {
+    // A throwaway HS512 key, 64 random bytes encoded the way jwt.signerKey is
+    private static final String SIGNER_KEY = generateSignerKey();
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    InvalidatedTokenRepository repository;
+    CustomJwtDecoder decoder;
+    NimbusJwtDecoder nimbusJwtDecoder;
+    String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = mock(InvalidatedTokenRepository.class);
+        when(repository.existsById(any())).thenReturn(false);
+        when(repository.findByExpiryTimeAfter(any())).thenReturn(List.of());
+
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(repository);
+        // A realistic set to look up in
+        for (int i = 0; i < 10_000; i++) {
+            registry.revoke(UUID.randomUUID().toString(), Date.from(Instant.now().plus(1, ChronoUnit.HOURS)));
+        }
+        decoder = new CustomJwtDecoder(new TokenVerifier(SIGNER_KEY, 36000, registry));
+        nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(SIGNER_KEY.getBytes(), "HS512"))
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(UUID.randomUUID().toString())
+                .issuer("cifastar")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("scope", "ROLE_ADMIN MANAGE_SCREENINGS")
+                .claim("cinemaId", UUID.randomUUID().toString())
+                .build();
+        SignedJWT signedJWT = new SignedJWT(new JWSHeader(JWSAlgorithm.HS512), claims);
+        signedJWT.sign(new MACSigner(SIGNER_KEY.getBytes()));
+        token = signedJWT.serialize();
+    }
+
+    @Test
+    void decodeThroughput() {
+        Jwt before = legacyDecode(token);
+        Jwt after = decoder.decode(token);
+        assertEquals(before.getClaims(), after.getClaims());
+        assertEquals(before.getHeaders(), after.getHeaders());
+
+        double legacyOps = Throughput.measure("two-pass decode", WARMUP, ITERATIONS, () -> legacyDecode(token));
+        double singlePassOps =
+                Throughput.measure("single-pass decode", WARMUP, ITERATIONS, () -> decoder.decode(token));
+        Throughput.logSpeedUp("two-pass decode", legacyOps, "single-pass decode", singlePassOps);
+    }
+
+    private static String generateSignerKey() {
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+
+    private Jwt legacyDecode(String token) {
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+            boolean verified = signedJWT.verify(new MACVerifier(SIGNER_KEY.getBytes()));
+            if (!verified
+                    || !signedJWT.getJWTClaimsSet().getExpirationTime().after(new Date())
+                    || repository.existsById(signedJWT.getJWTClaimsSet().getJWTID())) {
+                throw new JwtException("Invalid token");
+            }
+        } catch (Exception e) {
+            throw new JwtException(e.getMessage());
+        }
+        return nimbusJwtDecoder.decode(token);
+    }
+}
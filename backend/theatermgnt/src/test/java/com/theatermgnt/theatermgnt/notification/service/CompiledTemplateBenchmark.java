@@ -0,0 +1,69 @@
+package com.theatermgnt.theatermgnt.notification.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.theatermgnt.theatermgnt.benchmark.Benchmark;
+import com.theatermgnt.theatermgnt.benchmark.Throughput;
+
+/**
+ * Template rendering throughput on a 100 KB template, the String.replace loop against CompiledTemplate
+ * The replace loop is the one NotificationTemplateService used before templates were compiled: one pass
+ * over the whole content per variable.
+ */
+@Benchmark
+class CompiledTemplateBenchmark {
+    private static final int TEMPLATE_SIZE = 100 * 1024;
+    private static final int VARIABLES = 20;
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 5_000;
+
+    String source;
+    Map<String, Object> variables;
+    CompiledTemplate compiled;
+
+    @BeforeEach
+    void setUp() {
+        variables = new LinkedHashMap<>();
+        for (int i = 0; i < VARIABLES; i++) {
+            variables.put("var" + i, "value-" + i);
+        }
+
+        // Paragraphs of markup with a placeholder each, cycling through the variables, up to 100 KB
+        StringBuilder template = new StringBuilder(TEMPLATE_SIZE + 256);
+        int paragraph = 0;
+        while (template.length() < TEMPLATE_SIZE) {
+            template.append("<p>Dear customer, your booking details for screening ")
+                    .append(paragraph)
+                    .append(" are {{var")
+                    .append(paragraph % VARIABLES)
+                    .append("}}. Please arrive fifteen minutes before the show starts.</p>\n");
+            paragraph++;
+        }
+        source = template.toString();
+        compiled = CompiledTemplate.compile(source);
+    }
+
+    @Test
+    void renderThroughput() {
+        assertEquals(replaceLoop(source), compiled.render(variables));
+
+        double replaceOps = Throughput.measure("String.replace loop", WARMUP, ITERATIONS, () -> replaceLoop(source));
+        double compiledOps =
+                Throughput.measure("CompiledTemplate", WARMUP, ITERATIONS, () -> compiled.render(variables));
+        Throughput.logSpeedUp("String.replace loop", replaceOps, "CompiledTemplate", compiledOps);
+    }
+
+    private String replaceLoop(String content) {
+        for (Map.Entry<String, Object> entry : variables.entrySet()) {
+            String placeholder = "{{" + entry.getKey() + "}}";
+            content = content.replace(placeholder, String.valueOf(entry.getValue()));
+        }
+        return content;
+    }
+}
@@ -0,0 +1,116 @@
+package com.theatermgnt.theatermgnt.websocket.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.corundumstudio.socketio.store.pubsub.JoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+
+/**
+ * Two relay nodes sharing one Postgres, as two backend instances would
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresPubSubStoreTests {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    PostgresPubSubStore nodeA;
+    PostgresPubSubStore nodeB;
+
+    @BeforeEach
+    void startNodes() throws InterruptedException {
+        nodeA = node(1L);
+        nodeB = node(2L);
+        // Let both listeners issue LISTEN before anything is published
+        Thread.sleep(1_000);
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void relaysToOtherNodesOnly() throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(1);
+        List<JoinLeaveMessage> onA = new CopyOnWriteArrayList<>();
+        nodeA.subscribe(PubSubType.JOIN, onA::add, JoinLeaveMessage.class);
+        nodeB.subscribe(PubSubType.JOIN, msg -> received.countDown(), JoinLeaveMessage.class);
+
+        nodeA.publish(PubSubType.JOIN, new JoinLeaveMessage(UUID.randomUUID(), "user:42", ""));
+
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        Thread.sleep(500);
+        assertTrue(onA.isEmpty());
+    }
+
+    @Test
+    void relaysBurstsInBatches() throws InterruptedException {
+        int count = 2_000;
+        CountDownLatch received = new CountDownLatch(count);
+        Set<String> rooms = ConcurrentHashMap.newKeySet();
+        nodeB.subscribe(
+                PubSubType.JOIN,
+                msg -> {
+                    rooms.add(msg.getRoom());
+                    received.countDown();
+                },
+                JoinLeaveMessage.class);
+
+        IntStream.range(0, count)
+                .forEach(i -> nodeA.publish(
+                        PubSubType.JOIN, new JoinLeaveMessage(UUID.randomUUID(), "screening:" + i, "")));
+
+        assertTrue(received.await(30, TimeUnit.SECONDS));
+        assertEquals(count, rooms.size());
+    }
+
+    @Test
+    void relaysMessagesLargerThanNotifyPayload() throws InterruptedException {
+        byte[] noise = new byte[PostgresPubSubStore.MAX_PAYLOAD * 2];
+        new SecureRandom().nextBytes(noise);
+        String room = Base64.getEncoder().encodeToString(noise);
+
+        CountDownLatch received = new CountDownLatch(1);
+        List<String> rooms = new CopyOnWriteArrayList<>();
+        nodeB.subscribe(
+                PubSubType.LEAVE,
+                msg -> {
+                    rooms.add(msg.getRoom());
+                    received.countDown();
+                },
+                JoinLeaveMessage.class);
+
+        nodeA.publish(PubSubType.LEAVE, new JoinLeaveMessage(UUID.randomUUID(), room, ""));
+
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(room), rooms);
+    }
+
+    private static PostgresPubSubStore node(long nodeId) {
+        PostgresPubSubStore store = new PostgresPubSubStore(
+                nodeId, POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), "socketio_relay", 5);
+        store.start();
+        return store;
+    }
+}
@@ -5,6 +5,7 @@ import {
   getAllNotificationLogs,
   deleteNotificationLog,
   getNotificationLogById,
+  NOTIFICATION_LOG_PAGE_SIZE,
 } from "@/services/notificationService";
 import type { NotificationLogDetail } from "@/services/notificationService";
 import {
@@ -46,6 +47,8 @@ export const LogList = () => {
   const [logs, setLogs] = useState<NotificationLogDetail[]>([]);
   const [filteredLogs, setFilteredLogs] = useState<NotificationLogDetail[]>([]);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [hasMore, setHasMore] = useState(false);
   const [searchQuery, setSearchQuery] = useState("");
   const [selectedLog, setSelectedLog] = useState<NotificationLogDetail | null>(
     null,
@@ -82,10 +85,10 @@ export const LogList = () => {
   const loadLogs = async () => {
     try {
       setLoading(true);
-      // Directly get all logs from the dedicated API endpoint
+      // First page, newest logs
       const data = await getAllNotificationLogs();
-      console.log("Fetched logs:", data);
       setLogs(data);
+      setHasMore(data.length === NOTIFICATION_LOG_PAGE_SIZE);
     } catch (error: any) {
       addNotification({
         type: "error",
@@ -97,6 +100,28 @@ export const LogList = () => {
     }
   };
 
+  const loadMoreLogs = async () => {
+    const lastLog = logs[logs.length - 1];
+    if (!lastLog) {
+      return;
+    }
+    try {
+      setLoadingMore(true);
+      // The next page starts after the oldest log loaded so far
+      const data = await getAllNotificationLogs({ before: lastLog.id });
+      setLogs((prev) => [...prev, ...data]);
+      setHasMore(data.length === NOTIFICATION_LOG_PAGE_SIZE);
+    } catch (error: any) {
+      addNotification({
+        type: "error",
+        title: "Error",
+        message: error?.response?.data?.message || "Failed to load more logs",
+      });
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleViewDetail = async (log: NotificationLogDetail) => {
     try {
       const detailData = await getNotificationLogById(log.id);
@@ -268,6 +293,18 @@ export const LogList = () => {
           </Table>
         </div>
 
+        {hasMore && (
+          <div className="flex justify-center">
+            <Button
+              variant="outline"
+              onClick={loadMoreLogs}
+              disabled={loadingMore}
+            >
+              {loadingMore ? "Loading..." : "Load more"}
+            </Button>
+          </div>
+        )}
+
         {/* Detail Modal */}
         <Modal
           isOpen={detailModalOpen}
@@ -28,10 +28,25 @@ export const getNotificationById = async (id: string): Promise<Notification> =>
   );
 };
 
-// Admin: Get all notification logs (optimized - direct from logs table)
-export const getAllNotificationLogs = async (): Promise<NotificationLogDetail[]> => {
+export interface NotificationLogQuery {
+  size?: number;
+  // Id of the last log already loaded, the next page starts right after it
+  before?: string;
+  // ISO local date-times; without them the server returns the 31 days up to now (or up to `before`)
+  from?: string;
+  to?: string;
+}
+
+export const NOTIFICATION_LOG_PAGE_SIZE = 50;
+
+// Admin: Get one page of notification logs, newest first (keyset paging on the log id)
+export const getAllNotificationLogs = async (
+  { size = NOTIFICATION_LOG_PAGE_SIZE, before, from, to }: NotificationLogQuery = {}
+): Promise<NotificationLogDetail[]> => {
   return handleApiResponse<NotificationLogDetail[]>(
-    httpClient.get<ApiResponse<NotificationLogDetail[]>>(`${BASE_URL}/logs`)
+    httpClient.get<ApiResponse<NotificationLogDetail[]>>(`${BASE_URL}/logs`, {
+      params: { size, before, from, to },
+    })
   );
 };
 
@@ -93,6 +93,15 @@ class SocketService {
     this.socket.on('error', (error) => {
       console.error('[SocketService] Socket error:', error);
     });
+
+    // Server coalesces bursts into one frame: [{ event, data }, ...]
+    this.socket.on('events:batch', (payload: string | Array<{ event: string; data: unknown }>) => {
+      const events: Array<{ event: string; data: unknown }> =
+        typeof payload === 'string' ? JSON.parse(payload) : payload;
+      events.forEach(({ event, data }) => {
+        this.listeners.get(event)?.forEach((callback) => callback(data));
+      });
+    });
   }
 
   /**
@@ -1,4 +1,4 @@
-export type NotificationStatus = "PENDING" | "SENT" | "FAILED";
+export type NotificationStatus = "PENDING" | "SENT" | "FAILED" | "DIGESTED";
 export type NotificationPriority = "URGENT" | "HIGH" | "NORMAL";
 export type NotificationCategory = "BOOKING" | "PROMOTION" | "SYSTEM" | "SECURITY" | "REMINDER";
 export type RecipientType = "CUSTOMER" | "STAFF" | "ADMIN";